@@ -0,0 +1,54 @@
+package com.mycalendar;
+
+import java.util.Collection;
+
+import com.mycalendar.events.Event;
+
+/**
+ * Observateur des modifications d'un calendrier.
+ * Les notifications sont émises sous le verrou des modifications du gestionnaire, dans l'ordre
+ * où les modifications ont lieu : un observateur ne doit pas bloquer et doit rendre la main rapidement.
+ */
+public interface CalendarListener {
+
+    /**
+     * Appelé après l'ajout d'un événement.
+     * @param event L'événement ajouté
+     */
+    void eventAdded(Event event);
+
+    /**
+     * Appelé après l'ajout d'un lot d'événements nouveaux en une seule opération.
+     * Par défaut, chaque ajout est notifié séparément.
+     * @param events Les événements ajoutés
+     */
+    default void eventsAdded(Collection<Event> events) {
+        for (Event event : events) {
+            eventAdded(event);
+        }
+    }
+
+    /**
+     * Appelé après le retrait d'un événement.
+     * @param event L'événement retiré
+     */
+    void eventRemoved(Event event);
+
+    /**
+     * Appelé après le remplacement d'un événement par une nouvelle version de même identifiant.
+     * Par défaut, équivaut au retrait de l'ancienne version suivi de l'ajout de la nouvelle.
+     * @param previous L'ancienne version de l'événement
+     * @param event La nouvelle version
+     */
+    default void eventReplaced(Event previous, Event event) {
+        eventRemoved(previous);
+        eventAdded(event);
+    }
+
+    /**
+     * Appelé quand le calendrier est vidé avant un chargement ; les événements chargés
+     * sont ensuite notifiés un par un ou par lots.
+     */
+    default void calendarCleared() {
+    }
+}
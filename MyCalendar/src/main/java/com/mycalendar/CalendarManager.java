@@ -1,46 +1,327 @@
 package com.mycalendar;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.mycalendar.events.DateEvent;
 import com.mycalendar.events.EventFactory;
 import com.mycalendar.events.EventId;
+import com.mycalendar.events.Occurrence;
 import com.mycalendar.events.Event;
-import com.mycalendar.json.JsonUtils;
+import com.mycalendar.events.TypeEvent;
+import com.mycalendar.index.CacheStats;
+import com.mycalendar.index.EventConflict;
+import com.mycalendar.index.EventTimeIndex;
+import com.mycalendar.index.OccurrenceMerger;
+import com.mycalendar.index.PartitionedEventIndex;
+import com.mycalendar.index.RangeQueryCache;
+import com.mycalendar.persistence.AtomicFile;
+import com.mycalendar.persistence.DirtyShardTracker;
+import com.mycalendar.persistence.ImmediatePersistence;
+import com.mycalendar.persistence.PersistencePolicy;
+import com.mycalendar.persistence.SaveAction;
+import com.mycalendar.persistence.ShardedSnapshot;
+import com.mycalendar.persistence.SnapshotFormat;
+import com.mycalendar.persistence.StartupIndex;
 
-public class CalendarManager {
+/**
+ * Gestionnaire du calendrier, utilisable par plusieurs threads à la fois.
+ * Les lectures (requêtes de période, conflits) ne prennent aucun verrou et passent uniquement
+ * par l'index temporel, où chaque ajout ou suppression devient visible en une opération atomique.
+ * Les modifications sont sérialisées par le verrou du gestionnaire, ce qui garde la table
+ * des identifiants, l'index et la persistance dans le même ordre.
+ * Un second index, partitionné par utilisateur, sert les requêtes limitées à l'agenda d'une personne.
+ * Les observateurs enregistrés sont prévenus de chaque modification, dans l'ordre où elle a lieu ;
+ * le cache des requêtes de période en fait partie et n'écarte que les résultats touchés.
+ */
+public class CalendarManager implements CalendarStore, Closeable {
+    private static final int QUERY_CACHE_CAPACITY = 128;
+    private static final File DEFAULT_DIRECTORY = new File("calendar_events");
+    private static final File LEGACY_DEFAULT_FILE = new File("calendar_events.json");
+    
     private final Map<EventId, Event> events;
+    private final EventTimeIndex timeIndex;
+    private final PartitionedEventIndex userIndex;
+    private final RangeQueryCache queryCache;
+    private final DirtyShardTracker shardTracker;
     private final EventFactory eventFactory;
+    private final PersistencePolicy persistence;
+    private final SnapshotFormat defaultFormat;
+    private final List<CalendarListener> listeners;
+    private final Set<EventId> shadowedEvents;
+    private final ReentrantLock saveLock;
+    private volatile StartupIndex startupIndex;
 
+    /**
+     * Constructeur : le calendrier est sauvegardé après chaque modification.
+     */
     public CalendarManager() {
-        this.events = new HashMap<>();
+        this(new ImmediatePersistence());
+    }
+
+    /**
+     * Constructeur.
+     * @param persistence La stratégie décidant quand sauvegarder le calendrier après une modification
+     */
+    public CalendarManager(PersistencePolicy persistence) {
+        this(persistence, SnapshotFormat.JSON);
+    }
+
+    /**
+     * Constructeur.
+     * @param persistence La stratégie décidant quand sauvegarder le calendrier après une modification
+     * @param defaultFormat Le format des sauvegardes dans le fichier par défaut
+     */
+    public CalendarManager(PersistencePolicy persistence, SnapshotFormat defaultFormat) {
+        this.events = new ConcurrentHashMap<>();
+        this.timeIndex = new EventTimeIndex();
+        this.userIndex = new PartitionedEventIndex();
         this.eventFactory = new EventFactory();
+        this.persistence = persistence;
+        this.defaultFormat = defaultFormat;
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.shadowedEvents = new HashSet<>();
+        this.saveLock = new ReentrantLock();
+        this.queryCache = new RangeQueryCache(QUERY_CACHE_CAPACITY);
+        this.shardTracker = new DirtyShardTracker();
+        this.listeners.add(queryCache);
+        this.listeners.add(shardTracker);
+        persistence.attach(new SaveAction() {
+            @Override
+            public void save() throws IOException {
+                saveEventsToDefaultFile();
+            }
+            
+            @Override
+            public Object lock() {
+                return CalendarManager.this;
+            }
+        });
     }
 
     /**
-     * Ajoute un événement au calendrier.
+     * Ajoute un événement au calendrier. Si la stratégie de persistance ne peut pas enregistrer l'ajout,
+     * il est annulé avant que l'erreur ne soit remontée.
      * @param event L'événement à ajouter
      */
-    public void ajouterEvent(Event event) {
-        events.put(event.getId(), event);
-        saveEventsAutomatically();
+    @Override
+    public synchronized void ajouterEvent(Event event) {
+        ensureLoaded();
+        Map<EventId, Event> previous = Collections.singletonMap(event.getId(), events.get(event.getId()));
+        indexEvent(event);
+        try {
+            persistence.eventAdded(event);
+        } catch (RuntimeException e) {
+            restore(previous);
+            throw e;
+        }
+    }
+    
+    /**
+     * Ajoute un lot d'événements au calendrier en une seule opération, puis le sauvegarde une seule fois.
+     * @param newEvents Les événements à ajouter
+     */
+    public void ajouterEvents(Collection<? extends Event> newEvents) {
+        ajouterEvents(newEvents, false);
     }
     
     /**
-     * Sauvegarde automatiquement les événements après chaque modification.
+     * Ajoute un lot d'événements au calendrier en une seule opération. Les événements nouveaux
+     * sont triés puis insérés dans les index en un seul passage, les observateurs reçoivent le lot
+     * d'un coup, et la stratégie de persistance n'est prévenue qu'une fois pour tout le lot.
+     * Un événement dont l'identifiant existe déjà remplace l'ancienne version, comme avec
+     * {@link #ajouterEvent(Event)} ; si le lot contient plusieurs fois le même identifiant, la dernière version l'emporte.
+     * Si la stratégie de persistance ne peut pas enregistrer le lot, il est annulé en entier.
+     * @param newEvents Les événements à ajouter
+     * @param detecterConflits true pour rechercher les conflits impliquant les événements du lot
+     * @return Les paires en conflit dont au moins un membre vient du lot, vide si la détection n'est pas demandée
      */
-    private void saveEventsAutomatically() {
+    public synchronized List<EventConflict> ajouterEvents(Collection<? extends Event> newEvents,
+                                                          boolean detecterConflits) {
+        ensureLoaded();
+        Map<EventId, Event> batch = new LinkedHashMap<>();
+        for (Event event : newEvents) {
+            batch.put(event.getId(), event);
+        }
+        Map<EventId, Event> previous = new LinkedHashMap<>();
+        for (EventId id : batch.keySet()) {
+            previous.put(id, events.get(id));
+        }
+        List<Event> fresh = new ArrayList<>(batch.size());
+        for (Event event : batch.values()) {
+            if (events.containsKey(event.getId())) {
+                indexEvent(event);
+            } else {
+                fresh.add(event);
+            }
+        }
+        for (Event event : fresh) {
+            events.put(event.getId(), event);
+        }
+        timeIndex.addAll(fresh);
+        userIndex.addAll(fresh);
+        if (!fresh.isEmpty()) {
+            List<Event> notified = Collections.unmodifiableList(fresh);
+            for (CalendarListener listener : listeners) {
+                listener.eventsAdded(notified);
+            }
+        }
         try {
-            saveEventsToDefaultFile();
-        } catch (IOException e) {
-            System.out.println("Erreur lors de la sauvegarde automatique : " + e.getMessage());
+            persistence.eventsAdded(batch.values());
+        } catch (RuntimeException e) {
+            restore(previous);
+            throw e;
+        }
+        return detecterConflits ? conflictsInvolving(batch.values()) : Collections.emptyList();
+    }
+    
+    /**
+     * Retourne les paires en conflit dont au moins un membre fait partie des événements donnés,
+     * chaque paire n'étant retenue qu'une fois.
+     */
+    private List<EventConflict> conflictsInvolving(Collection<Event> batch) {
+        Set<EventConflict> conflicts = new LinkedHashSet<>();
+        for (Event event : batch) {
+            for (Event other : timeIndex.overlapCandidates(event)) {
+                if (EventConflict.inConflict(other, event)) {
+                    conflicts.add(new EventConflict(other, event));
+                }
+            }
+        }
+        return new ArrayList<>(conflicts);
+    }
+    
+    /**
+     * Enregistre un événement dans la table et dans les index,
+     * en remplaçant l'éventuel événement portant le même identifiant.
+     * @param event L'événement à enregistrer
+     */
+    private synchronized void indexEvent(Event event) {
+        Event previous = events.put(event.getId(), event);
+        if (previous == null) {
+            previous = shadowStartupEvent(event.getId());
+        }
+        if (previous != null) {
+            timeIndex.replace(previous, event);
+            userIndex.replace(previous, event);
+            for (CalendarListener listener : listeners) {
+                listener.eventReplaced(previous, event);
+            }
+        } else {
+            timeIndex.add(event);
+            userIndex.add(event);
+            for (CalendarListener listener : listeners) {
+                listener.eventAdded(event);
+            }
+        }
+    }
+    
+    /**
+     * Annule des modifications que la stratégie de persistance n'a pas pu enregistrer : chaque identifiant
+     * retrouve sa version précédente, ou est retiré s'il n'en avait pas. Les observateurs sont prévenus
+     * de l'annulation comme de toute modification.
+     * @param previous La version précédente de chaque événement modifié, ou null s'il n'existait pas
+     */
+    private void restore(Map<EventId, Event> previous) {
+        for (Map.Entry<EventId, Event> entry : previous.entrySet()) {
+            if (entry.getValue() != null) {
+                indexEvent(entry.getValue());
+            } else {
+                unindexEvent(entry.getKey());
+            }
+        }
+    }
+    
+    /**
+     * Retire un événement de la table et des index.
+     * @param eventId L'identifiant de l'événement à retirer
+     * @return L'événement retiré, ou null s'il n'existait pas
+     */
+    private synchronized Event unindexEvent(EventId eventId) {
+        Event removed = events.remove(eventId);
+        if (removed == null) {
+            removed = shadowStartupEvent(eventId);
+        }
+        if (removed != null) {
+            timeIndex.remove(removed);
+            userIndex.remove(removed);
+            for (CalendarListener listener : listeners) {
+                listener.eventRemoved(removed);
+            }
+        }
+        return removed;
+    }
+    
+    /**
+     * Enregistre un observateur des modifications du calendrier. Il est d'abord prévenu de l'ajout
+     * de chacun des événements déjà présents, puis de chaque modification ultérieure, sans trou ni doublon.
+     * Un calendrier encore ouvert par son index de démarrage n'est pas chargé pour autant :
+     * l'observateur reçoit les événements de la sauvegarde en un seul lot, à la fin du chargement
+     * (voir {@link #completeLoadAsync()}).
+     * @param listener L'observateur à enregistrer
+     */
+    public synchronized void addListener(CalendarListener listener) {
+        for (Event event : timeIndex.all()) {
+            listener.eventAdded(event);
+        }
+        listeners.add(listener);
+    }
+    
+    /**
+     * Retire un observateur des modifications du calendrier.
+     * @param listener L'observateur à retirer
+     */
+    public synchronized void removeListener(CalendarListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Retourne les compteurs du cache des requêtes de période.
+     * @return Un instantané des compteurs du cache
+     */
+    public CacheStats getQueryCacheStats() {
+        return queryCache.stats();
+    }
+    
+    /**
+     * Écrit immédiatement les modifications pas encore sauvegardées.
+     * @throws IOException En cas d'erreur lors de la sauvegarde
+     */
+    public void flush() throws IOException {
+        persistence.flush();
+    }
+    
+    /**
+     * Écrit les modifications en attente et arrête la persistance différée éventuelle.
+     * @throws IOException En cas d'erreur lors de la sauvegarde
+     */
+    @Override
+    public void close() throws IOException {
+        persistence.close();
+        synchronized (this) {
+            discardStartupIndex();
         }
     }
 
@@ -62,18 +343,94 @@ public class CalendarManager {
     }
 
     /**
-     * Retourne la liste des événements qui se produisent dans la période spécifiée.
+     * Retourne la liste des événements qui se produisent dans la période spécifiée,
+     * triée par date de début. La recherche passe par l'index temporel, sauf si le résultat
+     * est déjà dans le cache des requêtes de période.
      * @param debut La date de début de la période
      * @param fin La date de fin de la période
      * @return La liste des événements dans la période
      */
+    @Override
     public List<Event> eventsDansPeriode(LocalDateTime debut, LocalDateTime fin) {
-        DateEvent debutEvent = new DateEvent(debut);
-        DateEvent finEvent = new DateEvent(fin);
-        
-        return events.values().stream()
-                .filter(event -> event.occursInPeriod(debutEvent, finEvent))
-                .collect(Collectors.toList());
+        DateEvent start = new DateEvent(debut);
+        DateEvent end = new DateEvent(fin);
+        return queryCache.get(null, start, end, () -> startupIndex != null
+                ? startupBetween(null, start, end) : timeIndex.between(start, end));
+    }
+
+    /**
+     * Retourne les événements d'un utilisateur, propriétaire ou participant, qui se produisent
+     * dans la période spécifiée, triés par date de début. Seule la partition de l'utilisateur est parcourue,
+     * et seulement si le résultat n'est pas déjà dans le cache des requêtes de période.
+     * @param utilisateur Le nom de l'utilisateur
+     * @param debut La date de début de la période
+     * @param fin La date de fin de la période
+     * @return La liste des événements de l'utilisateur dans la période
+     */
+    public List<Event> eventsDansPeriode(String utilisateur, LocalDateTime debut, LocalDateTime fin) {
+        DateEvent start = new DateEvent(debut);
+        DateEvent end = new DateEvent(fin);
+        return queryCache.get(utilisateur, start, end, () -> startupIndex != null
+                ? startupBetween(utilisateur, start, end) : userIndex.between(utilisateur, start, end));
+    }
+
+    /**
+     * Retourne les occurrences de la période dans l'ordre chronologique : chaque événement ponctuel
+     * et chaque répétition des événements périodiques. Les événements de la période viennent
+     * de {@link #eventsDansPeriode(LocalDateTime, LocalDateTime)} et profitent donc du cache ;
+     * les répétitions ne sont calculées qu'à mesure qu'elles sont consommées.
+     * @param debut La date de début de la période (incluse)
+     * @param fin La date de fin de la période (incluse)
+     * @return Le flux des occurrences de la période
+     */
+    public Stream<Occurrence> occurrencesDansPeriode(LocalDateTime debut, LocalDateTime fin) {
+        return expand(eventsDansPeriode(debut, fin), debut, fin);
+    }
+
+    /**
+     * Retourne les occurrences des événements d'un utilisateur dans la période, dans l'ordre chronologique.
+     * Comme pour le calendrier entier, les événements de la période passent par le cache.
+     * @param utilisateur Le nom de l'utilisateur
+     * @param debut La date de début de la période (incluse)
+     * @param fin La date de fin de la période (incluse)
+     * @return Le flux des occurrences de l'utilisateur
+     */
+    public Stream<Occurrence> occurrencesDansPeriode(String utilisateur, LocalDateTime debut, LocalDateTime fin) {
+        return expand(eventsDansPeriode(utilisateur, debut, fin), debut, fin);
+    }
+
+    private static Stream<Occurrence> expand(List<Event> periode, LocalDateTime debut, LocalDateTime fin) {
+        Map<Boolean, List<Event>> byRecurrence = periode.stream().collect(Collectors.partitioningBy(Event::isRecurring));
+        return OccurrenceMerger.merge(byRecurrence.get(false), byRecurrence.get(true),
+                new DateEvent(debut), new DateEvent(fin));
+    }
+
+    /**
+     * Retourne toutes les occurrences à venir des événements d'un utilisateur à partir d'une date.
+     * Le flux est sans fin dès qu'un événement périodique existe : le limiter, par exemple
+     * avec {@code limit(20)} pour les vingt prochains événements. Il lit l'index au fil de l'eau,
+     * sans passer par le cache, et se pagine avec {@code skip} et {@code limit}.
+     * @param utilisateur Le nom de l'utilisateur
+     * @param debut La date à partir de laquelle chercher (incluse)
+     * @return Le flux paresseux des occurrences à venir
+     */
+    public Stream<Occurrence> occurrencesAPartirDe(String utilisateur, LocalDateTime debut) {
+        ensureLoaded();
+        return userIndex.occurrences(utilisateur, new DateEvent(debut), new DateEvent(LocalDateTime.MAX));
+    }
+
+    /**
+     * Retourne les événements d'un utilisateur qui l'occupent pendant une partie de la période,
+     * y compris ceux commencés avant, triés par date de début.
+     * Les événements sans durée et les événements récurrents, qui n'occupent jamais de créneau, sont exclus.
+     * @param utilisateur Le nom de l'utilisateur
+     * @param debut Le début de la période (inclus)
+     * @param fin La fin de la période (exclue)
+     * @return Les événements qui occupent l'utilisateur pendant la période
+     */
+    public List<Event> evenementsOccupant(String utilisateur, LocalDateTime debut, LocalDateTime fin) {
+        ensureLoaded();
+        return userIndex.overlapping(utilisateur, new DateEvent(debut), new DateEvent(fin));
     }
 
     /**
@@ -83,57 +440,148 @@ public class CalendarManager {
      * @return true s'il y a un conflit, false sinon
      */
     public boolean conflit(Event e1, Event e2) {
-        return e1.conflictsWith(e2);
+        return EventConflict.inConflict(e1, e2);
     }
 
     /**
      * Affiche tous les événements du calendrier.
      */
     public void afficherEvenements() {
+        ensureLoaded();
         for (Event e : events.values()) {
             System.out.println(e.description());
         }
     }
     
     /**
-     * Supprime un événement du calendrier par son identifiant.
+     * Supprime un événement du calendrier par son identifiant. Si la stratégie de persistance
+     * ne peut pas enregistrer la suppression, l'événement est remis en place avant que l'erreur ne soit remontée.
      * @param eventId L'identifiant de l'événement à supprimer
      * @return true si l'événement a été supprimé, false s'il n'existait pas
      */
-    public boolean supprimerEvent(EventId eventId) {
-        boolean result = events.remove(eventId) != null;
-        if (result) {
-            saveEventsAutomatically();
+    @Override
+    public synchronized boolean supprimerEvent(EventId eventId) {
+        ensureLoaded();
+        Event removed = unindexEvent(eventId);
+        if (removed == null) {
+            return false;
         }
-        return result;
+        try {
+            persistence.eventRemoved(removed);
+        } catch (RuntimeException e) {
+            restore(Collections.singletonMap(eventId, removed));
+            throw e;
+        }
+        return true;
     }
     
     /**
      * Retourne la liste des événements en conflit avec un événement donné.
+     * Seuls les événements dont l'intervalle peut chevaucher celui de l'événement
+     * sont examinés, grâce à l'index temporel.
      * @param event L'événement à vérifier
      * @return La liste des événements en conflit
      */
+    @Override
     public List<Event> evenementsEnConflit(Event event) {
-        return events.values().stream()
-                .filter(e -> !e.equals(event) && e.conflictsWith(event))
+        ensureLoaded();
+        return timeIndex.overlapCandidates(event).stream()
+                .filter(e -> EventConflict.inConflict(e, event))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Retourne les événements de l'agenda d'un utilisateur en conflit avec un événement donné.
+     * @param utilisateur Le nom de l'utilisateur
+     * @param event L'événement à vérifier
+     * @return La liste des événements de l'utilisateur en conflit
+     */
+    public List<Event> evenementsEnConflit(String utilisateur, Event event) {
+        ensureLoaded();
+        return userIndex.overlapCandidates(utilisateur, event).stream()
+                .filter(e -> EventConflict.inConflict(e, event))
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Retourne toutes les paires d'événements en conflit dans le calendrier.
+     * Deux événements qui se touchent (fin de l'un égale au début de l'autre) ne sont pas en conflit.
+     * @return La liste des paires en conflit
+     */
+    public List<EventConflict> allConflicts() {
+        ensureLoaded();
+        return timeIndex.allConflicts();
+    }
+    
+    /**
+     * Retourne les réunions auxquelles une personne assiste, comme organisatrice ou participante,
+     * dans la période spécifiée, triées par date de début.
+     * La partition de la personne sert d'index inversé : aucun autre agenda n'est parcouru.
+     * @param participant Le nom de la personne
+     * @param debut La date de début de la période
+     * @param fin La date de fin de la période
+     * @return La liste des réunions de la personne dans la période
+     */
+    public List<Event> reunionsAvecParticipant(String participant, LocalDateTime debut, LocalDateTime fin) {
+        return eventsDansPeriode(participant, debut, fin).stream()
+                .filter(e -> e.getType() == TypeEvent.REUNION)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Retourne toutes les paires d'événements en conflit dans l'agenda d'un utilisateur,
+     * qu'il en soit le propriétaire ou un participant.
+     * @param utilisateur Le nom de l'utilisateur
+     * @return La liste des paires en conflit dans son agenda
+     */
+    public List<EventConflict> allConflicts(String utilisateur) {
+        ensureLoaded();
+        return userIndex.allConflicts(utilisateur);
+    }
+    
+    /**
+     * Retourne, pour chaque personne convoquée à un événement (propriétaire puis participants),
+     * les événements de son agenda qui l'empêchent d'y assister.
+     * Les personnes disponibles n'apparaissent pas dans le résultat.
+     * @param event L'événement, déjà ajouté au calendrier ou simplement envisagé
+     * @return Les événements en conflit, par personne indisponible
+     */
+    public Map<String, List<Event>> participantsIndisponibles(Event event) {
+        Map<String, List<Event>> unavailable = new LinkedHashMap<>();
+        addIfUnavailable(unavailable, event.getOwner().getValue(), event);
+        for (String participant : event.getParticipantNames()) {
+            addIfUnavailable(unavailable, participant, event);
+        }
+        return unavailable;
+    }
+    
+    private void addIfUnavailable(Map<String, List<Event>> unavailable, String user, Event event) {
+        List<Event> conflicts = evenementsEnConflit(user, event);
+        if (!conflicts.isEmpty()) {
+            unavailable.putIfAbsent(user, conflicts);
+        }
+    }
+    
     /**
      * Vérifie si un événement est en conflit avec d'autres événements du calendrier.
      * @param event L'événement à vérifier
      * @return true si l'événement est en conflit, false sinon
      */
+    @Override
     public boolean estEnConflit(Event event) {
         return !evenementsEnConflit(event).isEmpty();
     }
     
     /**
      * Retourne tous les événements du calendrier.
+     * La copie est prise sous le verrou des modifications : c'est un instantané exact,
+     * qui peut être sauvegardé depuis le thread de persistance différée.
      * @return La liste de tous les événements
      */
-    public List<Event> getAllEvents() {
-        return new ArrayList<>(events.values());
+    @Override
+    public synchronized List<Event> getAllEvents() {
+        ensureLoaded();
+        return timeIndex.all();
     }
     
     /**
@@ -142,8 +590,31 @@ public class CalendarManager {
      * @throws IOException En cas d'erreur lors de la sauvegarde
      */
     public void saveEventsToJson(File file) throws IOException {
+        saveEvents(file, SnapshotFormat.JSON);
+    }
+    
+    /**
+     * Sauvegarde tous les événements du calendrier dans un fichier binaire compact.
+     * @param file Le fichier où sauvegarder les événements
+     * @throws IOException En cas d'erreur lors de la sauvegarde
+     */
+    public void saveEventsToBinary(File file) throws IOException {
+        saveEvents(file, SnapshotFormat.BINARY);
+    }
+    
+    /**
+     * Sauvegarde tous les événements du calendrier dans le format demandé.
+     * Le fichier est écrit à côté, forcé sur le disque puis renommé (voir {@link AtomicFile}),
+     * pour qu'un arrêt en cours d'écriture ne laisse jamais une sauvegarde tronquée.
+     * La version remplacée est conservée comme copie de secours, relue par {@link #loadEvents(File, SnapshotFormat)}
+     * si la sauvegarde se révèle illisible.
+     * @param file Le fichier où sauvegarder les événements
+     * @param format Le format de la sauvegarde
+     * @throws IOException En cas d'erreur lors de la sauvegarde
+     */
+    public void saveEvents(File file, SnapshotFormat format) throws IOException {
         List<Event> eventList = getAllEvents();
-        JsonUtils.saveToFile(eventList, file);
+        AtomicFile.write(file, true, tempFile -> format.save(eventList, tempFile));
     }
     
     /**
@@ -152,43 +623,375 @@ public class CalendarManager {
      * @throws IOException En cas d'erreur lors du chargement
      */
     public void loadEventsFromJson(File file) throws IOException {
-        // Vider la liste actuelle d'événements
+        loadEvents(file, SnapshotFormat.JSON);
+    }
+    
+    /**
+     * Charge les événements depuis un fichier JSON ou binaire, le format étant détecté d'après l'en-tête.
+     * @param file Le fichier contenant les événements
+     * @throws IOException En cas d'erreur lors du chargement
+     */
+    public void loadEvents(File file) throws IOException {
+        loadEvents(file, SnapshotFormat.detect(file));
+    }
+    
+    /**
+     * Charge les événements depuis un fichier dans le format donné. Le fichier est entièrement décodé
+     * avant de remplacer le contenu du calendrier : en cas d'erreur, le calendrier reste inchangé.
+     * Si le fichier est illisible, par exemple tronqué, sa copie de secours est chargée à la place.
+     * @param file Le fichier contenant les événements
+     * @param format Le format du fichier
+     * @throws IOException Si le fichier et sa copie de secours sont illisibles
+     */
+    public synchronized void loadEvents(File file, SnapshotFormat format) throws IOException {
+        List<Event> decoded;
+        try {
+            decoded = decode(file, format);
+        } catch (IOException | RuntimeException e) {
+            File backup = AtomicFile.backupOf(file);
+            if (!backup.isFile()) {
+                System.out.println("Erreur lors du chargement des événements : " + e.getMessage());
+                throw e;
+            }
+            System.out.println("Sauvegarde illisible (" + e.getMessage() + "), chargement de la copie de secours.");
+            try {
+                decoded = decode(backup, SnapshotFormat.detect(backup));
+            } catch (IOException | RuntimeException backupError) {
+                e.addSuppressed(backupError);
+                throw e;
+            }
+        }
+        int loaded = replaceContent(List.of(decoded), ForkJoinPool.commonPool());
+        System.out.println("Chargement réussi : " + loaded + " événements chargés.");
+    }
+    
+    /**
+     * Décode un fichier de sauvegarde. Un identifiant présent plusieurs fois n'est gardé
+     * qu'une fois, avec sa dernière version, comme l'aurait fait un ajout un par un.
+     */
+    private static List<Event> decode(File file, SnapshotFormat format) throws IOException {
+        Map<EventId, Event> byId = new LinkedHashMap<>();
+        format.load(file, event -> byId.put(event.getId(), event));
+        return new ArrayList<>(byId.values());
+    }
+    
+    /**
+     * Remplace le contenu du calendrier par des événements déjà décodés, aux identifiants distincts.
+     * Les lots sont indexés en parallèle ; les observateurs sont prévenus du vidage puis de l'ajout
+     * de tous les événements en un seul lot.
+     * @return Le nombre d'événements chargés
+     */
+    private synchronized int replaceContent(List<List<Event>> batches, ForkJoinPool pool) {
+        clearContent();
+        return indexBatches(batches, pool);
+    }
+    
+    /**
+     * Vide le calendrier, y compris la sauvegarde ouverte par son index de démarrage, et en prévient les observateurs.
+     */
+    private synchronized void clearContent() {
+        discardStartupIndex();
         events.clear();
+        timeIndex.clear();
+        userIndex.clear();
+        for (CalendarListener listener : listeners) {
+            listener.calendarCleared();
+        }
+    }
+    
+    /**
+     * Indexe en parallèle des lots d'événements absents du calendrier, puis prévient les observateurs
+     * de l'ajout de tous les événements en un seul lot.
+     * @return Le nombre d'événements ajoutés
+     */
+    private synchronized int indexBatches(List<List<Event>> batches, ForkJoinPool pool) {
+        // Les index acceptent les ajouts concurrents ; le verrou du gestionnaire, tenu par ce thread,
+        // écarte toute autre modification pendant l'indexation
+        pool.invoke(ForkJoinTask.adapt(() -> batches.parallelStream().forEach(batch -> {
+            for (Event event : batch) {
+                events.put(event.getId(), event);
+            }
+            timeIndex.addAll(batch);
+            userIndex.addAll(batch);
+        })));
         
+        List<Event> loaded = new ArrayList<>(events.size());
+        batches.forEach(loaded::addAll);
+        for (CalendarListener listener : listeners) {
+            listener.eventsAdded(Collections.unmodifiableList(loaded));
+        }
+        return loaded.size();
+    }
+    
+    /**
+     * Sauvegarde tous les événements du calendrier dans une sauvegarde partitionnée par mois.
+     * @param directory Le répertoire de la sauvegarde
+     * @param format Le format des partitions
+     * @throws IOException En cas d'erreur lors de la sauvegarde
+     */
+    public void saveEventsSharded(File directory, SnapshotFormat format) throws IOException {
+        ShardedSnapshot.save(getAllEvents(), directory, format);
+    }
+    
+    /**
+     * Charge une sauvegarde partitionnée en utilisant le pool commun de threads.
+     * @param directory Le répertoire de la sauvegarde
+     * @throws IOException En cas d'erreur lors du chargement
+     */
+    public void loadEventsSharded(File directory) throws IOException {
+        loadEventsSharded(directory, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Charge une sauvegarde partitionnée : les partitions sont décodées en parallèle, puis indexées
+     * en parallèle, chacune en un seul lot. Le calendrier n'est vidé qu'une fois toutes les partitions
+     * décodées : en cas d'erreur de lecture, il reste inchangé. Si la sauvegarde est illisible,
+     * la précédente, conservée comme copie de secours, est chargée à la place.
+     * Les observateurs sont prévenus du vidage puis de l'ajout de tous les événements en un seul lot.
+     * @param directory Le répertoire de la sauvegarde
+     * @param pool Le pool de threads qui décode et indexe les partitions
+     * @throws IOException Si la sauvegarde et sa copie de secours sont illisibles
+     */
+    public synchronized void loadEventsSharded(File directory, ForkJoinPool pool) throws IOException {
+        loadShards(directory, pool);
+    }
+    
+    /**
+     * Charge une sauvegarde partitionnée ou, à défaut, sa copie de secours.
+     * @return true si la sauvegarde courante a été chargée, false si c'est la copie de secours
+     */
+    private synchronized boolean loadShards(File directory, ForkJoinPool pool) throws IOException {
+        List<List<Event>> shards;
+        boolean current = true;
         try {
-            // Charger les événements depuis le fichier
-            List<Event> loadedEvents = JsonUtils.loadListFromFile(file, Event.class);
-            
-            // Ajouter les événements chargés sans déclencher de sauvegarde automatique
-            for (Event event : loadedEvents) {
-                events.put(event.getId(), event);
+            shards = ShardedSnapshot.load(directory, pool);
+        } catch (IOException | RuntimeException e) {
+            if (!ShardedSnapshot.hasBackup(directory)) {
+                throw e;
             }
-            
-            System.out.println("Chargement réussi : " + loadedEvents.size() + " événements chargés.");
-        } catch (Exception e) {
-            System.out.println("Erreur lors du chargement des événements : " + e.getMessage());
-            e.printStackTrace();
-            throw e;
+            System.out.println("Sauvegarde illisible (" + e.getMessage() + "), chargement de la copie de secours.");
+            try {
+                shards = ShardedSnapshot.loadBackup(directory, pool);
+            } catch (IOException | RuntimeException backupError) {
+                e.addSuppressed(backupError);
+                throw e;
+            }
+            current = false;
+        }
+        int loaded = replaceContent(shards, pool);
+        System.out.println("Chargement réussi : " + loaded + " événements chargés depuis "
+                + shards.size() + " partitions.");
+        return current;
+    }
+    
+    /**
+     * Ouvre une sauvegarde partitionnée sans la charger, si elle est binaire et indexée (voir {@link StartupIndex}) :
+     * les requêtes de période sont servies tout de suite depuis les index projetés en mémoire,
+     * et seuls les événements qu'elles retiennent sont lus. Toute autre opération, modification comprise,
+     * termine d'abord le chargement, sauf l'enregistrement d'un observateur ; {@link #completeLoadAsync()}
+     * le termine en arrière-plan. Une sauvegarde sans index est chargée entièrement,
+     * comme par {@link #loadEventsSharded(File)}.
+     * @param directory Le répertoire de la sauvegarde
+     * @throws IOException En cas d'erreur lors du chargement
+     */
+    public void openEventsSharded(File directory) throws IOException {
+        openShards(directory);
+    }
+    
+    /**
+     * Ouvre une sauvegarde partitionnée par son index de démarrage ou, à défaut, la charge entièrement.
+     * @return true si la sauvegarde courante a été ouverte ou chargée, false si c'est la copie de secours
+     */
+    private synchronized boolean openShards(File directory) throws IOException {
+        if (StartupIndex.exists(directory)) {
+            try {
+                StartupIndex index = StartupIndex.open(directory);
+                clearContent();
+                startupIndex = index;
+                System.out.println("Ouverture réussie : " + index.size() + " événements, lus à la demande.");
+                return true;
+            } catch (IOException e) {
+                System.out.println("Index de démarrage inutilisable (" + e.getMessage() + "), chargement complet.");
+            }
+        }
+        return loadShards(directory, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Répond à une requête de période tant que le calendrier n'est ouvert que par son index de démarrage :
+     * les événements de la sauvegarde, sauf ceux remplacés ou retirés depuis l'ouverture, et ceux ajoutés depuis.
+     */
+    private synchronized List<Event> startupBetween(String utilisateur, DateEvent start, DateEvent end) {
+        List<Event> result = new ArrayList<>();
+        if (startupIndex != null) {
+            List<Event> saved = utilisateur == null
+                    ? startupIndex.between(start, end) : startupIndex.between(utilisateur, start, end);
+            for (Event event : saved) {
+                if (!shadowedEvents.contains(event.getId())) {
+                    result.add(event);
+                }
+            }
+        }
+        result.addAll(utilisateur == null ? timeIndex.between(start, end) : userIndex.between(utilisateur, start, end));
+        result.sort(EventTimeIndex.INDEX_ORDER);
+        return result;
+    }
+    
+    /**
+     * Masque la version d'un événement lue par l'index de démarrage, quand il est remplacé ou retiré.
+     * @return La version masquée, ou null si l'événement n'est pas dans la sauvegarde ouverte ou y est déjà masqué
+     */
+    private Event shadowStartupEvent(EventId eventId) {
+        if (startupIndex == null || shadowedEvents.contains(eventId)) {
+            return null;
+        }
+        Event saved = startupIndex.get(eventId);
+        if (saved != null) {
+            shadowedEvents.add(eventId);
         }
+        return saved;
     }
     
     /**
-     * Sauvegarde tous les événements du calendrier dans un fichier JSON par défaut.
+     * Termine le chargement si le calendrier n'est encore ouvert que par son index de démarrage.
+     */
+    private void ensureLoaded() {
+        if (startupIndex != null) {
+            completeStartupLoad();
+        }
+    }
+    
+    /**
+     * Termine en arrière-plan le chargement d'un calendrier ouvert par son index de démarrage,
+     * pour que les observateurs reçoivent les événements de la sauvegarde sans attendre une modification.
+     * Les requêtes de période restent servies par l'index pendant le décodage.
+     * @return Une tâche terminée une fois le calendrier entièrement chargé, en erreur si le chargement échoue
+     */
+    public CompletableFuture<Void> completeLoadAsync() {
+        return CompletableFuture.runAsync(this::ensureLoaded);
+    }
+    
+    /**
+     * Charge entièrement la sauvegarde ouverte par son index de démarrage, sans les versions masquées depuis.
+     * Les partitions à réécrire restent celles touchées depuis l'ouverture. Le décodage se fait hors du verrou
+     * quand l'appelant ne le tient pas déjà ; seule l'indexation bloque les autres opérations,
+     * requêtes de période comprises, qui ne passent aux index complets qu'une fois ceux-ci remplis.
+     */
+    private void completeStartupLoad() {
+        StartupIndex index = startupIndex;
+        if (index == null) {
+            return;
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<List<Event>> shards;
+        try {
+            shards = ShardedSnapshot.load(index.getDirectory(), pool);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        synchronized (this) {
+            if (startupIndex != index) {
+                // Chargé entre-temps par un autre thread, ou remplacé par un autre contenu
+                return;
+            }
+            for (List<Event> shard : shards) {
+                shard.removeIf(event -> shadowedEvents.contains(event.getId()));
+            }
+            Set<String> modified = shardTracker.drain();
+            // L'index de démarrage reste en place jusqu'à la fin de l'indexation : les requêtes de période
+            // passent par lui, sous le verrou, et ne voient jamais un index temporel à moitié rempli
+            indexBatches(shards, pool);
+            discardStartupIndex();
+            shardTracker.markClean();
+            shardTracker.restore(modified);
+        }
+    }
+    
+    private void discardStartupIndex() {
+        StartupIndex index = startupIndex;
+        if (index != null) {
+            startupIndex = null;
+            shadowedEvents.clear();
+            index.close();
+        }
+    }
+    
+    /**
+     * Sauvegarde tous les événements du calendrier dans le répertoire par défaut, partitionnés par mois
+     * au format choisi à la construction. Peut être appelée à tout moment, même pendant une sauvegarde
+     * déclenchée par la stratégie de persistance : les deux s'écrivent l'une après l'autre.
      * @throws IOException En cas d'erreur lors de la sauvegarde
      */
     public void saveEventsToDefaultFile() throws IOException {
-        File defaultFile = new File("calendar_events.json");
-        saveEventsToJson(defaultFile);
+        saveChangedShards(DEFAULT_DIRECTORY, defaultFormat);
     }
     
     /**
-     * Charge les événements depuis un fichier JSON par défaut.
+     * Sauvegarde seulement les partitions modifiées depuis la sauvegarde précédente, ou tout le calendrier
+     * si le répertoire ne contient pas encore de sauvegarde à jour. Le contenu des partitions est relevé
+     * sous le verrou des modifications, puis écrit hors de ce verrou mais sous celui des sauvegardes,
+     * pris avant de rendre le premier : deux sauvegardes s'écrivent dans l'ordre où leur contenu a été relevé,
+     * et aucune ne retire les fichiers de l'autre. L'écriture ne reprend jamais le verrou des modifications,
+     * ce qui permet de prendre celui des sauvegardes en le tenant.
+     * Si l'écriture échoue, les partitions restent marquées comme modifiées pour la sauvegarde suivante.
+     */
+    private void saveChangedShards(File directory, SnapshotFormat format) throws IOException {
+        boolean complete = false;
+        while (true) {
+            Set<String> dirty;
+            Map<String, List<Event>> changed = new TreeMap<>();
+            List<Event> all = null;
+            synchronized (this) {
+                ensureLoaded();
+                dirty = shardTracker.drain();
+                if (complete || dirty == null) {
+                    all = timeIndex.all();
+                } else {
+                    for (String key : dirty) {
+                        YearMonth month = YearMonth.parse(key);
+                        changed.put(key, timeIndex.startingBetween(new DateEvent(month.atDay(1).atStartOfDay()),
+                                new DateEvent(month.plusMonths(1).atDay(1).atStartOfDay())));
+                    }
+                }
+                saveLock.lock();
+            }
+            try {
+                if (all != null) {
+                    ShardedSnapshot.save(all, directory, format);
+                    return;
+                }
+                if (ShardedSnapshot.saveShards(changed, directory, format)) {
+                    return;
+                }
+                // Pas de sauvegarde à jour à compléter : le calendrier entier est relevé puis écrit
+                shardTracker.restore(dirty);
+                complete = true;
+            } catch (IOException | RuntimeException e) {
+                shardTracker.restore(dirty);
+                throw e;
+            } finally {
+                saveLock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * Charge les événements depuis le répertoire par défaut, ou à défaut depuis l'ancien fichier unique,
+     * quel que soit son format, puis rejoue les modifications enregistrées depuis par la stratégie de persistance.
+     * Un calendrier chargé depuis l'ancien fichier est partitionné à sa prochaine sauvegarde.
+     * Une sauvegarde binaire, écrite par un calendrier construit avec {@link SnapshotFormat#BINARY},
+     * est seulement ouverte, comme par {@link #openEventsSharded(File)}.
      * @throws IOException En cas d'erreur lors du chargement
      */
-    public void loadEventsFromDefaultFile() throws IOException {
-        File defaultFile = new File("calendar_events.json");
-        if (defaultFile.exists()) {
-            loadEventsFromJson(defaultFile);
+    public synchronized void loadEventsFromDefaultFile() throws IOException {
+        if (ShardedSnapshot.exists(DEFAULT_DIRECTORY)) {
+            if (openShards(DEFAULT_DIRECTORY)) {
+                // Le disque reflète le calendrier chargé : seules les modifications suivantes seront réécrites
+                shardTracker.markClean();
+            }
+        } else if (LEGACY_DEFAULT_FILE.exists()) {
+            loadEvents(LEGACY_DEFAULT_FILE);
         }
+        persistence.recover(this::indexEvent, this::unindexEvent);
     }
 }
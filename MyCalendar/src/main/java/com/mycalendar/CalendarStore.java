@@ -0,0 +1,56 @@
+package com.mycalendar;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.mycalendar.events.Event;
+import com.mycalendar.events.EventId;
+
+/**
+ * Opérations de consultation et de modification communes aux différents stockages du calendrier.
+ */
+public interface CalendarStore {
+
+    /**
+     * Ajoute un événement, en remplaçant l'éventuel événement portant le même identifiant.
+     * @param event L'événement à ajouter
+     */
+    void ajouterEvent(Event event);
+
+    /**
+     * Supprime un événement par son identifiant.
+     * @param eventId L'identifiant de l'événement à supprimer
+     * @return true si l'événement a été supprimé, false s'il n'existait pas
+     */
+    boolean supprimerEvent(EventId eventId);
+
+    /**
+     * Retourne les événements qui se produisent dans la période spécifiée.
+     * @param debut La date de début de la période
+     * @param fin La date de fin de la période
+     * @return La liste des événements dans la période
+     */
+    List<Event> eventsDansPeriode(LocalDateTime debut, LocalDateTime fin);
+
+    /**
+     * Retourne les événements en conflit avec un événement donné.
+     * @param event L'événement à vérifier
+     * @return La liste des événements en conflit
+     */
+    List<Event> evenementsEnConflit(Event event);
+
+    /**
+     * Vérifie si un événement est en conflit avec d'autres événements.
+     * @param event L'événement à vérifier
+     * @return true si l'événement est en conflit, false sinon
+     */
+    default boolean estEnConflit(Event event) {
+        return !evenementsEnConflit(event).isEmpty();
+    }
+
+    /**
+     * Retourne tous les événements.
+     * @return La liste de tous les événements
+     */
+    List<Event> getAllEvents();
+}
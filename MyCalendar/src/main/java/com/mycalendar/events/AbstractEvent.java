@@ -12,6 +12,8 @@ public abstract class AbstractEvent implements Event {
     private final OwnerEvent owner;
     private final DateEvent startDate;
     private final DurationEvent duration;
+    // Les événements sont immuables : la date de fin est calculée une fois pour toutes
+    private final DateEvent endDate;
     
     @JsonCreator
     protected AbstractEvent(
@@ -25,10 +27,11 @@ public abstract class AbstractEvent implements Event {
         this.owner = owner;
         this.startDate = startDate;
         this.duration = duration;
+        this.endDate = startDate.plusMinutes(duration);
     }
     
     protected AbstractEvent(String title, String owner, DateEvent startDate, DurationEvent duration) {
-        this(new EventId(), new TitleEvent(title), new OwnerEvent(owner), startDate, duration);
+        this(new EventId(), new TitleEvent(title), OwnerEvent.of(owner), startDate, duration);
     }
     
     @Override
@@ -58,7 +61,7 @@ public abstract class AbstractEvent implements Event {
     
     @Override
     public DateEvent getEndDate() {
-        return startDate.plusMinutes(duration);
+        return endDate;
     }
     
     @Override
@@ -3,18 +3,25 @@ package com.mycalendar.events;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Objects;
 
 /**
  * Value Object représentant la date et l'heure d'un événement.
  * Cette classe est immuable.
+ * L'instant est aussi conservé sous forme primitive (secondes depuis l'époque en UTC et nanosecondes),
+ * de sorte que les comparaisons n'allouent rien.
  */
-public class DateEvent {
+public class DateEvent implements Comparable<DateEvent> {
     private final LocalDateTime dateTime;
+    private final long epochSecond;
+    private final int nano;
     
     @JsonCreator
     public DateEvent(@JsonProperty("dateTime") LocalDateTime dateTime) {
         this.dateTime = Objects.requireNonNull(dateTime, "La date et l'heure ne peuvent pas être nulles");
+        this.epochSecond = dateTime.toEpochSecond(ZoneOffset.UTC);
+        this.nano = dateTime.getNano();
     }
     
     public DateEvent(int year, int month, int day, int hour, int minute) {
@@ -33,12 +40,44 @@ public class DateEvent {
         return new DateEvent(dateTime.plusDays(days));
     }
     
+    /**
+     * Retourne l'instant en secondes depuis l'époque, la date étant lue en UTC.
+     * @return Le nombre de secondes depuis le 1er janvier 1970 à minuit
+     */
+    public long toEpochSecond() {
+        return epochSecond;
+    }
+    
     public boolean isBefore(DateEvent other) {
-        return this.dateTime.isBefore(other.dateTime);
+        return compareTo(other) < 0;
     }
     
     public boolean isAfter(DateEvent other) {
-        return this.dateTime.isAfter(other.dateTime);
+        return compareTo(other) > 0;
+    }
+    
+    /**
+     * Retourne la fraction de seconde de l'instant.
+     * @return Les nanosecondes, de 0 à 999 999 999
+     */
+    int nano() {
+        return nano;
+    }
+    
+    @Override
+    public int compareTo(DateEvent other) {
+        return compareTo(other.epochSecond, other.nano);
+    }
+    
+    /**
+     * Compare cette date à un instant donné sous forme primitive, sans rien allouer.
+     * @param otherEpochSecond Les secondes depuis l'époque de l'instant, en UTC
+     * @param otherNano La fraction de seconde de l'instant
+     * @return Un entier négatif, nul ou positif selon que cette date est avant, égale ou après l'instant
+     */
+    public int compareTo(long otherEpochSecond, int otherNano) {
+        int bySecond = Long.compare(epochSecond, otherEpochSecond);
+        return bySecond != 0 ? bySecond : Integer.compare(nano, otherNano);
     }
     
     @Override
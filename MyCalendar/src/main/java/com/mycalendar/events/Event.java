@@ -1,7 +1,11 @@
 package com.mycalendar.events;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interface représentant un événement dans le calendrier.
@@ -74,6 +78,36 @@ public interface Event {
      */
     boolean occursInPeriod(DateEvent start, DateEvent end);
     
+    /**
+     * Retourne les dates de début des occurrences de l'événement comprises dans la période,
+     * dans l'ordre chronologique. Un événement ponctuel a au plus une occurrence : sa date de début.
+     * @param start Date de début de la période (incluse)
+     * @param end Date de fin de la période (incluse)
+     * @return Le flux paresseux des dates d'occurrence
+     */
+    default Stream<DateEvent> occurrencesBetween(DateEvent start, DateEvent end) {
+        return occursInPeriod(start, end) ? Stream.of(getStartDate()) : Stream.empty();
+    }
+    
+    /**
+     * Indique si l'événement se répète dans le temps, auquel cas une occurrence
+     * peut tomber bien après sa date de début.
+     * @return true si l'événement est récurrent, false sinon
+     */
+    @JsonIgnore
+    default boolean isRecurring() {
+        return false;
+    }
+    
+    /**
+     * Retourne les noms des personnes concernées par l'événement en plus de son propriétaire.
+     * @return La liste des participants, vide pour un événement personnel
+     */
+    @JsonIgnore
+    default List<String> getParticipantNames() {
+        return Collections.emptyList();
+    }
+    
     /**
      * Retourne le type de l'événement.
      * @return Le type de l'événement
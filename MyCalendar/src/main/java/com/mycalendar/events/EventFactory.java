@@ -7,6 +7,8 @@ import java.util.Map;
 /**
  * Factory pour créer des événements en fonction de leur type.
  * Cette classe utilise le polymorphisme pour éviter les conditionnels.
+ * Les propriétaires, lieux, priorités et participants des événements créés
+ * sont partagés entre événements (voir {@link ValueCache}).
  */
 public class EventFactory {
     private final Map<TypeEvent, EventCreator> creators;
@@ -1,5 +1,7 @@
 package com.mycalendar.events;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.Objects;
 
 /**
@@ -9,7 +11,8 @@ import java.util.Objects;
 public class FrequencyEvent {
     private final int days;
     
-    public FrequencyEvent(int days) {
+    @JsonCreator
+    public FrequencyEvent(@JsonProperty("days") int days) {
         if (days <= 0) {
             throw new IllegalArgumentException("La fréquence doit être positive");
         }
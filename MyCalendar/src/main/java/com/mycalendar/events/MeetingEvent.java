@@ -1,5 +1,10 @@
 package com.mycalendar.events;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
 /**
  * Classe représentant une réunion.
  */
@@ -7,8 +12,15 @@ public class MeetingEvent extends AbstractEvent {
     private final PlaceEvent place;
     private final ParticipantEvent participants;
     
-    public MeetingEvent(EventId id, TitleEvent title, OwnerEvent owner, DateEvent startDate, DurationEvent duration,
-                        PlaceEvent place, ParticipantEvent participants) {
+    @JsonCreator
+    public MeetingEvent(
+            @JsonProperty("id") EventId id,
+            @JsonProperty("title") TitleEvent title,
+            @JsonProperty("owner") OwnerEvent owner,
+            @JsonProperty("startDate") DateEvent startDate,
+            @JsonProperty("duration") DurationEvent duration,
+            @JsonProperty("place") PlaceEvent place,
+            @JsonProperty("participants") ParticipantEvent participants) {
         super(id, title, owner, startDate, duration);
         this.place = place;
         this.participants = participants;
@@ -17,8 +29,8 @@ public class MeetingEvent extends AbstractEvent {
     public MeetingEvent(String title, String owner, DateEvent startDate, DurationEvent duration,
                         String place, String participants) {
         super(title, owner, startDate, duration);
-        this.place = new PlaceEvent(place);
-        this.participants = new ParticipantEvent(participants);
+        this.place = PlaceEvent.of(place);
+        this.participants = ParticipantEvent.of(participants);
     }
     
     public PlaceEvent getPlace() {
@@ -29,6 +41,12 @@ public class MeetingEvent extends AbstractEvent {
         return participants;
     }
     
+    @JsonIgnore
+    @Override
+    public List<String> getParticipantNames() {
+        return participants.getParticipants();
+    }
+    
     @Override
     public String description() {
         return "Réunion : " + getTitle() + " à " + place + " avec " + participants;
@@ -1,5 +1,7 @@
 package com.mycalendar.events;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.Objects;
 
 /**
@@ -9,7 +11,8 @@ import java.util.Objects;
 public class MessageEvent {
     private final String value;
     
-    public MessageEvent(String message) {
+    @JsonCreator
+    public MessageEvent(@JsonProperty("value") String message) {
         if (message == null) {
             throw new IllegalArgumentException("Le message ne peut pas être null");
         }
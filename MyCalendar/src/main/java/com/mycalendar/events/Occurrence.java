@@ -0,0 +1,53 @@
+package com.mycalendar.events;
+
+import java.util.Objects;
+
+/**
+ * Value Object représentant une occurrence d'un événement : l'événement lui-même pour un événement
+ * ponctuel, ou l'une de ses répétitions pour un événement périodique.
+ * Cette classe est immuable.
+ */
+public class Occurrence implements Comparable<Occurrence> {
+    private final Event event;
+    private final DateEvent start;
+
+    public Occurrence(Event event, DateEvent start) {
+        this.event = Objects.requireNonNull(event, "L'événement ne peut pas être nul");
+        this.start = Objects.requireNonNull(start, "La date de l'occurrence ne peut pas être nulle");
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public DateEvent getStart() {
+        return start;
+    }
+
+    public DateEvent getEnd() {
+        return start.plusMinutes(event.getDuration());
+    }
+
+    @Override
+    public int compareTo(Occurrence other) {
+        return start.compareTo(other.start);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Occurrence that = (Occurrence) o;
+        return event.equals(that.event) && start.equals(that.start);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(event, start);
+    }
+
+    @Override
+    public String toString() {
+        return start + " " + event.getTitle();
+    }
+}
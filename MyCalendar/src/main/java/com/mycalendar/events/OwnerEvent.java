@@ -9,9 +9,10 @@ import java.util.Objects;
  * Cette classe est immuable.
  */
 public class OwnerEvent {
+    private static final ValueCache<OwnerEvent> CACHE = new ValueCache<>(OwnerEvent::new);
+    
     private final String value;
     
-    @JsonCreator
     public OwnerEvent(@JsonProperty("value") String owner) {
         if (owner == null || owner.trim().isEmpty()) {
             throw new IllegalArgumentException("Le propriétaire ne peut pas être vide");
@@ -19,6 +20,16 @@ public class OwnerEvent {
         this.value = owner.trim();
     }
     
+    /**
+     * Retourne le propriétaire partagé par tous les événements qui portent ce nom (voir {@link ValueCache}).
+     * @param owner Le nom du propriétaire
+     * @return Le propriétaire
+     */
+    @JsonCreator
+    public static OwnerEvent of(@JsonProperty("value") String owner) {
+        return CACHE.get(owner);
+    }
+    
     public String getValue() {
         return value;
     }
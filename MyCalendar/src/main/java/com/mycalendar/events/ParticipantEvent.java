@@ -1,5 +1,7 @@
 package com.mycalendar.events;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -11,6 +13,8 @@ import java.util.Objects;
  * Cette classe est immuable.
  */
 public class ParticipantEvent {
+    private static final ValueCache<ParticipantEvent> CACHE = new ValueCache<>(ParticipantEvent::new);
+    
     private final List<String> participants;
     
     public ParticipantEvent(String participantsString) {
@@ -47,6 +51,17 @@ public class ParticipantEvent {
         this(Arrays.asList(participants));
     }
     
+    /**
+     * Retourne la liste de participants partagée par toutes les réunions qui la réunissent (voir {@link ValueCache}).
+     * @param participantsString Les participants séparés par des virgules
+     * @return Les participants
+     */
+    // Sérialisé en JSON sous la forme "Alice, Bob", relue par cette même méthode
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static ParticipantEvent of(String participantsString) {
+        return CACHE.get(participantsString);
+    }
+    
     public List<String> getParticipants() {
         return participants;
     }
@@ -72,6 +87,7 @@ public class ParticipantEvent {
         return Objects.hash(participants);
     }
     
+    @JsonValue
     @Override
     public String toString() {
         if (participants.isEmpty()) {
@@ -1,12 +1,26 @@
 package com.mycalendar.events;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Stream;
+
 /**
  * Classe représentant un événement périodique.
  */
 public class PeriodicEvent extends AbstractEvent {
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+    
     private final FrequencyEvent frequency;
     
-    public PeriodicEvent(EventId id, TitleEvent title, OwnerEvent owner, DateEvent startDate, FrequencyEvent frequency) {
+    @JsonCreator
+    public PeriodicEvent(
+            @JsonProperty("id") EventId id,
+            @JsonProperty("title") TitleEvent title,
+            @JsonProperty("owner") OwnerEvent owner,
+            @JsonProperty("startDate") DateEvent startDate,
+            @JsonProperty("frequency") FrequencyEvent frequency) {
         super(id, title, owner, startDate, new DurationEvent(0)); // Les événements périodiques n'ont pas de durée fixe
         this.frequency = frequency;
     }
@@ -28,17 +42,58 @@ public class PeriodicEvent extends AbstractEvent {
     
     @Override
     public boolean occursInPeriod(DateEvent start, DateEvent end) {
-        DateEvent currentOccurrence = getStartDate();
-        
-        // Vérifie si une occurrence de l'événement périodique se produit dans la période spécifiée
-        while (!currentOccurrence.isAfter(end)) {
-            if (!currentOccurrence.isBefore(start)) {
-                return true;
-            }
-            currentOccurrence = currentOccurrence.plusDays(frequency.getDays());
+        // La première occurrence à partir du début de la période suffit : O(1) quel que soit l'âge de l'événement.
+        // Elle est calculée en secondes pour ne rien allouer (les dates n'ont pas de fuseau : un jour dure 86 400 s)
+        DateEvent first = getStartDate();
+        if (!start.isAfter(first)) {
+            return !first.isAfter(end);
         }
-        
-        return false;
+        long period = frequency.getDays() * SECONDS_PER_DAY;
+        long candidate = first.toEpochSecond()
+                + Math.floorDiv(start.toEpochSecond() - first.toEpochSecond(), period) * period;
+        if (start.compareTo(candidate, first.nano()) > 0) {
+            candidate += period;
+        }
+        return end.compareTo(candidate, first.nano()) >= 0;
+    }
+    
+    /**
+     * Calcule la première occurrence se produisant à partir d'une date donnée,
+     * sans parcourir les occurrences précédentes.
+     * @param from La date à partir de laquelle chercher (incluse)
+     * @return La première occurrence égale ou postérieure à la date
+     */
+    public DateEvent firstOccurrenceFrom(DateEvent from) {
+        if (!from.isAfter(getStartDate())) {
+            return getStartDate();
+        }
+        LocalDateTime first = getStartDate().getDateTime();
+        // Nombre de périodes entières écoulées entre le début de l'événement et la date
+        long periods = ChronoUnit.DAYS.between(first, from.getDateTime()) / frequency.getDays();
+        LocalDateTime candidate = first.plusDays(periods * frequency.getDays());
+        if (candidate.isBefore(from.getDateTime())) {
+            candidate = candidate.plusDays(frequency.getDays());
+        }
+        return new DateEvent(candidate);
+    }
+    
+    /**
+     * Retourne les occurrences de l'événement comprises dans la période, dans l'ordre chronologique.
+     * Le flux est paresseux : les occurrences ne sont calculées qu'à mesure qu'elles sont consommées.
+     * @param start La date de début de la période (incluse)
+     * @param end La date de fin de la période (incluse)
+     * @return Le flux des dates d'occurrence
+     */
+    @Override
+    public Stream<DateEvent> occurrencesBetween(DateEvent start, DateEvent end) {
+        return Stream.iterate(firstOccurrenceFrom(start),
+                occurrence -> !occurrence.isAfter(end),
+                occurrence -> occurrence.plusDays(frequency.getDays()));
+    }
+    
+    @Override
+    public boolean isRecurring() {
+        return true;
     }
     
     @Override
@@ -1,5 +1,7 @@
 package com.mycalendar.events;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.Objects;
 
 /**
@@ -7,13 +9,25 @@ import java.util.Objects;
  * Cette classe est immuable.
  */
 public class PlaceEvent {
+    private static final ValueCache<PlaceEvent> CACHE = new ValueCache<>(PlaceEvent::new);
+    
     private final String value;
     
-    public PlaceEvent(String place) {
+    public PlaceEvent(@JsonProperty("value") String place) {
         // Le lieu peut être vide pour certains types d'événements
         this.value = place != null ? place.trim() : "";
     }
     
+    /**
+     * Retourne le lieu partagé par tous les événements qui s'y tiennent (voir {@link ValueCache}).
+     * @param place Le lieu, éventuellement vide
+     * @return Le lieu
+     */
+    @JsonCreator
+    public static PlaceEvent of(@JsonProperty("value") String place) {
+        return CACHE.get(place != null ? place : "");
+    }
+    
     public String getValue() {
         return value;
     }
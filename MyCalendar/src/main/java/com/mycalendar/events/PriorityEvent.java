@@ -1,5 +1,7 @@
 package com.mycalendar.events;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.Objects;
 
 /**
@@ -7,15 +9,27 @@ import java.util.Objects;
  * Cette classe est immuable.
  */
 public class PriorityEvent {
+    private static final ValueCache<PriorityEvent> CACHE = new ValueCache<>(PriorityEvent::new);
+    
     private final String value;
     
-    public PriorityEvent(String priority) {
+    public PriorityEvent(@JsonProperty("value") String priority) {
         if (priority == null || priority.trim().isEmpty()) {
             throw new IllegalArgumentException("La priorité ne peut pas être vide");
         }
         this.value = priority.trim().toUpperCase();
     }
     
+    /**
+     * Retourne la priorité partagée par toutes les tâches qui la portent (voir {@link ValueCache}).
+     * @param priority La priorité, quelle que soit sa casse
+     * @return La priorité
+     */
+    @JsonCreator
+    public static PriorityEvent of(@JsonProperty("value") String priority) {
+        return CACHE.get(priority);
+    }
+    
     public String getValue() {
         return value;
     }
@@ -1,12 +1,21 @@
 package com.mycalendar.events;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 /**
  * Classe représentant un rappel simple.
  */
 public class ReminderEvent extends AbstractEvent {
     private final MessageEvent message;
     
-    public ReminderEvent(EventId id, TitleEvent title, OwnerEvent owner, DateEvent date, MessageEvent message) {
+    @JsonCreator
+    public ReminderEvent(
+            @JsonProperty("id") EventId id,
+            @JsonProperty("title") TitleEvent title,
+            @JsonProperty("owner") OwnerEvent owner,
+            @JsonProperty("startDate") DateEvent date,
+            @JsonProperty("message") MessageEvent message) {
         super(id, title, owner, date, new DurationEvent(0)); // Les rappels n'ont pas de durée
         this.message = message;
     }
@@ -1,19 +1,28 @@
 package com.mycalendar.events;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 /**
  * Classe représentant une tâche avec une date limite.
  */
 public class TaskEvent extends AbstractEvent {
     private final PriorityEvent priority;
     
-    public TaskEvent(EventId id, TitleEvent title, OwnerEvent owner, DateEvent deadline, PriorityEvent priority) {
+    @JsonCreator
+    public TaskEvent(
+            @JsonProperty("id") EventId id,
+            @JsonProperty("title") TitleEvent title,
+            @JsonProperty("owner") OwnerEvent owner,
+            @JsonProperty("startDate") DateEvent deadline,
+            @JsonProperty("priority") PriorityEvent priority) {
         super(id, title, owner, deadline, new DurationEvent(0)); // Les tâches n'ont pas de durée fixe
         this.priority = priority;
     }
     
     public TaskEvent(String title, String owner, DateEvent deadline, String priority) {
         super(title, owner, deadline, new DurationEvent(0));
-        this.priority = new PriorityEvent(priority);
+        this.priority = PriorityEvent.of(priority);
     }
     
     public PriorityEvent getPriority() {
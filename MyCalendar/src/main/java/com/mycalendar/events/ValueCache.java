@@ -0,0 +1,58 @@
+package com.mycalendar.events;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache de poids-mouche pour les value objects immuables qui se répètent d'un événement à l'autre
+ * (propriétaires, lieux, priorités, participants) : une même valeur n'est allouée qu'une fois,
+ * chaîne comprise, et partagée par tous les événements qui la portent.
+ *
+ * Le cache est borné : une fois plein, les nouvelles valeurs sont créées sans être retenues,
+ * pour qu'une saisie libre très variée ne le fasse pas grossir indéfiniment.
+ */
+final class ValueCache<T> {
+    static final int DEFAULT_CAPACITY = 4096;
+
+    private final ConcurrentHashMap<String, T> values;
+    private final Function<String, T> factory;
+    private final int capacity;
+
+    ValueCache(Function<String, T> factory) {
+        this(factory, DEFAULT_CAPACITY);
+    }
+
+    ValueCache(Function<String, T> factory, int capacity) {
+        this.values = new ConcurrentHashMap<>();
+        this.factory = factory;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Retourne la valeur partagée correspondant à une saisie, en la créant si nécessaire.
+     * @param raw La saisie, telle que reçue par le constructeur du value object
+     * @return La valeur partagée, ou une nouvelle valeur si le cache est plein
+     * @throws IllegalArgumentException Si la saisie est refusée par le constructeur
+     */
+    T get(String raw) {
+        if (raw == null) {
+            return factory.apply(null);
+        }
+        T value = values.get(raw);
+        if (value != null) {
+            return value;
+        }
+        value = factory.apply(raw);
+        if (values.size() < capacity) {
+            T previous = values.putIfAbsent(raw, value);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return value;
+    }
+
+    int size() {
+        return values.size();
+    }
+}
@@ -2,13 +2,13 @@ package com.mycalendar.gui;
 
 import com.mycalendar.CalendarManager;
 import com.mycalendar.events.*;
-import com.mycalendar.json.JsonUtils;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import com.mycalendar.persistence.ImmediatePersistence;
+import com.mycalendar.persistence.SnapshotFormat;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.FileChooser;
 
 import java.io.File;
@@ -16,19 +16,20 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Contrôleur pour l'interface utilisateur du calendrier.
  */
 public class CalendarController {
     
-    @FXML private TableView<Event> eventTable;
-    @FXML private TableColumn<Event, String> titleColumn;
-    @FXML private TableColumn<Event, String> typeColumn;
-    @FXML private TableColumn<Event, String> dateColumn;
-    @FXML private TableColumn<Event, String> ownerColumn;
+    @FXML private TableView<EventRow> eventTable;
+    @FXML private TableColumn<EventRow, String> titleColumn;
+    @FXML private TableColumn<EventRow, String> typeColumn;
+    @FXML private TableColumn<EventRow, String> dateColumn;
+    @FXML private TableColumn<EventRow, String> ownerColumn;
     
     @FXML private DatePicker datePicker;
     @FXML private ComboBox<String> eventTypeComboBox;
@@ -46,39 +47,48 @@ public class CalendarController {
     @FXML private Label frequencyLabel;
     @FXML private Label durationLabel;
     
+    @FXML private Label transferLabel;
+    @FXML private ProgressBar transferProgress;
+    @FXML private Button cancelTransferButton;
+    
     private CalendarManager calendarManager;
-    private ObservableList<Event> eventList;
+    private EventTableModel tableModel;
+    private ExecutorService transferExecutor;
+    private Task<Integer> currentTransfer;
     
     /**
      * Initialise le contrôleur.
      */
     public void initialize() {
-        calendarManager = new CalendarManager();
-        eventList = FXCollections.observableArrayList();
-        
-        // Configuration de la table
-        titleColumn.setCellValueFactory(cellData -> {
-            Event event = cellData.getValue();
-            return new javafx.beans.property.SimpleStringProperty(event.getTitle().getValue());
-        });
-        
-        typeColumn.setCellValueFactory(cellData -> {
-            Event event = cellData.getValue();
-            return new javafx.beans.property.SimpleStringProperty(event.getType().toString());
+        // Sauvegardes binaires : au démarrage, le calendrier est ouvert par ses index sans être décodé
+        calendarManager = new CalendarManager(new ImmediatePersistence(), SnapshotFormat.BINARY);
+        tableModel = new EventTableModel(Platform::runLater);
+        transferExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "calendar-transfer");
+            thread.setDaemon(true);
+            return thread;
         });
         
-        dateColumn.setCellValueFactory(cellData -> {
-            Event event = cellData.getValue();
-            return new javafx.beans.property.SimpleStringProperty(event.getStartDate().toString());
-        });
+        // Configuration de la table : chaque ligne garde les valeurs de ses cellules,
+        // et le modèle ajoute ou retire une ligne à chaque modification du calendrier
+        titleColumn.setCellValueFactory(cellData -> cellData.getValue().titleProperty());
+        typeColumn.setCellValueFactory(cellData -> cellData.getValue().typeProperty());
+        dateColumn.setCellValueFactory(cellData -> cellData.getValue().dateProperty());
+        ownerColumn.setCellValueFactory(cellData -> cellData.getValue().ownerProperty());
         
-        ownerColumn.setCellValueFactory(cellData -> {
-            Event event = cellData.getValue();
-            return new javafx.beans.property.SimpleStringProperty(event.getOwner().getValue());
+        eventTable.setItems(tableModel.getRows());
+        try {
+            calendarManager.loadEventsFromDefaultFile();
+        } catch (IOException e) {
+            System.out.println("Aucun fichier d'événements trouvé. Un nouveau calendrier sera créé.");
+        }
+        calendarManager.addListener(tableModel);
+        // La table reçoit les événements de la sauvegarde une fois le chargement terminé en arrière-plan
+        calendarManager.completeLoadAsync().exceptionally(e -> {
+            Platform.runLater(() -> showAlert("Erreur", "Erreur lors du chargement des événements : " + e.getMessage()));
+            return null;
         });
         
-        eventTable.setItems(eventList);
-        
         // Configuration du ComboBox des types d'événements
         eventTypeComboBox.getItems().addAll(
             "RDV_PERSONNEL",
@@ -186,9 +196,6 @@ public class CalendarController {
             // Création de l'événement
             calendarManager.ajouterEvent(type, title, owner, dateTime, duration, place, participants, frequency);
             
-            // Mise à jour de la liste des événements
-            refreshEventList();
-            
             // Réinitialisation des champs
             clearFields();
             
@@ -203,17 +210,16 @@ public class CalendarController {
      */
     @FXML
     private void handleDeleteEvent(ActionEvent event) {
-        Event selectedEvent = eventTable.getSelectionModel().getSelectedItem();
-        if (selectedEvent != null) {
-            calendarManager.supprimerEvent(selectedEvent.getId());
-            refreshEventList();
+        EventRow selectedRow = eventTable.getSelectionModel().getSelectedItem();
+        if (selectedRow != null) {
+            calendarManager.supprimerEvent(selectedRow.getEvent().getId());
         } else {
             showAlert("Information", "Veuillez sélectionner un événement à supprimer.");
         }
     }
     
     /**
-     * Gère l'exportation des événements au format JSON.
+     * Gère l'exportation des événements au format JSON, en tâche de fond.
      * @param event L'événement déclencheur
      */
     @FXML
@@ -226,18 +232,14 @@ public class CalendarController {
         File file = fileChooser.showSaveDialog(null);
         
         if (file != null) {
-            try {
-                List<Event> events = calendarManager.getAllEvents();
-                JsonUtils.saveToFile(events, file);
-                showAlert("Succès", "Les événements ont été exportés avec succès.");
-            } catch (IOException e) {
-                showAlert("Erreur", "Erreur lors de l'exportation des événements: " + e.getMessage());
-            }
+            runTransfer(EventTransfer.exportTask(calendarManager, file),
+                    "Les événements ont été exportés avec succès.",
+                    "Erreur lors de l'exportation des événements: ");
         }
     }
     
     /**
-     * Gère l'importation des événements depuis un fichier JSON.
+     * Gère l'importation des événements depuis un fichier JSON, en tâche de fond.
      * @param event L'événement déclencheur
      */
     @FXML
@@ -250,22 +252,66 @@ public class CalendarController {
         File file = fileChooser.showOpenDialog(null);
         
         if (file != null) {
-            try {
-                // Note: Cette partie est simplifiée car l'importation réelle nécessiterait
-                // de gérer les différents types d'événements et leur désérialisation
-                showAlert("Information", "Fonctionnalité d'importation à implémenter.");
-            } catch (Exception e) {
-                showAlert("Erreur", "Erreur lors de l'importation des événements: " + e.getMessage());
-            }
+            runTransfer(EventTransfer.importTask(calendarManager, file),
+                    "Les événements ont été importés avec succès.",
+                    "Erreur lors de l'importation des événements: ");
         }
     }
     
     /**
-     * Rafraîchit la liste des événements.
+     * Gère l'annulation de l'importation ou de l'exportation en cours.
+     * @param event L'événement déclencheur
      */
-    private void refreshEventList() {
-        eventList.clear();
-        eventList.addAll(calendarManager.getAllEvents());
+    @FXML
+    private void handleCancelTransfer(ActionEvent event) {
+        if (currentTransfer != null) {
+            currentTransfer.cancel();
+        }
+    }
+    
+    /**
+     * Lance une importation ou une exportation en tâche de fond, en affichant sa progression.
+     * Un seul transfert a lieu à la fois.
+     * @param task La tâche à exécuter
+     * @param successMessage Le message affiché quand la tâche réussit
+     * @param errorMessage Le début du message affiché quand la tâche échoue
+     */
+    private void runTransfer(Task<Integer> task, String successMessage, String errorMessage) {
+        if (currentTransfer != null) {
+            showAlert("Information", "Une importation ou une exportation est déjà en cours.");
+            return;
+        }
+        currentTransfer = task;
+        transferLabel.textProperty().bind(task.messageProperty());
+        transferProgress.progressProperty().bind(task.progressProperty());
+        setTransferVisible(true);
+        
+        task.setOnSucceeded(e -> {
+            endTransfer();
+            showAlert("Succès", successMessage);
+        });
+        task.setOnCancelled(e -> endTransfer());
+        task.setOnFailed(e -> {
+            endTransfer();
+            showAlert("Erreur", errorMessage + task.getException().getMessage());
+        });
+        transferExecutor.execute(task);
+    }
+    
+    /**
+     * Masque la progression du transfert terminé.
+     */
+    private void endTransfer() {
+        transferLabel.textProperty().unbind();
+        transferProgress.progressProperty().unbind();
+        setTransferVisible(false);
+        currentTransfer = null;
+    }
+    
+    private void setTransferVisible(boolean visible) {
+        transferLabel.setVisible(visible);
+        transferProgress.setVisible(visible);
+        cancelTransferButton.setVisible(visible);
     }
     
     /**
@@ -0,0 +1,58 @@
+package com.mycalendar.gui;
+
+import com.mycalendar.events.Event;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * Ligne de la table des événements.
+ * Les valeurs des cellules sont créées à la première demande puis conservées : la table virtualisée
+ * ne les demande que pour les lignes affichées, et les demande à nouveau à chaque défilement.
+ */
+public class EventRow {
+    private final Event event;
+    private ReadOnlyStringWrapper title;
+    private ReadOnlyStringWrapper type;
+    private ReadOnlyStringWrapper date;
+    private ReadOnlyStringWrapper owner;
+
+    /**
+     * Constructeur.
+     * @param event L'événement affiché par la ligne
+     */
+    public EventRow(Event event) {
+        this.event = event;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public ObservableValue<String> titleProperty() {
+        if (title == null) {
+            title = new ReadOnlyStringWrapper(event.getTitle().getValue());
+        }
+        return title.getReadOnlyProperty();
+    }
+
+    public ObservableValue<String> typeProperty() {
+        if (type == null) {
+            type = new ReadOnlyStringWrapper(event.getType().toString());
+        }
+        return type.getReadOnlyProperty();
+    }
+
+    public ObservableValue<String> dateProperty() {
+        if (date == null) {
+            date = new ReadOnlyStringWrapper(event.getStartDate().toString());
+        }
+        return date.getReadOnlyProperty();
+    }
+
+    public ObservableValue<String> ownerProperty() {
+        if (owner == null) {
+            owner = new ReadOnlyStringWrapper(event.getOwner().getValue());
+        }
+        return owner.getReadOnlyProperty();
+    }
+}
@@ -0,0 +1,190 @@
+package com.mycalendar.gui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.mycalendar.CalendarListener;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.EventId;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Modèle de la table des événements, tenu à jour ligne par ligne à partir des notifications du calendrier.
+ * Les lignes restent triées comme {@code CalendarManager.getAllEvents()} : les événements ponctuels
+ * dans l'ordre chronologique, puis les événements récurrents.
+ *
+ * Les notifications peuvent venir de n'importe quel thread : elles sont mises en file et appliquées
+ * par lots sur le thread de l'interface. Un petit lot insère ou retire chaque ligne à sa place ;
+ * un gros lot, comme un import, reconstruit la liste en une seule fusion et un seul changement.
+ */
+public class EventTableModel implements CalendarListener {
+    private static final Comparator<EventRow> DISPLAY_ORDER = Comparator
+            .comparing((EventRow row) -> row.getEvent().isRecurring())
+            .thenComparing(row -> row.getEvent().getStartDate())
+            .thenComparing(row -> row.getEvent().getId().getValue());
+    private static final int REBUILD_THRESHOLD = 64;
+
+    private final Executor uiThread;
+    private final ObservableList<EventRow> rows;
+    private final Map<EventId, EventRow> rowsById;
+    private final Queue<Change> pending;
+    private final AtomicBoolean drainScheduled;
+
+    /**
+     * Constructeur.
+     * @param uiThread L'exécution sur le thread de l'interface, {@code Platform::runLater} pour JavaFX
+     */
+    public EventTableModel(Executor uiThread) {
+        this.uiThread = uiThread;
+        this.rows = FXCollections.observableArrayList();
+        this.rowsById = new HashMap<>();
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.drainScheduled = new AtomicBoolean();
+    }
+
+    /**
+     * Retourne les lignes de la table, à ne modifier que par ce modèle.
+     * @return La liste observable des lignes
+     */
+    public ObservableList<EventRow> getRows() {
+        return rows;
+    }
+
+    @Override
+    public void eventAdded(Event event) {
+        enqueue(new Change(ChangeType.ADD, event));
+    }
+
+    @Override
+    public void eventRemoved(Event event) {
+        enqueue(new Change(ChangeType.REMOVE, event));
+    }
+
+    @Override
+    public void calendarCleared() {
+        enqueue(new Change(ChangeType.CLEAR, null));
+    }
+
+    private void enqueue(Change change) {
+        pending.add(change);
+        if (drainScheduled.compareAndSet(false, true)) {
+            uiThread.execute(this::drain);
+        }
+    }
+
+    /**
+     * Applique les modifications en attente. Exécuté sur le thread de l'interface.
+     */
+    private void drain() {
+        // Remis à faux avant de vider la file : une notification arrivée pendant le vidage planifie un nouveau passage
+        drainScheduled.set(false);
+        List<Change> batch = new ArrayList<>();
+        for (Change change = pending.poll(); change != null; change = pending.poll()) {
+            batch.add(change);
+        }
+        if (batch.size() > REBUILD_THRESHOLD) {
+            rebuild(batch);
+        } else {
+            batch.forEach(this::apply);
+        }
+    }
+
+    private void apply(Change change) {
+        switch (change.type) {
+            case ADD:
+                EventRow row = new EventRow(change.event);
+                EventRow previous = rowsById.put(change.event.getId(), row);
+                if (previous != null) {
+                    removeRow(previous);
+                }
+                int index = Collections.binarySearch(rows, row, DISPLAY_ORDER);
+                rows.add(index < 0 ? -index - 1 : index, row);
+                break;
+            case REMOVE:
+                EventRow removed = rowsById.remove(change.event.getId());
+                if (removed != null) {
+                    removeRow(removed);
+                }
+                break;
+            default:
+                rowsById.clear();
+                rows.clear();
+        }
+    }
+
+    private void removeRow(EventRow row) {
+        int index = Collections.binarySearch(rows, row, DISPLAY_ORDER);
+        if (index >= 0) {
+            rows.remove(index);
+        }
+    }
+
+    /**
+     * Applique un gros lot en O(n + k log k) : les lignes conservées, déjà triées,
+     * sont fusionnées avec les nouvelles lignes triées, puis la liste est remplacée d'un coup.
+     */
+    private void rebuild(List<Change> batch) {
+        List<EventRow> added = new ArrayList<>();
+        for (Change change : batch) {
+            switch (change.type) {
+                case ADD:
+                    EventRow row = new EventRow(change.event);
+                    rowsById.put(change.event.getId(), row);
+                    added.add(row);
+                    break;
+                case REMOVE:
+                    rowsById.remove(change.event.getId());
+                    break;
+                default:
+                    rowsById.clear();
+                    added.clear();
+            }
+        }
+        List<EventRow> kept = new ArrayList<>(rows.size());
+        for (EventRow row : rows) {
+            if (rowsById.get(row.getEvent().getId()) == row) {
+                kept.add(row);
+            }
+        }
+        List<EventRow> fresh = new ArrayList<>(added.size());
+        for (EventRow row : added) {
+            if (rowsById.get(row.getEvent().getId()) == row) {
+                fresh.add(row);
+            }
+        }
+        fresh.sort(DISPLAY_ORDER);
+
+        List<EventRow> merged = new ArrayList<>(kept.size() + fresh.size());
+        int i = 0;
+        int j = 0;
+        while (i < kept.size() && j < fresh.size()) {
+            merged.add(DISPLAY_ORDER.compare(kept.get(i), fresh.get(j)) <= 0 ? kept.get(i++) : fresh.get(j++));
+        }
+        merged.addAll(kept.subList(i, kept.size()));
+        merged.addAll(fresh.subList(j, fresh.size()));
+        rows.setAll(merged);
+    }
+
+    private enum ChangeType {
+        ADD, REMOVE, CLEAR
+    }
+
+    private static final class Change {
+        private final ChangeType type;
+        private final Event event;
+
+        Change(ChangeType type, Event event) {
+            this.type = type;
+            this.event = event;
+        }
+    }
+}
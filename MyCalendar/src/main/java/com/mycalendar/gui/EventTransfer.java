@@ -0,0 +1,145 @@
+package com.mycalendar.gui;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.Event;
+import com.mycalendar.json.EventJsonReader;
+import com.mycalendar.json.EventJsonWriter;
+import com.mycalendar.json.JsonUtils;
+import com.mycalendar.persistence.AtomicFile;
+import javafx.concurrent.Task;
+
+/**
+ * Import et export des événements au format JSON, exécutés en tâche de fond.
+ * Les fichiers sont lus et écrits en flux, un événement à la fois ; la progression est signalée
+ * régulièrement et l'annulation est vérifiée entre deux événements.
+ *
+ * Un import est tout ou rien : les événements lus ne sont ajoutés au calendrier qu'à la fin
+ * de la lecture, en un seul lot, donc avec une seule sauvegarde. Un export annulé ou en échec
+ * ne laisse pas de fichier à moitié écrit.
+ */
+public final class EventTransfer {
+    private static final int PROGRESS_INTERVAL = 256;
+
+    private EventTransfer() {
+    }
+
+    /**
+     * Reçoit l'avancement d'un transfert.
+     */
+    @FunctionalInterface
+    public interface Progress {
+        void update(long done, long total);
+    }
+
+    /**
+     * Crée la tâche important les événements d'un fichier JSON dans le calendrier.
+     * @param calendarManager Le calendrier où ajouter les événements
+     * @param file Le fichier à importer
+     * @return La tâche, dont la valeur est le nombre d'événements importés
+     */
+    public static Task<Integer> importTask(CalendarManager calendarManager, File file) {
+        return new Task<>() {
+            @Override
+            protected Integer call() throws IOException {
+                updateMessage("Importation de " + file.getName() + "…");
+                return importEvents(calendarManager, file, this::updateProgress, this::isCancelled);
+            }
+        };
+    }
+
+    /**
+     * Crée la tâche exportant les événements du calendrier dans un fichier JSON.
+     * Les événements exportés sont ceux du calendrier au démarrage de la tâche.
+     * @param calendarManager Le calendrier à exporter
+     * @param file Le fichier à écrire
+     * @return La tâche, dont la valeur est le nombre d'événements exportés
+     */
+    public static Task<Integer> exportTask(CalendarManager calendarManager, File file) {
+        return new Task<>() {
+            @Override
+            protected Integer call() throws IOException {
+                updateMessage("Exportation vers " + file.getName() + "…");
+                return exportEvents(calendarManager.getAllEvents(), file, this::updateProgress, this::isCancelled);
+            }
+        };
+    }
+
+    /**
+     * Lit les événements d'un fichier JSON puis les ajoute au calendrier en un seul lot.
+     * La progression est mesurée en octets lus.
+     * @param calendarManager Le calendrier où ajouter les événements
+     * @param file Le fichier à importer
+     * @param progress Reçoit l'avancement de la lecture
+     * @param cancelled Indique si l'import doit être abandonné
+     * @return Le nombre d'événements importés, 0 si l'import a été abandonné
+     * @throws IOException En cas d'erreur lors de la lecture
+     */
+    public static int importEvents(CalendarManager calendarManager, File file, Progress progress,
+                                   BooleanSupplier cancelled) throws IOException {
+        long length = file.length();
+        List<Event> imported = new ArrayList<>();
+        try (EventJsonReader reader = JsonUtils.openReader(file)) {
+            while (reader.hasNext()) {
+                imported.add(reader.next());
+                if (imported.size() % PROGRESS_INTERVAL == 0) {
+                    if (cancelled.getAsBoolean()) {
+                        return 0;
+                    }
+                    progress.update(reader.getBytesRead(), length);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (cancelled.getAsBoolean()) {
+            return 0;
+        }
+        calendarManager.ajouterEvents(imported);
+        progress.update(length, length);
+        return imported.size();
+    }
+
+    /**
+     * Écrit des événements dans un fichier JSON. Le fichier est remplacé d'un coup (voir {@link AtomicFile}) :
+     * en cas d'annulation ou d'erreur, le fichier de destination reste inchangé.
+     * @param events Les événements à exporter
+     * @param file Le fichier à écrire
+     * @param progress Reçoit l'avancement de l'écriture, en nombre d'événements
+     * @param cancelled Indique si l'export doit être abandonné
+     * @return Le nombre d'événements exportés, 0 si l'export a été abandonné
+     * @throws IOException En cas d'erreur lors de l'écriture
+     */
+    public static int exportEvents(List<Event> events, File file, Progress progress,
+                                   BooleanSupplier cancelled) throws IOException {
+        try {
+            AtomicFile.write(file, tempFile -> {
+                try (EventJsonWriter writer = JsonUtils.openWriter(tempFile)) {
+                    for (int i = 0; i < events.size(); i++) {
+                        if (i % PROGRESS_INTERVAL == 0) {
+                            if (cancelled.getAsBoolean()) {
+                                throw new CancellationException();
+                            }
+                            progress.update(i, events.size());
+                        }
+                        writer.write(events.get(i));
+                    }
+                }
+                if (cancelled.getAsBoolean()) {
+                    throw new CancellationException();
+                }
+            });
+        } catch (CancellationException e) {
+            return 0;
+        }
+        progress.update(events.size(), events.size());
+        return events.size();
+    }
+}
@@ -0,0 +1,64 @@
+package com.mycalendar.index;
+
+/**
+ * Value Object représentant les compteurs d'un cache de requêtes à un instant donné.
+ * Cette classe est immuable.
+ */
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+    private final int size;
+
+    public CacheStats(long hits, long misses, long evictions, long invalidations, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Retourne le nombre d'entrées écartées parce que le cache était plein.
+     * @return Le nombre d'évictions
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Retourne le nombre d'entrées retirées parce qu'une modification touchait leur période.
+     * @return Le nombre d'invalidations
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Retourne la proportion des requêtes servies par le cache.
+     * @return Le taux de succès, entre 0 et 1, ou 0 si aucune requête n'a eu lieu
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "succès=" + hits + ", échecs=" + misses + ", évictions=" + evictions
+                + ", invalidations=" + invalidations + ", taille=" + size;
+    }
+}
@@ -0,0 +1,68 @@
+package com.mycalendar.index;
+
+import java.util.Objects;
+
+import com.mycalendar.events.Event;
+
+/**
+ * Value Object représentant une paire d'événements en conflit.
+ * La paire n'est pas ordonnée : (a, b) est égale à (b, a).
+ * Cette classe est immuable.
+ */
+public class EventConflict {
+    private final Event first;
+    private final Event second;
+
+    public EventConflict(Event first, Event second) {
+        this.first = Objects.requireNonNull(first, "Le premier événement ne peut pas être nul");
+        this.second = Objects.requireNonNull(second, "Le second événement ne peut pas être nul");
+    }
+
+    /**
+     * Règle unique des conflits : deux événements distincts sont en conflit si chacun est en conflit
+     * avec l'autre selon {@link Event#conflictsWith(Event)}. Un événement qui ne crée pas de conflit
+     * (tâche, rappel, événement périodique) n'est donc en conflit avec aucun autre, dans un sens comme dans l'autre.
+     * @param a Le premier événement
+     * @param b Le second événement
+     * @return true si les deux événements sont en conflit
+     */
+    public static boolean inConflict(Event a, Event b) {
+        return !a.equals(b) && a.conflictsWith(b) && b.conflictsWith(a);
+    }
+
+    public Event getFirst() {
+        return first;
+    }
+
+    public Event getSecond() {
+        return second;
+    }
+
+    /**
+     * Vérifie si l'événement fait partie de la paire.
+     * @param event L'événement à vérifier
+     * @return true si l'événement est l'un des deux membres de la paire
+     */
+    public boolean involves(Event event) {
+        return first.equals(event) || second.equals(event);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EventConflict that = (EventConflict) o;
+        return (first.equals(that.first) && second.equals(that.second))
+                || (first.equals(that.second) && second.equals(that.first));
+    }
+
+    @Override
+    public int hashCode() {
+        return first.hashCode() ^ second.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return first.getTitle() + " <-> " + second.getTitle();
+    }
+}
@@ -0,0 +1,328 @@
+package com.mycalendar.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import com.mycalendar.events.DateEvent;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.Occurrence;
+
+/**
+ * Index temporel des événements, ordonné par date de début.
+ * Les événements ponctuels sont rangés par date de début, ce qui permet de répondre
+ * à une requête de période en O(log n + k). Les événements récurrents sont tenus à part :
+ * une de leurs occurrences peut tomber bien après leur date de début.
+ * La durée maximale indexée borne la recherche des conflits ; elle n'est jamais revue
+ * à la baisse lors d'un retrait, ce qui reste correct (la fenêtre est seulement plus large).
+ *
+ * L'index est sûr en accès concurrent et les lectures ne prennent aucun verrou. Chaque événement
+ * est une entrée distincte d'une liste à enjambements triée par (date de début, identifiant) :
+ * un ajout ou un retrait se fait en une seule opération atomique, visible d'un coup par les lectures.
+ * Les parcours sont faiblement cohérents : ils reflètent chaque modification en entier ou pas du tout.
+ */
+public class EventTimeIndex {
+    /**
+     * Ordre des événements dans l'index : les ponctuels puis les récurrents, chacun par date de début
+     * puis par identifiant. C'est l'ordre des résultats de {@link #between(DateEvent, DateEvent)}.
+     */
+    public static final Comparator<Event> INDEX_ORDER = Comparator
+            .comparing(Event::isRecurring)
+            .thenComparing(Event::getStartDate)
+            .thenComparing(event -> event.getId().getValue());
+
+    private final NavigableMap<Key, Event> oneOffEvents;
+    private final NavigableMap<Key, Event> recurringEvents;
+    private final AtomicLong maxDurationMinutes;
+    private final AtomicInteger size;
+
+    public EventTimeIndex() {
+        this.oneOffEvents = new ConcurrentSkipListMap<>();
+        this.recurringEvents = new ConcurrentSkipListMap<>();
+        this.maxDurationMinutes = new AtomicLong();
+        this.size = new AtomicInteger();
+    }
+
+    /**
+     * Indexe un événement, en remplaçant celui de même identifiant et de même date de début.
+     * @param event L'événement à indexer
+     */
+    public void add(Event event) {
+        // La borne est relevée avant l'insertion : une lecture qui voit l'événement voit aussi sa durée
+        maxDurationMinutes.accumulateAndGet(event.getDuration().getMinutes(), Math::max);
+        if (entriesFor(event).put(Key.of(event), event) == null) {
+            size.incrementAndGet();
+        }
+    }
+
+    /**
+     * Indexe un lot d'événements. Le lot est d'abord trié dans l'ordre de l'index puis inséré
+     * dans cet ordre : chaque insertion reprend près de la précédente dans la liste à enjambements,
+     * ce qui coûte bien moins que des insertions dans le désordre. Chaque événement devient visible
+     * séparément, comme avec {@link #add(Event)}.
+     * @param events Les événements à indexer
+     */
+    public void addAll(Collection<? extends Event> events) {
+        List<Event> sorted = new ArrayList<>(events);
+        sorted.sort(INDEX_ORDER);
+        long maxDuration = 0;
+        for (Event event : sorted) {
+            maxDuration = Math.max(maxDuration, event.getDuration().getMinutes());
+        }
+        maxDurationMinutes.accumulateAndGet(maxDuration, Math::max);
+        int added = 0;
+        for (Event event : sorted) {
+            if (entriesFor(event).put(Key.of(event), event) == null) {
+                added++;
+            }
+        }
+        size.addAndGet(added);
+    }
+
+    /**
+     * Remplace un événement indexé par une nouvelle version de même identifiant.
+     * Si la date de début est inchangée, le remplacement est atomique ; sinon la nouvelle version
+     * est indexée avant le retrait de l'ancienne, de sorte qu'une lecture concurrente voit
+     * au moins l'une des deux.
+     * @param previous L'ancienne version de l'événement
+     * @param event La nouvelle version
+     */
+    public void replace(Event previous, Event event) {
+        add(event);
+        if (entriesFor(previous) != entriesFor(event) || !Key.of(previous).equals(Key.of(event))) {
+            remove(previous);
+        }
+    }
+
+    /**
+     * Retire un événement de l'index.
+     * @param event L'événement à retirer
+     * @return true si l'événement était indexé, false sinon
+     */
+    public boolean remove(Event event) {
+        if (entriesFor(event).remove(Key.of(event)) == null) {
+            return false;
+        }
+        size.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Retourne les événements qui se produisent dans la période, dans l'ordre chronologique
+     * de leur date de début.
+     * @param debut La date de début de la période (incluse)
+     * @param fin La date de fin de la période (incluse)
+     * @return La liste des événements dans la période
+     */
+    public List<Event> between(DateEvent debut, DateEvent fin) {
+        List<Event> result = new ArrayList<>();
+        if (fin.isBefore(debut)) {
+            return result;
+        }
+        result.addAll(oneOffEvents.subMap(Key.lowerBound(debut), true, Key.upperBound(fin), true).values());
+        for (Event event : recurringEvents.headMap(Key.upperBound(fin), true).values()) {
+            if (event.occursInPeriod(debut, fin)) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retourne les événements, ponctuels ou récurrents, dont la date de début tombe dans la période,
+     * quelle que soit la date de leurs répétitions : les ponctuels dans l'ordre chronologique, puis les récurrents.
+     * @param debut La date de début de la période (incluse)
+     * @param fin La date de fin de la période (exclue)
+     * @return La liste des événements commençant dans la période
+     */
+    public List<Event> startingBetween(DateEvent debut, DateEvent fin) {
+        List<Event> result = new ArrayList<>();
+        if (!debut.isBefore(fin)) {
+            return result;
+        }
+        result.addAll(oneOffEvents.subMap(Key.lowerBound(debut), true, Key.lowerBound(fin), false).values());
+        result.addAll(recurringEvents.subMap(Key.lowerBound(debut), true, Key.lowerBound(fin), false).values());
+        return result;
+    }
+
+    /**
+     * Retourne les occurrences de la période dans l'ordre chronologique : les événements ponctuels
+     * et chacune des répétitions des événements récurrents. Le flux est paresseux : rien n'est lu
+     * avant l'opération terminale, et seules les occurrences consommées sont calculées,
+     * si bien qu'un {@code limit(n)} reste peu coûteux même sur une très longue période.
+     * @param debut La date de début de la période (incluse)
+     * @param fin La date de fin de la période (incluse)
+     * @return Le flux des occurrences de la période
+     */
+    public Stream<Occurrence> occurrences(DateEvent debut, DateEvent fin) {
+        if (fin.isBefore(debut)) {
+            return Stream.empty();
+        }
+        return OccurrenceMerger.merge(
+                oneOffEvents.subMap(Key.lowerBound(debut), true, Key.upperBound(fin), true).values(),
+                recurringEvents.headMap(Key.upperBound(fin), true).values(),
+                debut, fin);
+    }
+
+    /**
+     * Retourne les événements ponctuels dont l'intervalle peut chevaucher celui de l'événement donné.
+     * Le résultat est un sur-ensemble des conflits : il reste à le filtrer avec {@link EventConflict#inConflict(Event, Event)}.
+     * Les événements récurrents n'en font pas partie puisqu'ils ne sont jamais en conflit.
+     * @param event L'événement de référence
+     * @return Les candidats au conflit
+     */
+    public List<Event> overlapCandidates(Event event) {
+        return new ArrayList<>(candidates(event.getStartDate(), event.getEndDate()));
+    }
+
+    /**
+     * Retourne les événements ponctuels de durée non nulle dont l'intervalle chevauche la période,
+     * dans l'ordre chronologique de leur date de début. Un événement qui se termine exactement
+     * au début de la période, ou commence exactement à sa fin, n'en fait pas partie.
+     * @param start Le début de la période (inclus)
+     * @param end La fin de la période (exclue)
+     * @return Les événements qui occupent une partie de la période
+     */
+    public List<Event> overlapping(DateEvent start, DateEvent end) {
+        List<Event> result = new ArrayList<>();
+        for (Event event : candidates(start, end)) {
+            if (event.getEndDate().isAfter(start) && event.getEndDate().isAfter(event.getStartDate())) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    private Collection<Event> candidates(DateEvent start, DateEvent end) {
+        // Un événement indexé ne peut chevaucher [start, end[ que s'il commence avant end
+        // et moins de maxDurationMinutes avant start
+        DateEvent lowerBound = new DateEvent(start.getDateTime().minusMinutes(maxDurationMinutes.get()));
+        if (!lowerBound.isBefore(end)) {
+            return Collections.emptyList();
+        }
+        return oneOffEvents.subMap(Key.upperBound(lowerBound), false, Key.lowerBound(end), false).values();
+    }
+
+    /**
+     * Retourne toutes les paires d'événements en conflit, par balayage des événements ponctuels
+     * dans l'ordre de leur date de début : O(n log n + k) au lieu de O(n²).
+     * Les paires sont retenues selon {@link EventConflict#inConflict(Event, Event)},
+     * ce qui conserve la règle selon laquelle deux événements qui se touchent ne sont pas en conflit.
+     * @return La liste des conflits, triée par date de début du second événement de chaque paire
+     */
+    public List<EventConflict> allConflicts() {
+        List<EventConflict> conflicts = new ArrayList<>();
+        PriorityQueue<Event> active = new PriorityQueue<>(Comparator.comparing(Event::getEndDate));
+        for (Event event : oneOffEvents.values()) {
+            DateEvent start = event.getStartDate();
+            // Les événements terminés au plus tard au début de celui-ci ne peuvent plus le chevaucher
+            while (!active.isEmpty() && !active.peek().getEndDate().isAfter(start)) {
+                active.poll();
+            }
+            for (Event other : active) {
+                if (EventConflict.inConflict(other, event)) {
+                    conflicts.add(new EventConflict(other, event));
+                }
+            }
+            active.add(event);
+        }
+        return conflicts;
+    }
+
+    /**
+     * Retourne tous les événements indexés : les ponctuels dans l'ordre chronologique, puis les récurrents.
+     * @return La liste des événements
+     */
+    public List<Event> all() {
+        List<Event> result = new ArrayList<>(oneOffEvents.values());
+        result.addAll(recurringEvents.values());
+        return result;
+    }
+
+    /**
+     * Vide l'index.
+     */
+    public void clear() {
+        oneOffEvents.clear();
+        recurringEvents.clear();
+        maxDurationMinutes.set(0);
+        size.set(0);
+    }
+
+    /**
+     * Retourne le nombre d'événements indexés.
+     * @return Le nombre d'événements
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private NavigableMap<Key, Event> entriesFor(Event event) {
+        return event.isRecurring() ? recurringEvents : oneOffEvents;
+    }
+
+    /**
+     * Clé d'une entrée de l'index : la date de début, départagée par l'identifiant.
+     * Les bornes de recherche n'ont pas d'identifiant et se placent avant ou après
+     * toutes les entrées de même date.
+     */
+    private static final class Key implements Comparable<Key> {
+        private static final int LOWER_BOUND = -1;
+        private static final int ENTRY = 0;
+        private static final int UPPER_BOUND = 1;
+
+        private final DateEvent start;
+        private final String id;
+        private final int rank;
+
+        private Key(DateEvent start, String id, int rank) {
+            this.start = start;
+            this.id = id;
+            this.rank = rank;
+        }
+
+        static Key of(Event event) {
+            return new Key(event.getStartDate(), event.getId().getValue(), ENTRY);
+        }
+
+        static Key lowerBound(DateEvent date) {
+            return new Key(date, null, LOWER_BOUND);
+        }
+
+        static Key upperBound(DateEvent date) {
+            return new Key(date, null, UPPER_BOUND);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byStart = start.compareTo(other.start);
+            if (byStart != 0) {
+                return byStart;
+            }
+            if (rank != ENTRY || other.rank != ENTRY) {
+                return Integer.compare(rank, other.rank);
+            }
+            return id.compareTo(other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            return compareTo((Key) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return start.hashCode() * 31 + (id == null ? rank : id.hashCode());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.mycalendar.index;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.mycalendar.events.DateEvent;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.Occurrence;
+
+/**
+ * Fusion paresseuse de plusieurs suites d'occurrences déjà triées par date de début.
+ * Seule la tête de chaque suite est calculée d'avance : consommer k occurrences
+ * parmi s suites coûte O(s log s + k log s), quelle que soit la longueur des suites.
+ */
+public final class OccurrenceMerger implements Iterator<Occurrence> {
+    private final PriorityQueue<Source> heads = new PriorityQueue<>();
+
+    private OccurrenceMerger() {
+    }
+
+    /**
+     * Retourne les occurrences de la période dans l'ordre chronologique. Les événements ne sont
+     * parcourus qu'à l'opération terminale, et les répétitions des événements récurrents
+     * ne sont calculées qu'à mesure qu'elles sont consommées.
+     * @param oneOffEvents Les événements ponctuels de la période, triés par date de début
+     * @param recurringEvents Les événements récurrents susceptibles de se produire dans la période
+     * @param debut La date de début de la période (incluse)
+     * @param fin La date de fin de la période (incluse)
+     * @return Le flux paresseux des occurrences
+     */
+    public static Stream<Occurrence> merge(Iterable<Event> oneOffEvents, Iterable<Event> recurringEvents,
+                                           DateEvent debut, DateEvent fin) {
+        int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+        return StreamSupport.stream(() -> {
+            OccurrenceMerger merger = new OccurrenceMerger();
+            if (!fin.isBefore(debut)) {
+                merger.add(StreamSupport.stream(oneOffEvents.spliterator(), false)
+                        .map(event -> new Occurrence(event, event.getStartDate()))
+                        .iterator());
+                for (Event event : recurringEvents) {
+                    merger.add(event.occurrencesBetween(debut, fin)
+                            .map(start -> new Occurrence(event, start))
+                            .iterator());
+                }
+            }
+            return Spliterators.spliteratorUnknownSize(merger, characteristics);
+        }, characteristics, false);
+    }
+
+    private void add(Iterator<Occurrence> occurrences) {
+        if (occurrences.hasNext()) {
+            heads.add(new Source(occurrences));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public Occurrence next() {
+        Source source = heads.poll();
+        if (source == null) {
+            throw new NoSuchElementException();
+        }
+        Occurrence occurrence = source.head;
+        if (source.rest.hasNext()) {
+            source.head = source.rest.next();
+            heads.add(source);
+        }
+        return occurrence;
+    }
+
+    private static final class Source implements Comparable<Source> {
+        private final Iterator<Occurrence> rest;
+        private Occurrence head;
+
+        Source(Iterator<Occurrence> occurrences) {
+            this.rest = occurrences;
+            this.head = occurrences.next();
+        }
+
+        @Override
+        public int compareTo(Source other) {
+            return head.compareTo(other.head);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.mycalendar.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import com.mycalendar.events.DateEvent;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.Occurrence;
+
+/**
+ * Index des événements partitionné par utilisateur : chaque événement est rangé dans l'index
+ * temporel de son propriétaire et dans celui de chacun de ses participants.
+ * Une requête pour un utilisateur ne parcourt ainsi que ses propres événements,
+ * quel que soit le nombre d'utilisateurs du calendrier.
+ *
+ * Les noms sont comparés sans tenir compte des espaces autour ni de la casse.
+ * Comme {@link EventTimeIndex}, l'index se lit sans verrou ; les modifications d'un même
+ * événement doivent être sérialisées par l'appelant. Une partition vidée est conservée,
+ * pour qu'un ajout concurrent ne risque pas de viser une partition déjà retirée.
+ */
+public class PartitionedEventIndex {
+    private final ConcurrentMap<String, EventTimeIndex> partitions;
+
+    public PartitionedEventIndex() {
+        this.partitions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Indexe un événement dans la partition de chacun des utilisateurs concernés.
+     * @param event L'événement à indexer
+     */
+    public void add(Event event) {
+        for (String user : usersOf(event)) {
+            partitions.computeIfAbsent(user, key -> new EventTimeIndex()).add(event);
+        }
+    }
+
+    /**
+     * Indexe un lot d'événements : le lot est réparti par utilisateur,
+     * puis chaque partition reçoit sa part en une seule fois.
+     * @param events Les événements à indexer
+     */
+    public void addAll(Collection<? extends Event> events) {
+        Map<String, List<Event>> byUser = new HashMap<>();
+        for (Event event : events) {
+            for (String user : usersOf(event)) {
+                byUser.computeIfAbsent(user, key -> new ArrayList<>()).add(event);
+            }
+        }
+        byUser.forEach((user, userEvents) ->
+                partitions.computeIfAbsent(user, key -> new EventTimeIndex()).addAll(userEvents));
+    }
+
+    /**
+     * Remplace un événement indexé par une nouvelle version de même identifiant.
+     * Les partitions des utilisateurs qui ne sont plus concernés perdent l'événement,
+     * celles des nouveaux utilisateurs le gagnent.
+     * @param previous L'ancienne version de l'événement
+     * @param event La nouvelle version
+     */
+    public void replace(Event previous, Event event) {
+        Set<String> before = usersOf(previous);
+        Set<String> after = usersOf(event);
+        for (String user : after) {
+            EventTimeIndex partition = partitions.computeIfAbsent(user, key -> new EventTimeIndex());
+            if (before.contains(user)) {
+                partition.replace(previous, event);
+            } else {
+                partition.add(event);
+            }
+        }
+        for (String user : before) {
+            if (!after.contains(user)) {
+                remove(user, previous);
+            }
+        }
+    }
+
+    /**
+     * Retire un événement de toutes les partitions où il figure.
+     * @param event L'événement à retirer
+     */
+    public void remove(Event event) {
+        for (String user : usersOf(event)) {
+            remove(user, event);
+        }
+    }
+
+    private void remove(String user, Event event) {
+        EventTimeIndex partition = partitions.get(user);
+        if (partition != null) {
+            partition.remove(event);
+        }
+    }
+
+    /**
+     * Retourne les événements d'un utilisateur qui se produisent dans la période,
+     * dans l'ordre chronologique de leur date de début.
+     * @param user Le nom de l'utilisateur, propriétaire ou participant
+     * @param debut La date de début de la période (incluse)
+     * @param fin La date de fin de la période (incluse)
+     * @return La liste des événements de l'utilisateur dans la période
+     */
+    public List<Event> between(String user, DateEvent debut, DateEvent fin) {
+        EventTimeIndex partition = partitions.get(key(user));
+        return partition == null ? new ArrayList<>() : partition.between(debut, fin);
+    }
+
+    /**
+     * Retourne les occurrences des événements d'un utilisateur dans la période,
+     * comme {@link EventTimeIndex#occurrences(DateEvent, DateEvent)}.
+     * @param user Le nom de l'utilisateur, propriétaire ou participant
+     * @param debut La date de début de la période (incluse)
+     * @param fin La date de fin de la période (incluse)
+     * @return Le flux paresseux des occurrences de l'utilisateur
+     */
+    public Stream<Occurrence> occurrences(String user, DateEvent debut, DateEvent fin) {
+        EventTimeIndex partition = partitions.get(key(user));
+        return partition == null ? Stream.empty() : partition.occurrences(debut, fin);
+    }
+
+    /**
+     * Retourne les événements d'un utilisateur dont l'intervalle peut chevaucher celui de l'événement donné.
+     * Comme pour {@link EventTimeIndex#overlapCandidates(Event)}, il reste à filtrer le résultat.
+     * @param user Le nom de l'utilisateur, propriétaire ou participant
+     * @param event L'événement de référence
+     * @return Les candidats au conflit dans l'agenda de l'utilisateur
+     */
+    public List<Event> overlapCandidates(String user, Event event) {
+        EventTimeIndex partition = partitions.get(key(user));
+        return partition == null ? new ArrayList<>() : partition.overlapCandidates(event);
+    }
+
+    /**
+     * Retourne les événements d'un utilisateur qui occupent une partie de la période,
+     * comme {@link EventTimeIndex#overlapping(DateEvent, DateEvent)}.
+     * @param user Le nom de l'utilisateur, propriétaire ou participant
+     * @param start Le début de la période (inclus)
+     * @param end La fin de la période (exclue)
+     * @return Les événements de l'utilisateur qui occupent la période
+     */
+    public List<Event> overlapping(String user, DateEvent start, DateEvent end) {
+        EventTimeIndex partition = partitions.get(key(user));
+        return partition == null ? new ArrayList<>() : partition.overlapping(start, end);
+    }
+
+    /**
+     * Retourne toutes les paires d'événements en conflit dans l'agenda d'un utilisateur.
+     * @param user Le nom de l'utilisateur, propriétaire ou participant
+     * @return La liste des conflits de l'utilisateur
+     */
+    public List<EventConflict> allConflicts(String user) {
+        EventTimeIndex partition = partitions.get(key(user));
+        return partition == null ? new ArrayList<>() : partition.allConflicts();
+    }
+
+    /**
+     * Retourne le nombre d'événements indexés pour un utilisateur.
+     * @param user Le nom de l'utilisateur
+     * @return Le nombre d'événements de l'utilisateur
+     */
+    public int size(String user) {
+        EventTimeIndex partition = partitions.get(key(user));
+        return partition == null ? 0 : partition.size();
+    }
+
+    /**
+     * Vide l'index.
+     */
+    public void clear() {
+        partitions.clear();
+    }
+
+    /**
+     * Retourne les clés des partitions concernées par un événement : son propriétaire
+     * puis ses participants, sans doublon.
+     * @param event L'événement
+     * @return Les noms normalisés des utilisateurs concernés
+     */
+    public static Set<String> usersOf(Event event) {
+        Set<String> users = new LinkedHashSet<>();
+        users.add(key(event.getOwner().getValue()));
+        for (String participant : event.getParticipantNames()) {
+            users.add(key(participant));
+        }
+        return users;
+    }
+
+    /**
+     * Normalise un nom d'utilisateur en clé de partition.
+     * @param user Le nom de l'utilisateur
+     * @return Le nom sans espaces autour et en minuscules
+     */
+    public static String key(String user) {
+        return user.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,162 @@
+package com.mycalendar.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.mycalendar.CalendarListener;
+import com.mycalendar.events.DateEvent;
+import com.mycalendar.events.Event;
+
+/**
+ * Cache LRU des résultats de requêtes de période, indexé par (utilisateur, début, fin).
+ * Enregistré comme observateur du calendrier, il retire exactement les entrées dont le résultat
+ * change : celles dont la période contient une occurrence de l'événement ajouté ou retiré,
+ * et, pour une requête limitée à un utilisateur, seulement si l'événement le concerne.
+ *
+ * Un résultat calculé pendant une modification n'est pas mis en cache, car il peut précéder
+ * l'invalidation qui l'aurait retiré : chaque modification fait avancer une génération,
+ * et un résultat n'est conservé que si la génération n'a pas changé pendant son calcul.
+ */
+public class RangeQueryCache implements CalendarListener {
+    private static final int BATCH_INVALIDATION_LIMIT = 64;
+
+    private final LinkedHashMap<Key, List<Event>> entries;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Constructeur.
+     * @param capacity Le nombre maximal de résultats conservés
+     */
+    public RangeQueryCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacité du cache doit être positive");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<Event>> eldest) {
+                if (size() > capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retourne le résultat en cache de la requête, ou l'obtient de la requête et le conserve.
+     * La requête est exécutée hors du verrou du cache.
+     * @param user Le nom de l'utilisateur, ou null pour une requête sur tout le calendrier
+     * @param debut La date de début de la période (incluse)
+     * @param fin La date de fin de la période (incluse)
+     * @param query La requête à exécuter en cas d'absence
+     * @return Une copie du résultat, que l'appelant peut modifier
+     */
+    public List<Event> get(String user, DateEvent debut, DateEvent fin, Supplier<List<Event>> query) {
+        Key key = new Key(user == null ? null : PartitionedEventIndex.key(user), debut, fin);
+        long generationSeen;
+        synchronized (this) {
+            List<Event> cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return new ArrayList<>(cached);
+            }
+            misses++;
+            generationSeen = generation;
+        }
+        List<Event> result = query.get();
+        synchronized (this) {
+            if (generation == generationSeen) {
+                entries.put(key, new ArrayList<>(result));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retourne les compteurs du cache.
+     * @return Un instantané des compteurs
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, invalidations, entries.size());
+    }
+
+    @Override
+    public void eventAdded(Event event) {
+        invalidate(event);
+    }
+
+    /**
+     * Un petit lot est invalidé événement par événement ; un gros lot touche en pratique
+     * toutes les périodes en cache, qui sont alors toutes retirées sans les examiner.
+     */
+    @Override
+    public synchronized void eventsAdded(Collection<Event> events) {
+        if (events.size() > BATCH_INVALIDATION_LIMIT) {
+            calendarCleared();
+        } else {
+            events.forEach(this::invalidate);
+        }
+    }
+
+    @Override
+    public void eventRemoved(Event event) {
+        invalidate(event);
+    }
+
+    @Override
+    public synchronized void calendarCleared() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    private synchronized void invalidate(Event event) {
+        generation++;
+        Set<String> users = PartitionedEventIndex.usersOf(event);
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            Key key = keys.next();
+            if ((key.user == null || users.contains(key.user)) && event.occursInPeriod(key.debut, key.fin)) {
+                keys.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    private static final class Key {
+        private final String user;
+        private final DateEvent debut;
+        private final DateEvent fin;
+
+        Key(String user, DateEvent debut, DateEvent fin) {
+            this.user = user;
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return Objects.equals(user, that.user) && debut.equals(that.debut) && fin.equals(that.fin);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(user, debut, fin);
+        }
+    }
+}
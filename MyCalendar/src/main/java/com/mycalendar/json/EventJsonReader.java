@@ -0,0 +1,73 @@
+package com.mycalendar.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mycalendar.events.Event;
+
+/**
+ * Lecteur en flux d'un tableau JSON d'événements.
+ * Les événements sont désérialisés un par un à mesure qu'ils sont demandés :
+ * le tableau complet n'est jamais matérialisé en mémoire.
+ * Les erreurs de lecture sont remontées sous forme d'{@link UncheckedIOException}.
+ */
+public class EventJsonReader implements Iterator<Event>, Closeable {
+    private final JsonParser parser;
+    private final ObjectReader eventReader;
+    private JsonToken current;
+
+    EventJsonReader(JsonParser parser, ObjectReader eventReader) throws IOException {
+        this.parser = parser;
+        this.eventReader = eventReader;
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("Le fichier ne contient pas un tableau d'événements");
+        }
+        advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return current == JsonToken.START_OBJECT;
+    }
+
+    @Override
+    public Event next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            Event event = eventReader.readValue(parser);
+            advance();
+            return event;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Retourne le nombre d'octets du fichier lus jusqu'ici, pour suivre la progression de la lecture.
+     * @return La position de lecture dans le fichier
+     */
+    public long getBytesRead() {
+        return parser.getCurrentLocation().getByteOffset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private void advance() throws IOException {
+        current = parser.nextToken();
+        if (current != JsonToken.START_OBJECT && current != JsonToken.END_ARRAY) {
+            throw new IOException("Élément inattendu dans le tableau d'événements : " + current);
+        }
+    }
+}
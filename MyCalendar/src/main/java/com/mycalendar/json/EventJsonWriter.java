@@ -0,0 +1,47 @@
+package com.mycalendar.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mycalendar.events.Event;
+
+/**
+ * Écrivain en flux d'un tableau JSON d'événements.
+ * Chaque événement est écrit dès qu'il est reçu : l'appelant peut s'arrêter entre deux événements,
+ * par exemple pour suivre la progression ou abandonner l'écriture.
+ */
+public class EventJsonWriter implements Closeable {
+    private final JsonGenerator generator;
+    private final ObjectWriter eventWriter;
+
+    EventJsonWriter(JsonGenerator generator, ObjectWriter eventWriter) throws IOException {
+        this.generator = generator;
+        this.eventWriter = eventWriter;
+        generator.writeStartArray();
+    }
+
+    /**
+     * Écrit un événement à la suite du tableau.
+     * @param event L'événement à écrire
+     * @throws IOException En cas d'erreur lors de l'écriture
+     */
+    public void write(Event event) throws IOException {
+        eventWriter.writeValue(generator, event);
+    }
+
+    /**
+     * Termine le tableau et ferme le fichier.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!generator.isClosed()) {
+                generator.writeEndArray();
+            }
+        } finally {
+            generator.close();
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package com.mycalendar.json;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.mycalendar.events.Event;
+import com.mycalendar.persistence.AtomicFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Classe utilitaire pour la sérialisation/désérialisation JSON.
@@ -38,6 +47,13 @@ public class JsonUtils {
         return objectMapper.writeValueAsString(event);
     }
     
+    /**
+     * Sérialise un événement en JSON compact, sur une seule ligne.
+     */
+    public static String toCompactJson(Event event) throws JsonProcessingException {
+        return objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(event);
+    }
+    
     /**
      * Sérialise une liste d'événements en JSON.
      */
@@ -60,17 +76,74 @@ public class JsonUtils {
     }
     
     /**
-     * Sauvegarde un événement dans un fichier JSON.
+     * Sauvegarde un événement dans un fichier JSON, remplacé d'un coup (voir {@link AtomicFile}).
      */
     public static void saveToFile(Event event, File file) throws IOException {
-        objectMapper.writeValue(file, event);
+        AtomicFile.write(file, tempFile -> objectMapper.writeValue(tempFile, event));
     }
     
     /**
      * Sauvegarde une liste d'événements dans un fichier JSON.
      */
     public static void saveToFile(List<Event> events, File file) throws IOException {
-        objectMapper.writeValue(file, events);
+        saveToFile((Iterable<Event>) events, file);
+    }
+    
+    /**
+     * Sauvegarde des événements dans un fichier JSON en les écrivant un par un,
+     * sans avoir besoin de la liste complète en mémoire. Le fichier est écrit à côté puis
+     * remplacé d'un coup (voir {@link AtomicFile}) : un arrêt en cours d'écriture le laisse intact.
+     */
+    public static void saveToFile(Iterable<? extends Event> events, File file) throws IOException {
+        AtomicFile.write(file, tempFile -> {
+            try (EventJsonWriter writer = openWriter(tempFile)) {
+                for (Event event : events) {
+                    writer.write(event);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Ouvre un écrivain en flux produisant un tableau d'événements dans un fichier JSON.
+     * L'écrivain doit être fermé par l'appelant, ce qui termine le tableau.
+     */
+    public static EventJsonWriter openWriter(File file) throws IOException {
+        ObjectWriter eventWriter = objectMapper.writerFor(Event.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.createGenerator(file, JsonEncoding.UTF8);
+        try {
+            return new EventJsonWriter(generator, eventWriter);
+        } catch (IOException e) {
+            generator.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Ouvre un lecteur en flux sur un fichier JSON contenant un tableau d'événements.
+     * Le lecteur doit être fermé par l'appelant.
+     */
+    public static EventJsonReader openReader(File file) throws IOException {
+        return new EventJsonReader(objectMapper.createParser(file), objectMapper.readerFor(Event.class));
+    }
+    
+    /**
+     * Retourne les événements d'un fichier JSON sous forme de flux paresseux.
+     * Le flux doit être fermé par l'appelant (try-with-resources) ;
+     * les erreurs de lecture sont remontées sous forme d'{@link UncheckedIOException}.
+     */
+    public static Stream<Event> streamFromFile(File file) throws IOException {
+        EventJsonReader reader = openReader(file);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
     }
     
     /**
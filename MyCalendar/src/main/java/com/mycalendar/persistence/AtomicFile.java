@@ -0,0 +1,120 @@
+package com.mycalendar.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Écriture atomique et durable d'un fichier : le contenu est écrit dans un fichier temporaire voisin,
+ * forcé sur le disque ({@link FileChannel#force(boolean)}), puis renommé d'un coup sur le fichier cible,
+ * et le renommage est à son tour forcé sur le disque. Un arrêt brutal ou un disque plein pendant l'écriture
+ * laissent donc toujours l'ancienne version complète ou la nouvelle, jamais un fichier tronqué.
+ *
+ * Sur demande, la version remplacée est conservée comme copie de secours ({@code .bak}) :
+ * chaque écriture fait tourner la copie, qui reste la dernière version correcte avant la courante.
+ */
+public final class AtomicFile {
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String BACKUP_SUFFIX = ".bak";
+
+    private AtomicFile() {
+    }
+
+    /**
+     * Produit le contenu d'un fichier.
+     */
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(File file) throws IOException;
+    }
+
+    /**
+     * Remplace atomiquement un fichier, sans copie de secours.
+     * @param target Le fichier à écrire
+     * @param content Écrit le nouveau contenu dans le fichier temporaire reçu
+     * @throws IOException En cas d'erreur lors de l'écriture ; le fichier cible est alors inchangé
+     */
+    public static void write(File target, Content content) throws IOException {
+        write(target, false, content);
+    }
+
+    /**
+     * Remplace atomiquement un fichier.
+     * @param target Le fichier à écrire
+     * @param keepBackup true pour conserver la version remplacée comme copie de secours
+     * @param content Écrit le nouveau contenu dans le fichier temporaire reçu
+     * @throws IOException En cas d'erreur lors de l'écriture ; le fichier cible est alors inchangé
+     */
+    public static void write(File target, boolean keepBackup, Content content) throws IOException {
+        File directory = target.getAbsoluteFile().getParentFile();
+        Path tempFile = new File(directory, target.getName() + TEMP_SUFFIX).toPath();
+        Files.deleteIfExists(tempFile);
+        try {
+            content.writeTo(tempFile.toFile());
+            force(tempFile.toFile());
+            if (keepBackup && target.isFile()) {
+                backUp(target);
+            }
+            Files.move(tempFile, target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        forceDirectory(directory);
+    }
+
+    /**
+     * Retourne la copie de secours d'un fichier, qu'elle existe ou non.
+     * @param target Le fichier
+     * @return Le fichier de sa copie de secours
+     */
+    public static File backupOf(File target) {
+        return new File(target.getAbsoluteFile().getParentFile(), target.getName() + BACKUP_SUFFIX);
+    }
+
+    /**
+     * Force sur le disque le contenu d'un fichier déjà écrit.
+     * @param file Le fichier
+     * @throws IOException En cas d'erreur d'écriture sur le disque
+     */
+    public static void force(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Force sur le disque les entrées d'un répertoire, pour qu'un renommage survive à un arrêt brutal.
+     * Certains systèmes ne permettent pas d'ouvrir un répertoire : le renommage reste alors atomique,
+     * seule sa durabilité immédiate n'est pas garantie.
+     * @param directory Le répertoire
+     */
+    public static void forceDirectory(File directory) {
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Non pris en charge par ce système de fichiers
+        }
+    }
+
+    /**
+     * Fait de la version actuelle la copie de secours. Un lien physique suffit, puisque la version
+     * actuelle n'est jamais modifiée mais seulement remplacée ; à défaut, elle est copiée.
+     */
+    private static void backUp(File target) throws IOException {
+        File backup = backupOf(target);
+        Path backupTemp = new File(backup.getParentFile(), backup.getName() + TEMP_SUFFIX).toPath();
+        Files.deleteIfExists(backupTemp);
+        try {
+            Files.createLink(backupTemp, target.toPath());
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(target.toPath(), backupTemp);
+            force(backupTemp.toFile());
+        }
+        Files.move(backupTemp, backup.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
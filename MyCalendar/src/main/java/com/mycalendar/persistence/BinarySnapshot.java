@@ -0,0 +1,321 @@
+package com.mycalendar.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import com.mycalendar.events.DateEvent;
+import com.mycalendar.events.DurationEvent;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.EventId;
+import com.mycalendar.events.FrequencyEvent;
+import com.mycalendar.events.MeetingEvent;
+import com.mycalendar.events.MessageEvent;
+import com.mycalendar.events.OwnerEvent;
+import com.mycalendar.events.ParticipantEvent;
+import com.mycalendar.events.PeriodicEvent;
+import com.mycalendar.events.PersonalEvent;
+import com.mycalendar.events.PlaceEvent;
+import com.mycalendar.events.PriorityEvent;
+import com.mycalendar.events.ReminderEvent;
+import com.mycalendar.events.TaskEvent;
+import com.mycalendar.events.TitleEvent;
+import com.mycalendar.events.TypeEvent;
+
+/**
+ * Format binaire compact pour les sauvegardes complètes du calendrier.
+ * Le fichier commence par un en-tête magique suivi des événements, chacun précédé de l'ordinal
+ * de son {@link TypeEvent}, et se termine par un marqueur de fin. Les champs communs sont écrits
+ * dans le même ordre pour tous les types ; les champs propres à chaque type sont délégués
+ * à un codec enregistré par type, comme dans {@link com.mycalendar.events.EventFactory}.
+ * Les chaînes sont écrites en UTF-8 précédées de leur longueur en octets sur quatre octets,
+ * sans la limite de 65535 octets de {@link DataOutput#writeUTF(String)} ; les fichiers de la
+ * version 1 du format, qui l'utilisaient, restent lisibles.
+ */
+public final class BinarySnapshot {
+    private static final byte[] MAGIC = {'M', 'Y', 'C', 'A', 'L'};
+    private static final int LEGACY_VERSION = 1;
+    private static final int VERSION = 2;
+    private static final int END_OF_EVENTS = 0xFF;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final TypeEvent[] TYPES = TypeEvent.values();
+    private static final Map<TypeEvent, EventCodec> CODECS = createCodecs();
+
+    private BinarySnapshot() {
+    }
+
+    /**
+     * Sauvegarde des événements au format binaire, un par un.
+     * @param events Les événements à sauvegarder
+     * @param file Le fichier de destination
+     * @throws IOException En cas d'erreur lors de l'écriture
+     */
+    public static void save(Iterable<? extends Event> events, File file) throws IOException {
+        save(events, file, position -> { });
+    }
+
+    /**
+     * Sauvegarde des événements au format binaire en relevant la position de chacun dans le fichier,
+     * pour qu'il puisse ensuite être relu seul avec {@link #read(byte[])}.
+     * @param events Les événements à sauvegarder
+     * @param file Le fichier de destination
+     * @param positions Reçoit la position de chaque événement, dans l'ordre, puis celle du marqueur de fin
+     * @throws IOException En cas d'erreur lors de l'écriture
+     */
+    static void save(Iterable<? extends Event> events, File file, LongConsumer positions) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE))) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            for (Event event : events) {
+                positions.accept(out.size());
+                out.writeByte(event.getType().ordinal());
+                writeCommonFields(event, out);
+                CODECS.get(event.getType()).writeSpecificFields(event, out);
+            }
+            positions.accept(out.size());
+            out.writeByte(END_OF_EVENTS);
+        }
+    }
+
+    /**
+     * Charge les événements d'un fichier binaire en les transmettant un par un.
+     * @param file Le fichier à lire
+     * @param consumer Reçoit chaque événement lu
+     * @return Le nombre d'événements lus
+     * @throws IOException Si le fichier est illisible, tronqué ou n'est pas au format binaire
+     */
+    public static int load(File file, Consumer<Event> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE))) {
+            int version = readVersion(in);
+            if (version < 0) {
+                throw new IOException("Le fichier n'est pas une sauvegarde binaire du calendrier");
+            }
+            int count = 0;
+            int typeOrdinal = in.readUnsignedByte();
+            while (typeOrdinal != END_OF_EVENTS) {
+                consumer.accept(readEvent(typeOrdinal, in, version));
+                count++;
+                typeOrdinal = in.readUnsignedByte();
+            }
+            return count;
+        } catch (EOFException e) {
+            throw new IOException("Sauvegarde binaire tronquée", e);
+        }
+    }
+
+    /**
+     * Décode un seul événement à partir des octets qu'il occupe dans une sauvegarde binaire,
+     * délimités par les positions relevées à l'écriture, dans un fichier de la version courante du format.
+     * @param record Les octets de l'événement
+     * @return L'événement
+     * @throws IOException Si les octets ne forment pas un événement complet
+     */
+    static Event read(byte[] record) throws IOException {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            return readEvent(in.readUnsignedByte(), in, VERSION);
+        } catch (EOFException e) {
+            throw new IOException("Événement binaire tronqué", e);
+        }
+    }
+
+    private static Event readEvent(int typeOrdinal, DataInput in, int version) throws IOException {
+        if (typeOrdinal >= TYPES.length) {
+            throw new IOException("Type d'événement inconnu dans la sauvegarde : " + typeOrdinal);
+        }
+        CommonFields common = readCommonFields(in, version);
+        return CODECS.get(TYPES[typeOrdinal]).read(common, in, version);
+    }
+
+    /**
+     * Vérifie si un fichier est une sauvegarde binaire du calendrier, d'après son en-tête.
+     * @param file Le fichier à examiner
+     * @return true si le fichier commence par l'en-tête binaire
+     * @throws IOException En cas d'erreur lors de la lecture
+     */
+    public static boolean isBinary(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return readVersion(in) >= 0;
+        }
+    }
+
+    /**
+     * Lit l'en-tête d'un fichier.
+     * @return La version du format, ou -1 si le fichier n'est pas une sauvegarde binaire prise en charge
+     */
+    private static int readVersion(InputStream in) throws IOException {
+        if (!Arrays.equals(MAGIC, in.readNBytes(MAGIC.length))) {
+            return -1;
+        }
+        int version = in.read();
+        return version == LEGACY_VERSION || version == VERSION ? version : -1;
+    }
+
+    /**
+     * Écrit une chaîne en UTF-8, précédée de sa longueur en octets.
+     * @param value La chaîne à écrire
+     * @param out La destination
+     * @throws IOException En cas d'erreur lors de l'écriture
+     */
+    static void writeString(String value, DataOutput out) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in, int version) throws IOException {
+        if (version == LEGACY_VERSION) {
+            return in.readUTF();
+        }
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Longueur de chaîne invalide dans la sauvegarde : " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeCommonFields(Event event, DataOutput out) throws IOException {
+        writeString(event.getId().getValue(), out);
+        writeString(event.getTitle().getValue(), out);
+        writeString(event.getOwner().getValue(), out);
+        writeDate(event.getStartDate(), out);
+        out.writeInt(event.getDuration().getMinutes());
+    }
+
+    private static CommonFields readCommonFields(DataInput in, int version) throws IOException {
+        return new CommonFields(
+                new EventId(readString(in, version)),
+                new TitleEvent(readString(in, version)),
+                OwnerEvent.of(readString(in, version)),
+                readDate(in),
+                new DurationEvent(in.readInt()));
+    }
+
+    private static void writeDate(DateEvent date, DataOutput out) throws IOException {
+        LocalDateTime dateTime = date.getDateTime();
+        out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(dateTime.getNano());
+    }
+
+    private static DateEvent readDate(DataInput in) throws IOException {
+        long epochSecond = in.readLong();
+        int nano = in.readInt();
+        return new DateEvent(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+    }
+
+    private static Map<TypeEvent, EventCodec> createCodecs() {
+        Map<TypeEvent, EventCodec> codecs = new EnumMap<>(TypeEvent.class);
+        codecs.put(TypeEvent.RDV_PERSONNEL, new EventCodec() {
+            @Override
+            public void writeSpecificFields(Event event, DataOutput out) {
+            }
+
+            @Override
+            public Event read(CommonFields common, DataInput in, int version) {
+                return new PersonalEvent(common.id, common.title, common.owner, common.startDate, common.duration);
+            }
+        });
+        codecs.put(TypeEvent.REUNION, new EventCodec() {
+            @Override
+            public void writeSpecificFields(Event event, DataOutput out) throws IOException {
+                MeetingEvent meeting = (MeetingEvent) event;
+                writeString(meeting.getPlace().getValue(), out);
+                writeString(meeting.getParticipants().toString(), out);
+            }
+
+            @Override
+            public Event read(CommonFields common, DataInput in, int version) throws IOException {
+                return new MeetingEvent(common.id, common.title, common.owner, common.startDate, common.duration,
+                        PlaceEvent.of(readString(in, version)), ParticipantEvent.of(readString(in, version)));
+            }
+        });
+        codecs.put(TypeEvent.PERIODIQUE, new EventCodec() {
+            @Override
+            public void writeSpecificFields(Event event, DataOutput out) throws IOException {
+                out.writeInt(((PeriodicEvent) event).getFrequency().getDays());
+            }
+
+            @Override
+            public Event read(CommonFields common, DataInput in, int version) throws IOException {
+                return new PeriodicEvent(common.id, common.title, common.owner, common.startDate,
+                        new FrequencyEvent(in.readInt()));
+            }
+        });
+        codecs.put(TypeEvent.TASK, new EventCodec() {
+            @Override
+            public void writeSpecificFields(Event event, DataOutput out) throws IOException {
+                writeString(((TaskEvent) event).getPriority().getValue(), out);
+            }
+
+            @Override
+            public Event read(CommonFields common, DataInput in, int version) throws IOException {
+                return new TaskEvent(common.id, common.title, common.owner, common.startDate,
+                        PriorityEvent.of(readString(in, version)));
+            }
+        });
+        codecs.put(TypeEvent.RAPPEL, new EventCodec() {
+            @Override
+            public void writeSpecificFields(Event event, DataOutput out) throws IOException {
+                writeString(((ReminderEvent) event).getMessage().getValue(), out);
+            }
+
+            @Override
+            public Event read(CommonFields common, DataInput in, int version) throws IOException {
+                return new ReminderEvent(common.id, common.title, common.owner, common.startDate,
+                        new MessageEvent(readString(in, version)));
+            }
+        });
+        return codecs;
+    }
+
+    /**
+     * Champs communs à tous les types d'événements, lus avant les champs propres au type.
+     */
+    private static final class CommonFields {
+        private final EventId id;
+        private final TitleEvent title;
+        private final OwnerEvent owner;
+        private final DateEvent startDate;
+        private final DurationEvent duration;
+
+        private CommonFields(EventId id, TitleEvent title, OwnerEvent owner, DateEvent startDate,
+                             DurationEvent duration) {
+            this.id = id;
+            this.title = title;
+            this.owner = owner;
+            this.startDate = startDate;
+            this.duration = duration;
+        }
+    }
+
+    /**
+     * Codec des champs propres à un type d'événement.
+     */
+    private interface EventCodec {
+        void writeSpecificFields(Event event, DataOutput out) throws IOException;
+
+        Event read(CommonFields common, DataInput in, int version) throws IOException;
+    }
+}
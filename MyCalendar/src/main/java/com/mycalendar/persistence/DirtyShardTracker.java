@@ -0,0 +1,84 @@
+package com.mycalendar.persistence;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.mycalendar.CalendarListener;
+import com.mycalendar.events.Event;
+
+/**
+ * Suivi des partitions modifiées depuis la dernière sauvegarde partitionnée.
+ * Enregistré comme observateur du calendrier, il note la partition de chaque événement ajouté
+ * ou retiré ; une sauvegarde n'a ensuite à réécrire que ces partitions.
+ *
+ * Tant que le contenu du disque n'est pas connu (calendrier neuf, vidé ou rechargé d'ailleurs),
+ * toutes les partitions sont considérées comme modifiées et la sauvegarde suivante est complète.
+ */
+public class DirtyShardTracker implements CalendarListener {
+    private final Set<String> dirtyShards = new TreeSet<>();
+    private boolean allDirty = true;
+
+    @Override
+    public synchronized void eventAdded(Event event) {
+        mark(event);
+    }
+
+    @Override
+    public synchronized void eventsAdded(Collection<Event> events) {
+        for (Event event : events) {
+            mark(event);
+        }
+    }
+
+    @Override
+    public synchronized void eventRemoved(Event event) {
+        mark(event);
+    }
+
+    @Override
+    public synchronized void calendarCleared() {
+        allDirty = true;
+        dirtyShards.clear();
+    }
+
+    private void mark(Event event) {
+        if (!allDirty) {
+            dirtyShards.add(ShardedSnapshot.shardKey(event));
+        }
+    }
+
+    /**
+     * Retire et retourne les partitions modifiées ; elles sont ensuite considérées comme sauvegardées.
+     * @return Les clés des partitions modifiées, ou null si toutes doivent être réécrites
+     */
+    public synchronized Set<String> drain() {
+        if (allDirty) {
+            allDirty = false;
+            return null;
+        }
+        Set<String> drained = new TreeSet<>(dirtyShards);
+        dirtyShards.clear();
+        return drained;
+    }
+
+    /**
+     * Marque de nouveau comme modifiées des partitions dont la sauvegarde a échoué.
+     * @param shards Les clés rendues par {@link #drain()}, ou null pour toutes les partitions
+     */
+    public synchronized void restore(Set<String> shards) {
+        if (shards == null) {
+            calendarCleared();
+        } else if (!allDirty) {
+            dirtyShards.addAll(shards);
+        }
+    }
+
+    /**
+     * Indique que le disque reflète exactement le calendrier, par exemple juste après son chargement.
+     */
+    public synchronized void markClean() {
+        allDirty = false;
+        dirtyShards.clear();
+    }
+}
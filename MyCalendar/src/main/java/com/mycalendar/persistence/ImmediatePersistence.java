@@ -0,0 +1,59 @@
+package com.mycalendar.persistence;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import com.mycalendar.events.Event;
+
+/**
+ * Stratégie de persistance qui sauvegarde le calendrier après chaque modification.
+ */
+public class ImmediatePersistence implements PersistencePolicy {
+    private SaveAction saveAction;
+    
+    @Override
+    public void attach(SaveAction saveAction) {
+        this.saveAction = saveAction;
+    }
+    
+    @Override
+    public void eventAdded(Event event) {
+        save();
+    }
+    
+    /**
+     * Un lot d'ajouts ne déclenche qu'une seule sauvegarde.
+     */
+    @Override
+    public void eventsAdded(Collection<? extends Event> events) {
+        if (!events.isEmpty()) {
+            save();
+        }
+    }
+    
+    @Override
+    public void eventRemoved(Event event) {
+        save();
+    }
+    
+    /**
+     * Sauvegarde le calendrier complet.
+     */
+    private void save() {
+        try {
+            saveAction.save();
+        } catch (IOException e) {
+            System.out.println("Erreur lors de la sauvegarde automatique : " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public void flush() {
+        // Rien n'est jamais en attente
+    }
+    
+    @Override
+    public void close() {
+        // Aucune ressource à libérer
+    }
+}
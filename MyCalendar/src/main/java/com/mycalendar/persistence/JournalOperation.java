@@ -0,0 +1,75 @@
+package com.mycalendar.persistence;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import com.mycalendar.events.Event;
+import com.mycalendar.events.EventId;
+import com.mycalendar.json.JsonUtils;
+
+/**
+ * Opération enregistrée dans le journal des modifications.
+ * Chaque enregistrement tient sur une ligne : le symbole de l'opération suivi de sa charge utile.
+ */
+enum JournalOperation {
+    ADD('+') {
+        @Override
+        String payload(Event event) throws IOException {
+            return JsonUtils.toCompactJson(event);
+        }
+
+        @Override
+        void replay(String payload, Consumer<Event> added, Consumer<EventId> removed) throws IOException {
+            added.accept(JsonUtils.fromJson(payload, Event.class));
+        }
+    },
+    REMOVE('-') {
+        @Override
+        String payload(Event event) {
+            return event.getId().getValue();
+        }
+
+        @Override
+        void replay(String payload, Consumer<Event> added, Consumer<EventId> removed) {
+            removed.accept(new EventId(payload));
+        }
+    };
+
+    private final char symbol;
+
+    JournalOperation(char symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * Construit l'enregistrement du journal correspondant à l'opération.
+     * @param event L'événement concerné
+     * @return La ligne à ajouter au journal, sans retour à la ligne
+     */
+    String record(Event event) throws IOException {
+        return symbol + payload(event);
+    }
+
+    /**
+     * Rejoue un enregistrement du journal.
+     * @param record La ligne lue dans le journal
+     * @param added Reçoit les événements ajoutés
+     * @param removed Reçoit les identifiants des événements supprimés
+     */
+    static void replayRecord(String record, Consumer<Event> added, Consumer<EventId> removed) throws IOException {
+        of(record.charAt(0)).replay(record.substring(1), added, removed);
+    }
+
+    abstract String payload(Event event) throws IOException;
+
+    abstract void replay(String payload, Consumer<Event> added, Consumer<EventId> removed) throws IOException;
+
+    private static JournalOperation of(char symbol) throws IOException {
+        for (JournalOperation operation : values()) {
+            if (operation.symbol == symbol) {
+                return operation;
+            }
+        }
+        throw new IOException("Opération de journal inconnue : " + symbol);
+    }
+}
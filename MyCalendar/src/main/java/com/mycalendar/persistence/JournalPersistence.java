@@ -0,0 +1,286 @@
+package com.mycalendar.persistence;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import com.mycalendar.events.Event;
+import com.mycalendar.events.EventId;
+
+/**
+ * Stratégie de persistance par journal (write-ahead log).
+ * Chaque ajout ou suppression est ajouté en fin de journal sous la forme d'un enregistrement compact,
+ * ce qui coûte O(1) en écriture quelle que soit la taille du calendrier. L'enregistrement est forcé
+ * sur le disque avant que la modification ne soit rendue à l'appelant ; une écriture impossible
+ * est remontée sous forme d'{@link UncheckedIOException}, et le calendrier annule alors la modification,
+ * qui n'est ni visible ni reprise par une sauvegarde complète. Quand le journal atteint
+ * le seuil de compaction, une sauvegarde complète est écrite puis le journal est vidé.
+ * Au chargement, le journal est rejoué par-dessus la dernière sauvegarde complète ; le rejeu étant
+ * idempotent, un arrêt entre la sauvegarde et la remise à zéro du journal ne perd rien.
+ */
+public class JournalPersistence implements PersistencePolicy {
+    private final File journalFile;
+    private final int compactionThreshold;
+    private SaveAction saveAction;
+    private FileOutputStream stream;
+    private Writer writer;
+    private int recordsSinceSnapshot;
+
+    /**
+     * Constructeur.
+     * @param journalFile Le fichier du journal
+     * @param compactionThreshold Le nombre d'enregistrements déclenchant une sauvegarde complète
+     */
+    public JournalPersistence(File journalFile, int compactionThreshold) {
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Le seuil de compaction doit être positif");
+        }
+        this.journalFile = journalFile;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @Override
+    public void attach(SaveAction saveAction) {
+        this.saveAction = saveAction;
+    }
+
+    @Override
+    public synchronized void eventAdded(Event event) {
+        append(JournalOperation.ADD, event);
+    }
+
+    /**
+     * Un lot est écrit en une fois à la fin du journal. Un lot qui atteindrait le seuil de compaction
+     * n'est pas écrit dans le journal : la sauvegarde complète, qui le contient déjà, le remplace.
+     * Si cette sauvegarde échoue, le lot est écrit dans le journal comme un lot ordinaire,
+     * et la compaction est retentée à la modification suivante.
+     */
+    @Override
+    public synchronized void eventsAdded(Collection<? extends Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Exception compactionError = null;
+        if (recordsSinceSnapshot + events.size() >= compactionThreshold) {
+            try {
+                compactLocked();
+                return;
+            } catch (IOException | RuntimeException e) {
+                compactionError = e;
+            }
+        }
+        try {
+            Writer out = writer();
+            for (Event event : events) {
+                out.write(JournalOperation.ADD.record(event));
+                out.write('\n');
+            }
+            sync();
+        } catch (IOException e) {
+            UncheckedIOException failure = new UncheckedIOException(
+                    "Erreur lors de l'écriture du journal : " + e.getMessage(), e);
+            if (compactionError != null) {
+                failure.addSuppressed(compactionError);
+            }
+            throw failure;
+        }
+        recordsSinceSnapshot += events.size();
+        if (compactionError != null) {
+            // Le lot est dans le journal : rien n'est perdu
+            System.out.println("Erreur lors de la compaction du journal : " + compactionError.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void eventRemoved(Event event) {
+        append(JournalOperation.REMOVE, event);
+    }
+
+    @Override
+    public synchronized void recover(Consumer<Event> added, Consumer<EventId> removed) throws IOException {
+        if (!journalFile.exists()) {
+            return;
+        }
+        int replayed = 0;
+        boolean tornTail = false;
+        try (BufferedReader reader = Files.newBufferedReader(journalFile.toPath(), StandardCharsets.UTF_8)) {
+            String record = reader.readLine();
+            while (record != null) {
+                String next = reader.readLine();
+                if (!record.isBlank()) {
+                    int count = replay(record, next == null, added, removed);
+                    tornTail = count == 0;
+                    replayed += count;
+                }
+                record = next;
+            }
+        }
+        closeWriter();
+        repairTail(tornTail);
+        recordsSinceSnapshot = replayed;
+        System.out.println("Journal rejoué : " + replayed + " modifications.");
+    }
+
+    /**
+     * Le journal est écrit à chaque modification : rien n'est jamais en attente.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Écrit une sauvegarde complète et vide le journal, s'il contient des modifications.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (calendarLock()) {
+            synchronized (this) {
+                try {
+                    if (recordsSinceSnapshot > 0) {
+                        compactLocked();
+                    }
+                } finally {
+                    closeWriter();
+                }
+            }
+        }
+    }
+
+    /**
+     * Écrit une sauvegarde complète du calendrier puis vide le journal.
+     * @throws IOException En cas d'erreur lors de la sauvegarde
+     */
+    public void compact() throws IOException {
+        synchronized (calendarLock()) {
+            synchronized (this) {
+                compactLocked();
+            }
+        }
+    }
+
+    /**
+     * Les modifications prennent le verrou du calendrier puis celui du journal : une compaction
+     * demandée de l'extérieur les prend dans le même ordre, sans quoi elle pourrait attendre
+     * le calendrier en bloquant une modification qui attend le journal.
+     */
+    private Object calendarLock() {
+        return saveAction != null ? saveAction.lock() : this;
+    }
+
+    private void compactLocked() throws IOException {
+        saveAction.save();
+        closeWriter();
+        // La sauvegarde complète contient toutes les modifications : le journal peut repartir de zéro
+        new FileOutputStream(journalFile, false).close();
+        recordsSinceSnapshot = 0;
+    }
+
+    /**
+     * Retourne le nombre d'enregistrements du journal depuis la dernière sauvegarde complète.
+     * @return Le nombre d'enregistrements
+     */
+    public synchronized int recordsSinceSnapshot() {
+        return recordsSinceSnapshot;
+    }
+
+    private void append(JournalOperation operation, Event event) {
+        try {
+            Writer out = writer();
+            out.write(operation.record(event));
+            out.write('\n');
+            sync();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erreur lors de l'écriture du journal : " + e.getMessage(), e);
+        }
+        recordsSinceSnapshot++;
+        if (recordsSinceSnapshot >= compactionThreshold) {
+            try {
+                compactLocked();
+            } catch (IOException | RuntimeException e) {
+                // La modification est déjà dans le journal : la compaction sera retentée à la suivante
+                System.out.println("Erreur lors de la compaction du journal : " + e.getMessage());
+            }
+        }
+    }
+
+    private int replay(String record, boolean last, Consumer<Event> added, Consumer<EventId> removed)
+            throws IOException {
+        try {
+            JournalOperation.replayRecord(record, added, removed);
+            return 1;
+        } catch (IOException | RuntimeException e) {
+            // Seul le dernier enregistrement peut être incomplet (arrêt pendant l'écriture)
+            if (!last) {
+                throw new IOException("Journal corrompu : " + e.getMessage(), e);
+            }
+            System.out.println("Dernier enregistrement du journal incomplet, ignoré.");
+            return 0;
+        }
+    }
+
+    /**
+     * Termine le journal sur une fin de ligne, pour que l'enregistrement suivant ne soit pas collé
+     * au dernier. Un dernier enregistrement incomplet, ignoré au rejeu, est retiré du fichier ;
+     * un dernier enregistrement complet dont seule la fin de ligne manque la reçoit.
+     */
+    private void repairTail(boolean tornTail) throws IOException {
+        try (FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long end = size;
+            ByteBuffer last = ByteBuffer.allocate(1);
+            while (end > 0) {
+                last.clear();
+                channel.read(last, end - 1);
+                if (last.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end == size) {
+                return;
+            }
+            if (tornTail) {
+                channel.truncate(end);
+            } else {
+                channel.write(ByteBuffer.wrap(new byte[] {'\n'}), size);
+            }
+            channel.force(true);
+        }
+    }
+
+    private Writer writer() throws IOException {
+        if (writer == null) {
+            stream = new FileOutputStream(journalFile, true);
+            writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        }
+        return writer;
+    }
+
+    /**
+     * Force sur le disque les enregistrements écrits, pour qu'ils survivent à une coupure de courant.
+     */
+    private void sync() throws IOException {
+        writer.flush();
+        stream.getChannel().force(false);
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            stream = null;
+        }
+    }
+}
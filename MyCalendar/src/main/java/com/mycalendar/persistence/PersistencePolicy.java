@@ -0,0 +1,65 @@
+package com.mycalendar.persistence;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import com.mycalendar.events.Event;
+import com.mycalendar.events.EventId;
+
+/**
+ * Stratégie décidant quand l'état du calendrier est écrit sur disque après une modification.
+ */
+public interface PersistencePolicy {
+    
+    /**
+     * Associe la stratégie à l'action de sauvegarde du calendrier.
+     * @param saveAction L'action qui écrit l'état complet du calendrier
+     */
+    void attach(SaveAction saveAction);
+    
+    /**
+     * Signale qu'un événement vient d'être ajouté au calendrier.
+     * @param event L'événement ajouté
+     */
+    void eventAdded(Event event);
+    
+    /**
+     * Signale qu'un lot d'événements vient d'être ajouté au calendrier en une seule opération.
+     * Par défaut, chaque ajout est signalé séparément.
+     * @param events Les événements ajoutés
+     */
+    default void eventsAdded(Collection<? extends Event> events) {
+        for (Event event : events) {
+            eventAdded(event);
+        }
+    }
+    
+    /**
+     * Signale qu'un événement vient d'être supprimé du calendrier.
+     * @param event L'événement supprimé
+     */
+    void eventRemoved(Event event);
+    
+    /**
+     * Rejoue les modifications enregistrées depuis la dernière sauvegarde complète,
+     * une fois celle-ci chargée. Par défaut, il n'y a rien à rejouer.
+     * @param added Reçoit les événements ajoutés
+     * @param removed Reçoit les identifiants des événements supprimés
+     * @throws IOException En cas d'erreur lors de la lecture
+     */
+    default void recover(Consumer<Event> added, Consumer<EventId> removed) throws IOException {
+    }
+    
+    /**
+     * Écrit immédiatement les modifications en attente, s'il y en a.
+     * @throws IOException En cas d'erreur lors de la sauvegarde
+     */
+    void flush() throws IOException;
+    
+    /**
+     * Écrit les modifications en attente et libère les ressources de la stratégie.
+     * @throws IOException En cas d'erreur lors de la sauvegarde
+     */
+    void close() throws IOException;
+}
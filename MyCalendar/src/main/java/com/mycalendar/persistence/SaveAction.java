@@ -0,0 +1,21 @@
+package com.mycalendar.persistence;
+
+import java.io.IOException;
+
+/**
+ * Interface fonctionnelle représentant l'écriture de l'état du calendrier sur disque.
+ */
+@FunctionalInterface
+public interface SaveAction {
+    void save() throws IOException;
+    
+    /**
+     * Retourne le verrou sous lequel le calendrier est modifié, et donc sous lequel il prévient
+     * la stratégie de persistance. Une stratégie qui sauvegarde en tenant son propre verrou
+     * doit d'abord prendre celui-ci, pour toujours prendre les deux dans le même ordre.
+     * @return Le verrou des modifications
+     */
+    default Object lock() {
+        return this;
+    }
+}
@@ -0,0 +1,386 @@
+package com.mycalendar.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.mycalendar.events.DateEvent;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.PeriodicEvent;
+import com.mycalendar.index.EventTimeIndex;
+import com.mycalendar.index.PartitionedEventIndex;
+
+/**
+ * Index d'une partition binaire, écrit à côté d'elle ({@code 2025-04.g3.idx} pour {@code 2025-04.g3.bin})
+ * et projeté en mémoire à la lecture. Pour chaque événement, il donne sa date de début, sa fréquence
+ * s'il est périodique et la place qu'il occupe dans le fichier de la partition : une requête trouve
+ * les événements qui l'intéressent sans décoder la partition, puis ne lit que ceux-là.
+ *
+ * Le fichier, gros-boutiste, contient à la suite :
+ * <ul>
+ * <li>l'en-tête : {@code MYCALIDX}, la version, le nombre d'événements, le nombre d'événements ponctuels
+ * et le nombre d'utilisateurs ;</li>
+ * <li>une fiche de taille fixe par événement (secondes et nanosecondes du début, position, longueur,
+ * fréquence en jours ou 0), les ponctuels puis les récurrents, dans l'ordre de {@link EventTimeIndex} ;</li>
+ * <li>l'empreinte de l'identifiant de chaque événement avec son numéro de fiche, triées par empreinte ;</li>
+ * <li>pour chaque utilisateur, propriétaire ou participant : son nom normalisé en UTF-8 précédé de sa
+ * longueur, puis les numéros croissants des fiches qui le concernent.</li>
+ * </ul>
+ */
+final class ShardIndex {
+    static final String EXTENSION = ".idx";
+    private static final byte[] MAGIC = "MYCALIDX".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = MAGIC.length + 4 * Integer.BYTES;
+    private static final int RECORD_SIZE = Long.BYTES + 4 * Integer.BYTES;
+    private static final int ID_ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int oneOffCount;
+    private final int userCount;
+    private final int idsStart;
+    private final int usersStart;
+    private volatile Map<String, int[]> postings;
+
+    private ShardIndex(ByteBuffer buffer, File file) throws IOException {
+        this.buffer = buffer;
+        byte[] magic = new byte[MAGIC.length];
+        if (buffer.capacity() >= HEADER_SIZE) {
+            buffer.get(0, magic);
+        }
+        if (!Arrays.equals(MAGIC, magic)) {
+            throw new IOException("Index de partition invalide : " + file);
+        }
+        if (buffer.getInt(MAGIC.length) != VERSION) {
+            throw new IOException("Version d'index de partition non prise en charge : " + file);
+        }
+        this.size = buffer.getInt(MAGIC.length + Integer.BYTES);
+        this.oneOffCount = buffer.getInt(MAGIC.length + 2 * Integer.BYTES);
+        this.userCount = buffer.getInt(MAGIC.length + 3 * Integer.BYTES);
+        this.idsStart = HEADER_SIZE + size * RECORD_SIZE;
+        this.usersStart = idsStart + size * ID_ENTRY_SIZE;
+        if (size < 0 || oneOffCount < 0 || oneOffCount > size || usersStart > buffer.capacity()) {
+            throw new IOException("Index de partition tronqué : " + file);
+        }
+    }
+
+    /**
+     * Retourne le nom du fichier d'index d'une partition.
+     * @param shardFileName Le nom du fichier de la partition
+     * @return Le nom du fichier de son index
+     */
+    static String fileNameFor(String shardFileName) {
+        int dot = shardFileName.lastIndexOf('.');
+        return shardFileName.substring(0, dot) + EXTENSION;
+    }
+
+    /**
+     * Écrit l'index d'une partition binaire.
+     * @param events Les événements de la partition, dans l'ordre du fichier
+     * @param positions La position de chaque événement dans le fichier, suivie de celle du marqueur de fin
+     * @param file Le fichier de l'index
+     * @throws IOException En cas d'erreur lors de l'écriture, ou si la partition est trop grande pour être indexée
+     */
+    static void write(List<? extends Event> events, long[] positions, File file) throws IOException {
+        if (positions[events.size()] >= Integer.MAX_VALUE) {
+            throw new IOException("Partition trop grande pour être indexée : " + file);
+        }
+        List<Integer> order = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparing(events::get, EventTimeIndex.INDEX_ORDER));
+
+        int oneOffCount = 0;
+        long[][] ids = new long[events.size()][];
+        SortedMap<String, List<Integer>> users = new TreeMap<>();
+        for (int record = 0; record < order.size(); record++) {
+            Event event = events.get(order.get(record));
+            if (!event.isRecurring()) {
+                oneOffCount++;
+            }
+            ids[record] = new long[] {idHash(event.getId().getValue()), record};
+            for (String user : PartitionedEventIndex.usersOf(event)) {
+                users.computeIfAbsent(user, key -> new ArrayList<>()).add(record);
+            }
+        }
+        Arrays.sort(ids, Comparator.comparingLong((long[] entry) -> entry[0]).thenComparingLong(entry -> entry[1]));
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.write(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(events.size());
+            out.writeInt(oneOffCount);
+            out.writeInt(users.size());
+            for (int index : order) {
+                Event event = events.get(index);
+                DateEvent start = event.getStartDate();
+                out.writeLong(start.toEpochSecond());
+                out.writeInt(start.getDateTime().getNano());
+                out.writeInt((int) positions[index]);
+                out.writeInt((int) (positions[index + 1] - positions[index]));
+                out.writeInt(event instanceof PeriodicEvent ? ((PeriodicEvent) event).getFrequency().getDays() : 0);
+            }
+            for (long[] entry : ids) {
+                out.writeLong(entry[0]);
+                out.writeInt((int) entry[1]);
+            }
+            for (Map.Entry<String, List<Integer>> entry : users.entrySet()) {
+                BinarySnapshot.writeString(entry.getKey(), out);
+                out.writeInt(entry.getValue().size());
+                for (int record : entry.getValue()) {
+                    out.writeInt(record);
+                }
+            }
+        }
+    }
+
+    /**
+     * Projette en mémoire l'index d'une partition.
+     * @param file Le fichier de l'index
+     * @return L'index
+     * @throws IOException Si le fichier est absent, illisible ou tronqué
+     */
+    static ShardIndex open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // La projection reste valide après la fermeture du canal
+            return new ShardIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file);
+        }
+    }
+
+    /**
+     * Vérifie si un fichier d'index existe et est écrit dans la version courante du format :
+     * une partition indexée dans une version antérieure doit être réécrite avant d'être ouverte.
+     * @param file Le fichier de l'index
+     * @return true si l'index peut être ouvert
+     */
+    static boolean isCurrent(File file) {
+        if (!file.isFile()) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            return Arrays.equals(MAGIC, magic) && in.readInt() == VERSION;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Retourne l'empreinte d'un identifiant d'événement, sur 64 bits (FNV-1a).
+     * @param id L'identifiant
+     * @return L'empreinte
+     */
+    static long idHash(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int oneOffCount() {
+        return oneOffCount;
+    }
+
+    long position(int record) {
+        return buffer.getInt(recordOffset(record) + Long.BYTES + Integer.BYTES);
+    }
+
+    int length(int record) {
+        return buffer.getInt(recordOffset(record) + Long.BYTES + 2 * Integer.BYTES);
+    }
+
+    /**
+     * Compare une date au début d'un événement, sans décoder l'événement.
+     * @return Un entier négatif, nul ou positif selon que la date est avant, égale ou après le début
+     */
+    int compareToStart(DateEvent date, int record) {
+        int offset = recordOffset(record);
+        return date.compareTo(buffer.getLong(offset), buffer.getInt(offset + Long.BYTES));
+    }
+
+    /**
+     * Retourne la première fiche ponctuelle, parmi les fiches données, qui commence à la date donnée ou après.
+     * @param records Les numéros de fiches, croissants, dont seuls les {@code count} premiers sont ponctuels
+     * @param count Le nombre de fiches ponctuelles
+     * @param date La date
+     * @return L'indice de la première fiche, ou {@code count} si aucune
+     */
+    int firstStartingFrom(IntList records, int count, DateEvent date) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareToStart(date, records.get(middle)) > 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Indique si un événement récurrent peut se produire dans la période, d'après sa fiche seulement.
+     * Pour un événement périodique, le calcul est celui de {@link PeriodicEvent#occursInPeriod};
+     * un autre événement récurrent est toujours retenu et reste à vérifier une fois décodé.
+     */
+    boolean mayOccurIn(int record, DateEvent debut, DateEvent fin) {
+        int offset = recordOffset(record);
+        long first = buffer.getLong(offset);
+        int nano = buffer.getInt(offset + Long.BYTES);
+        int days = buffer.getInt(offset + Long.BYTES + 3 * Integer.BYTES);
+        if (fin.compareTo(first, nano) < 0) {
+            return false;
+        }
+        if (days <= 0 || debut.compareTo(first, nano) <= 0) {
+            return true;
+        }
+        long period = days * SECONDS_PER_DAY;
+        long candidate = first + Math.floorDiv(debut.toEpochSecond() - first, period) * period;
+        if (debut.compareTo(candidate, nano) > 0) {
+            candidate += period;
+        }
+        return fin.compareTo(candidate, nano) >= 0;
+    }
+
+    /**
+     * Retourne toutes les fiches, dans l'ordre.
+     */
+    IntList all() {
+        return new IntList() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public int get(int index) {
+                return index;
+            }
+        };
+    }
+
+    /**
+     * Retourne les fiches d'un utilisateur, propriétaire ou participant.
+     * @param userKey Le nom normalisé de l'utilisateur
+     * @return Les numéros croissants de ses fiches, vide s'il n'apparaît pas dans la partition
+     */
+    IntList recordsOf(String userKey) {
+        int[] posting = postings().get(userKey);
+        if (posting == null) {
+            return IntList.EMPTY;
+        }
+        int start = posting[0];
+        int count = posting[1];
+        return new IntList() {
+            @Override
+            public int size() {
+                return count;
+            }
+
+            @Override
+            public int get(int index) {
+                return buffer.getInt(start + index * Integer.BYTES);
+            }
+        };
+    }
+
+    /**
+     * Retourne les fiches dont l'identifiant a l'empreinte donnée ; il reste à comparer les identifiants.
+     * @param hash L'empreinte de l'identifiant cherché
+     * @return Les numéros des fiches candidates
+     */
+    List<Integer> recordsWithHash(long hash) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (buffer.getLong(idsStart + middle * ID_ENTRY_SIZE) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        List<Integer> records = new ArrayList<>(1);
+        for (int entry = low; entry < size && buffer.getLong(idsStart + entry * ID_ENTRY_SIZE) == hash; entry++) {
+            records.add(buffer.getInt(idsStart + entry * ID_ENTRY_SIZE + Long.BYTES));
+        }
+        return records;
+    }
+
+    private int recordOffset(int record) {
+        return HEADER_SIZE + record * RECORD_SIZE;
+    }
+
+    /**
+     * Lit la liste des utilisateurs à la première requête qui en a besoin :
+     * seules les positions de leurs fiches sont gardées sur le tas.
+     */
+    private Map<String, int[]> postings() {
+        Map<String, int[]> result = postings;
+        if (result == null) {
+            result = new HashMap<>(userCount * 2);
+            int offset = usersStart;
+            for (int user = 0; user < userCount; user++) {
+                byte[] utf8 = new byte[buffer.getInt(offset)];
+                buffer.get(offset + Integer.BYTES, utf8);
+                String name = new String(utf8, StandardCharsets.UTF_8);
+                offset += Integer.BYTES + utf8.length;
+                int count = buffer.getInt(offset);
+                result.put(name, new int[] {offset + Integer.BYTES, count});
+                offset += Integer.BYTES + count * Integer.BYTES;
+            }
+            result = Collections.unmodifiableMap(result);
+            postings = result;
+        }
+        return result;
+    }
+
+    /**
+     * Liste de numéros de fiches lue directement dans la projection.
+     */
+    interface IntList {
+        IntList EMPTY = new IntList() {
+            @Override
+            public int size() {
+                return 0;
+            }
+
+            @Override
+            public int get(int index) {
+                throw new IndexOutOfBoundsException(index);
+            }
+        };
+
+        int size();
+
+        int get(int index);
+    }
+}
@@ -0,0 +1,153 @@
+package com.mycalendar.persistence;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Sommaire d'une sauvegarde partitionnée : le format des partitions, la génération de la sauvegarde
+ * et, pour chaque partition, le fichier qui la contient et son nombre d'événements.
+ * Le sommaire est un petit fichier texte, une ligne par partition :
+ * <pre>
+ * MYCAL-SHARDS 1
+ * generation 12
+ * format JSON
+ * shard 2025-04 2025-04.g12.json 123
+ * </pre>
+ */
+final class ShardManifest {
+    static final String FILE_NAME = "manifest.txt";
+    private static final String HEADER = "MYCAL-SHARDS 1";
+
+    private final long generation;
+    private final SnapshotFormat format;
+    private final SortedMap<String, Shard> shards;
+
+    ShardManifest(long generation, SnapshotFormat format, SortedMap<String, Shard> shards) {
+        this.generation = generation;
+        this.format = format;
+        this.shards = Collections.unmodifiableSortedMap(new TreeMap<>(shards));
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    SnapshotFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Retourne les partitions, triées par clé.
+     * @return Les partitions indexées par clé
+     */
+    SortedMap<String, Shard> getShards() {
+        return shards;
+    }
+
+    /**
+     * Lit le sommaire d'un répertoire de sauvegarde.
+     * @param directory Le répertoire de la sauvegarde
+     * @return Le sommaire
+     * @throws IOException Si le sommaire est absent ou illisible
+     */
+    static ShardManifest read(File directory) throws IOException {
+        return readFile(new File(directory, FILE_NAME));
+    }
+
+    /**
+     * Lit le sommaire précédent, conservé comme copie de secours par {@link #write(File)}.
+     * @param directory Le répertoire de la sauvegarde
+     * @return Le sommaire précédent
+     * @throws IOException Si la copie de secours est absente ou illisible
+     */
+    static ShardManifest readBackup(File directory) throws IOException {
+        return readFile(backupFile(directory));
+    }
+
+    /**
+     * Retourne le fichier de la copie de secours du sommaire, qu'il existe ou non.
+     * @param directory Le répertoire de la sauvegarde
+     * @return Le fichier de la copie de secours
+     */
+    static File backupFile(File directory) {
+        return AtomicFile.backupOf(new File(directory, FILE_NAME));
+    }
+
+    private static ShardManifest readFile(File file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                throw new IOException("Sommaire de sauvegarde partitionnée invalide : " + file);
+            }
+            long generation = Long.parseLong(value(reader.readLine(), "generation"));
+            SnapshotFormat format = SnapshotFormat.valueOf(value(reader.readLine(), "format"));
+            SortedMap<String, Shard> shards = new TreeMap<>();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] fields = value(line, "shard").split(" ");
+                if (fields.length != 3) {
+                    throw new IOException("Partition mal décrite dans le sommaire : " + line);
+                }
+                shards.put(fields[0], new Shard(fields[1], Integer.parseInt(fields[2])));
+            }
+            return new ShardManifest(generation, format, shards);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Sommaire de sauvegarde partitionnée invalide : " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Écrit le sommaire dans un répertoire de sauvegarde. Il est remplacé d'un coup (voir {@link AtomicFile}) :
+     * une lecture voit toujours l'ancien sommaire complet ou le nouveau. L'ancien est conservé
+     * comme copie de secours.
+     * @param directory Le répertoire de la sauvegarde
+     * @throws IOException En cas d'erreur lors de l'écriture
+     */
+    void write(File directory) throws IOException {
+        AtomicFile.write(new File(directory, FILE_NAME), true, tempFile -> {
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+                writer.write(HEADER + "\n");
+                writer.write("generation " + generation + "\n");
+                writer.write("format " + format.name() + "\n");
+                for (SortedMap.Entry<String, Shard> entry : shards.entrySet()) {
+                    Shard shard = entry.getValue();
+                    writer.write("shard " + entry.getKey() + " " + shard.getFileName() + " "
+                            + shard.getEventCount() + "\n");
+                }
+            }
+        });
+    }
+
+    private static String value(String line, String name) throws IOException {
+        if (line == null || !line.startsWith(name + " ")) {
+            throw new IOException("Ligne « " + name + " » attendue dans le sommaire, lu : " + line);
+        }
+        return line.substring(name.length() + 1);
+    }
+
+    /**
+     * Une partition de la sauvegarde : le nom de son fichier et son nombre d'événements.
+     */
+    static final class Shard {
+        private final String fileName;
+        private final int eventCount;
+
+        Shard(String fileName, int eventCount) {
+            this.fileName = fileName;
+            this.eventCount = eventCount;
+        }
+
+        String getFileName() {
+            return fileName;
+        }
+
+        int getEventCount() {
+            return eventCount;
+        }
+    }
+}
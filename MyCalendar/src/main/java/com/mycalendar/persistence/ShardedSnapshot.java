@@ -0,0 +1,282 @@
+package com.mycalendar.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import com.mycalendar.events.Event;
+
+/**
+ * Sauvegarde complète du calendrier répartie en partitions : un fichier par mois de date de début,
+ * plus un sommaire ({@link ShardManifest}) qui liste les partitions. Au chargement, les partitions
+ * sont décodées en parallèle, si bien que la durée du chargement dépend du nombre de cœurs
+ * plutôt que de la taille totale de la sauvegarde.
+ *
+ * Chaque sauvegarde porte un numéro de génération qui entre dans le nom de ses fichiers :
+ * les partitions d'une nouvelle génération sont écrites à côté de celles de la précédente,
+ * forcées sur le disque, puis le sommaire est remplacé d'un coup. Un arrêt en cours de sauvegarde
+ * laisse donc toujours le sommaire précédent et toutes ses partitions intacts.
+ *
+ * Le sommaire remplacé est conservé comme copie de secours, avec ses partitions : si la sauvegarde
+ * courante se révèle illisible, {@link #loadBackup(File, ForkJoinPool)} relit la précédente.
+ * Les fichiers référencés par aucun des deux sommaires sont supprimés une fois le nouveau en place.
+ *
+ * Chaque partition binaire est accompagnée de son index ({@link ShardIndex}), qui permet d'interroger
+ * la sauvegarde sans la charger (voir {@link StartupIndex}).
+ */
+public final class ShardedSnapshot {
+    private static final Pattern SHARD_FILE = Pattern.compile(".+\\.g(\\d+)\\.(json|bin|idx)");
+
+    private ShardedSnapshot() {
+    }
+
+    /**
+     * Retourne la clé de la partition d'un événement : le mois de sa date de début, par exemple 2025-04.
+     * @param event L'événement
+     * @return La clé de sa partition
+     */
+    public static String shardKey(Event event) {
+        return YearMonth.from(event.getStartDate().getDateTime()).toString();
+    }
+
+    /**
+     * Vérifie si un répertoire contient la copie de secours d'une sauvegarde partitionnée.
+     * @param directory Le répertoire à examiner
+     * @return true si le répertoire contient un sommaire précédent
+     */
+    public static boolean hasBackup(File directory) {
+        return ShardManifest.backupFile(directory).isFile();
+    }
+
+    /**
+     * Vérifie si un répertoire contient une sauvegarde partitionnée.
+     * @param directory Le répertoire à examiner
+     * @return true si le répertoire contient un sommaire
+     */
+    public static boolean exists(File directory) {
+        return new File(directory, ShardManifest.FILE_NAME).isFile();
+    }
+
+    /**
+     * Sauvegarde des événements, répartis par mois de début, dans un répertoire.
+     * @param events Les événements à sauvegarder
+     * @param directory Le répertoire de la sauvegarde, créé au besoin
+     * @param format Le format des partitions
+     * @throws IOException En cas d'erreur lors de l'écriture
+     */
+    public static void save(Iterable<? extends Event> events, File directory, SnapshotFormat format)
+            throws IOException {
+        Files.createDirectories(directory.toPath());
+        long generation = nextGeneration(directory);
+
+        SortedMap<String, List<Event>> byKey = new TreeMap<>();
+        for (Event event : events) {
+            byKey.computeIfAbsent(shardKey(event), key -> new ArrayList<>()).add(event);
+        }
+        SortedMap<String, ShardManifest.Shard> shards = new TreeMap<>();
+        for (Map.Entry<String, List<Event>> entry : byKey.entrySet()) {
+            String fileName = entry.getKey() + ".g" + generation + extension(format);
+            writeShard(entry.getValue(), new File(directory, fileName), format);
+            shards.put(entry.getKey(), new ShardManifest.Shard(fileName, entry.getValue().size()));
+        }
+        ShardManifest manifest = new ShardManifest(generation, format, shards);
+        manifest.write(directory);
+        deleteUnreferencedShards(directory, manifest);
+    }
+
+    /**
+     * Réécrit seulement les partitions données d'une sauvegarde existante ; les autres sont conservées
+     * telles quelles. Chaque partition réécrite reçoit un nouveau fichier, puis le sommaire est remplacé
+     * d'un coup : le volume écrit est proportionnel aux partitions modifiées, pas à la taille du calendrier.
+     * @param changedShards Le contenu complet de chaque partition modifiée, indexé par clé ; une partition vide est retirée
+     * @param directory Le répertoire de la sauvegarde
+     * @param format Le format des partitions
+     * @return false, sans rien écrire, si le répertoire ne contient pas de sauvegarde lisible dans ce format,
+     *         ou si une partition binaire n'a pas encore d'index
+     * @throws IOException En cas d'erreur lors de l'écriture
+     */
+    public static boolean saveShards(Map<String, ? extends List<? extends Event>> changedShards, File directory,
+                                     SnapshotFormat format) throws IOException {
+        ShardManifest previous;
+        try {
+            previous = exists(directory) ? ShardManifest.read(directory) : null;
+        } catch (IOException e) {
+            previous = null;
+        }
+        if (previous == null || previous.getFormat() != format) {
+            return false;
+        }
+        if (format == SnapshotFormat.BINARY && !StartupIndex.isIndexed(directory, previous)) {
+            // Sauvegarde antérieure aux index de partition : la réécrire entièrement les crée tous
+            return false;
+        }
+        if (changedShards.isEmpty()) {
+            return true;
+        }
+        long generation = nextGeneration(directory);
+        SortedMap<String, ShardManifest.Shard> shards = new TreeMap<>(previous.getShards());
+        for (Map.Entry<String, ? extends List<? extends Event>> entry : changedShards.entrySet()) {
+            List<? extends Event> shardEvents = entry.getValue();
+            if (shardEvents.isEmpty()) {
+                shards.remove(entry.getKey());
+            } else {
+                String fileName = entry.getKey() + ".g" + generation + extension(format);
+                writeShard(shardEvents, new File(directory, fileName), format);
+                shards.put(entry.getKey(), new ShardManifest.Shard(fileName, shardEvents.size()));
+            }
+        }
+        ShardManifest manifest = new ShardManifest(generation, format, shards);
+        manifest.write(directory);
+        deleteUnreferencedShards(directory, manifest);
+        return true;
+    }
+
+    /**
+     * Décode les partitions d'une sauvegarde en parallèle.
+     * @param directory Le répertoire de la sauvegarde
+     * @param pool Le pool de threads qui décode les partitions
+     * @return Les événements de chaque partition, dans l'ordre des mois
+     * @throws IOException Si le sommaire ou l'une des partitions est absent, illisible ou incomplet
+     */
+    public static List<List<Event>> load(File directory, ForkJoinPool pool) throws IOException {
+        return load(directory, ShardManifest.read(directory), pool);
+    }
+
+    /**
+     * Décode en parallèle la sauvegarde précédente, décrite par la copie de secours du sommaire.
+     * @param directory Le répertoire de la sauvegarde
+     * @param pool Le pool de threads qui décode les partitions
+     * @return Les événements de chaque partition, dans l'ordre des mois
+     * @throws IOException Si la copie de secours ou l'une de ses partitions est absente, illisible ou incomplète
+     */
+    public static List<List<Event>> loadBackup(File directory, ForkJoinPool pool) throws IOException {
+        return load(directory, ShardManifest.readBackup(directory), pool);
+    }
+
+    private static List<List<Event>> load(File directory, ShardManifest manifest, ForkJoinPool pool)
+            throws IOException {
+        SnapshotFormat format = manifest.getFormat();
+        List<Callable<List<Event>>> decoders = new ArrayList<>();
+        for (Map.Entry<String, ShardManifest.Shard> entry : manifest.getShards().entrySet()) {
+            ShardManifest.Shard shard = entry.getValue();
+            decoders.add(() -> {
+                List<Event> shardEvents = new ArrayList<>(shard.getEventCount());
+                format.load(new File(directory, shard.getFileName()), shardEvents::add);
+                if (shardEvents.size() != shard.getEventCount()) {
+                    throw new IOException("Partition " + entry.getKey() + " incomplète : "
+                            + shardEvents.size() + " événements lus sur " + shard.getEventCount());
+                }
+                return shardEvents;
+            });
+        }
+        List<List<Event>> result = new ArrayList<>(decoders.size());
+        for (Future<List<Event>> decoded : pool.invokeAll(decoders)) {
+            result.add(get(decoded));
+        }
+        return result;
+    }
+
+    private static <T> T get(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Chargement de la sauvegarde partitionnée interrompu", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            // Le pool enveloppe les exceptions vérifiées des tâches, parfois à plusieurs reprises
+            while (cause.getClass() == RuntimeException.class && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static void writeShard(List<? extends Event> events, File file, SnapshotFormat format)
+            throws IOException {
+        if (format == SnapshotFormat.BINARY) {
+            LongStream.Builder positions = LongStream.builder();
+            BinarySnapshot.save(events, file, positions::add);
+            File indexFile = new File(file.getParentFile(), ShardIndex.fileNameFor(file.getName()));
+            ShardIndex.write(events, positions.build().toArray(), indexFile);
+            AtomicFile.force(indexFile);
+        } else {
+            format.save(events, file);
+        }
+        AtomicFile.force(file);
+    }
+
+    private static String extension(SnapshotFormat format) {
+        return format == SnapshotFormat.BINARY ? ".bin" : ".json";
+    }
+
+    /**
+     * Retourne une génération plus récente que tous les fichiers de partition du répertoire,
+     * y compris ceux laissés par une sauvegarde interrompue : le sommaire n'a pas à être lisible.
+     */
+    private static long nextGeneration(File directory) {
+        long latest = 0;
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Matcher matcher = SHARD_FILE.matcher(file.getName());
+                if (matcher.matches()) {
+                    latest = Math.max(latest, Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        return latest + 1;
+    }
+
+    private static void deleteUnreferencedShards(File directory, ShardManifest manifest) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Set<String> referenced = new HashSet<>();
+        for (ShardManifest.Shard shard : manifest.getShards().values()) {
+            referenced.add(shard.getFileName());
+            referenced.add(ShardIndex.fileNameFor(shard.getFileName()));
+        }
+        if (hasBackup(directory)) {
+            try {
+                for (ShardManifest.Shard shard : ShardManifest.readBackup(directory).getShards().values()) {
+                    referenced.add(shard.getFileName());
+                    referenced.add(ShardIndex.fileNameFor(shard.getFileName()));
+                }
+            } catch (IOException e) {
+                // Copie de secours illisible : ses partitions ne servent plus à rien
+            }
+        }
+        for (File file : files) {
+            if (SHARD_FILE.matcher(file.getName()).matches() && !referenced.contains(file.getName())) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.mycalendar.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import com.mycalendar.events.Event;
+import com.mycalendar.json.EventJsonReader;
+import com.mycalendar.json.EventJsonWriter;
+import com.mycalendar.json.JsonUtils;
+
+/**
+ * Format d'une sauvegarde complète du calendrier.
+ */
+public enum SnapshotFormat {
+    /**
+     * Tableau JSON indenté, lisible et modifiable à la main.
+     */
+    JSON {
+        @Override
+        public void save(Iterable<? extends Event> events, File file) throws IOException {
+            try (EventJsonWriter writer = JsonUtils.openWriter(file)) {
+                for (Event event : events) {
+                    writer.write(event);
+                }
+            }
+        }
+
+        @Override
+        public int load(File file, Consumer<Event> consumer) throws IOException {
+            try (EventJsonReader reader = JsonUtils.openReader(file)) {
+                int loaded = 0;
+                while (reader.hasNext()) {
+                    consumer.accept(reader.next());
+                    loaded++;
+                }
+                return loaded;
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    },
+    /**
+     * Format binaire compact, plus petit et plus rapide à relire (voir {@link BinarySnapshot}).
+     */
+    BINARY {
+        @Override
+        public void save(Iterable<? extends Event> events, File file) throws IOException {
+            BinarySnapshot.save(events, file);
+        }
+
+        @Override
+        public int load(File file, Consumer<Event> consumer) throws IOException {
+            return BinarySnapshot.load(file, consumer);
+        }
+    };
+
+    /**
+     * Sauvegarde des événements dans ce format. Le fichier est écrit en place : pour remplacer
+     * une sauvegarde existante, passer par {@link AtomicFile}.
+     * @param events Les événements à sauvegarder
+     * @param file Le fichier de destination
+     * @throws IOException En cas d'erreur lors de l'écriture
+     */
+    public abstract void save(Iterable<? extends Event> events, File file) throws IOException;
+
+    /**
+     * Charge les événements d'un fichier dans ce format en les transmettant un par un.
+     * @param file Le fichier à lire
+     * @param consumer Reçoit chaque événement lu
+     * @return Le nombre d'événements lus
+     * @throws IOException En cas d'erreur lors de la lecture
+     */
+    public abstract int load(File file, Consumer<Event> consumer) throws IOException;
+
+    /**
+     * Détermine le format d'une sauvegarde d'après son en-tête.
+     * @param file Le fichier à examiner
+     * @return BINARY si le fichier porte l'en-tête binaire, JSON sinon
+     * @throws IOException En cas d'erreur lors de la lecture
+     */
+    public static SnapshotFormat detect(File file) throws IOException {
+        return BinarySnapshot.isBinary(file) ? BINARY : JSON;
+    }
+}
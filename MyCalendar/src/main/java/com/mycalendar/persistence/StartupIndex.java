@@ -0,0 +1,244 @@
+package com.mycalendar.persistence;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.mycalendar.events.DateEvent;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.EventId;
+import com.mycalendar.index.EventTimeIndex;
+import com.mycalendar.index.PartitionedEventIndex;
+
+/**
+ * Accès immédiat à une sauvegarde partitionnée binaire, sans la charger : les index des partitions
+ * ({@link ShardIndex}) et les partitions elles-mêmes sont projetés en mémoire, et seuls les événements
+ * retenus par une requête sont décodés. L'ouverture ne coûte que la lecture du sommaire et la projection
+ * des fichiers ; le système ne lit ensuite que les pages réellement consultées.
+ *
+ * Les résultats sont ceux que donneraient {@link EventTimeIndex} et {@link PartitionedEventIndex}
+ * une fois la sauvegarde chargée, dans le même ordre. Les fichiers ne doivent pas être modifiés tant
+ * que l'accès est ouvert : une sauvegarde partitionnée n'en réécrit jamais, elle en crée de nouveaux.
+ */
+public final class StartupIndex implements Closeable {
+    private final File directory;
+    private final NavigableMap<YearMonth, Shard> shards;
+    private final int size;
+
+    private StartupIndex(File directory, NavigableMap<YearMonth, Shard> shards, int size) {
+        this.directory = directory;
+        this.shards = shards;
+        this.size = size;
+    }
+
+    /**
+     * Vérifie si une sauvegarde partitionnée peut être ouverte sans être chargée :
+     * elle doit être au format binaire et chacune de ses partitions avoir son index dans la version courante.
+     * @param directory Le répertoire de la sauvegarde
+     * @return true si la sauvegarde peut être ouverte par {@link #open(File)}
+     */
+    public static boolean exists(File directory) {
+        if (!ShardedSnapshot.exists(directory)) {
+            return false;
+        }
+        try {
+            return isIndexed(directory, ShardManifest.read(directory));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static boolean isIndexed(File directory, ShardManifest manifest) {
+        if (manifest.getFormat() != SnapshotFormat.BINARY) {
+            return false;
+        }
+        for (ShardManifest.Shard shard : manifest.getShards().values()) {
+            if (!ShardIndex.isCurrent(new File(directory, ShardIndex.fileNameFor(shard.getFileName())))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ouvre une sauvegarde partitionnée binaire en projetant en mémoire ses partitions et leurs index.
+     * @param directory Le répertoire de la sauvegarde
+     * @return L'accès à la sauvegarde
+     * @throws IOException Si la sauvegarde n'est pas binaire, ou si un fichier est absent ou ne correspond pas au sommaire
+     */
+    public static StartupIndex open(File directory) throws IOException {
+        ShardManifest manifest = ShardManifest.read(directory);
+        if (manifest.getFormat() != SnapshotFormat.BINARY) {
+            throw new IOException("Seule une sauvegarde partitionnée binaire peut être ouverte sans être chargée");
+        }
+        NavigableMap<YearMonth, Shard> shards = new TreeMap<>();
+        int size = 0;
+        for (Map.Entry<String, ShardManifest.Shard> entry : manifest.getShards().entrySet()) {
+            ShardManifest.Shard shard = entry.getValue();
+            ShardIndex index = ShardIndex.open(new File(directory, ShardIndex.fileNameFor(shard.getFileName())));
+            if (index.size() != shard.getEventCount()) {
+                throw new IOException("Index de la partition " + entry.getKey() + " incomplet : "
+                        + index.size() + " événements sur " + shard.getEventCount());
+            }
+            File file = new File(directory, shard.getFileName());
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                shards.put(YearMonth.parse(entry.getKey()),
+                        new Shard(index, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())));
+            }
+            size += shard.getEventCount();
+        }
+        return new StartupIndex(directory, shards, size);
+    }
+
+    /**
+     * Retourne le répertoire de la sauvegarde ouverte.
+     * @return Le répertoire
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Retourne le nombre d'événements de la sauvegarde.
+     * @return Le nombre d'événements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retourne les événements qui se produisent dans la période, comme {@link EventTimeIndex#between(DateEvent, DateEvent)}.
+     * @param debut La date de début de la période (incluse)
+     * @param fin La date de fin de la période (incluse)
+     * @return Les événements ponctuels par date de début, suivis des événements récurrents
+     */
+    public List<Event> between(DateEvent debut, DateEvent fin) {
+        return between(null, debut, fin);
+    }
+
+    /**
+     * Retourne les événements d'un utilisateur, propriétaire ou participant, qui se produisent
+     * dans la période, comme {@link PartitionedEventIndex#between(String, DateEvent, DateEvent)}.
+     * @param user Le nom de l'utilisateur
+     * @param debut La date de début de la période (incluse)
+     * @param fin La date de fin de la période (incluse)
+     * @return Les événements ponctuels par date de début, suivis des événements récurrents
+     */
+    public List<Event> between(String user, DateEvent debut, DateEvent fin) {
+        List<Event> oneOff = new ArrayList<>();
+        List<Event> recurring = new ArrayList<>();
+        if (fin.isBefore(debut)) {
+            return oneOff;
+        }
+        String userKey = user == null ? null : PartitionedEventIndex.key(user);
+        YearMonth firstMonth = monthOf(debut);
+        // Les partitions suivent le mois de début : aucune partition postérieure à la fin ne peut répondre
+        for (Map.Entry<YearMonth, Shard> entry : shards.headMap(monthOf(fin), true).entrySet()) {
+            Shard shard = entry.getValue();
+            ShardIndex.IntList records = userKey == null ? shard.index.all() : shard.index.recordsOf(userKey);
+            int oneOffCount = countOneOff(shard.index, records);
+            if (!entry.getKey().isBefore(firstMonth)) {
+                for (int i = shard.index.firstStartingFrom(records, oneOffCount, debut); i < oneOffCount; i++) {
+                    int record = records.get(i);
+                    if (shard.index.compareToStart(fin, record) < 0) {
+                        break;
+                    }
+                    oneOff.add(shard.read(record));
+                }
+            }
+            for (int i = oneOffCount; i < records.size(); i++) {
+                int record = records.get(i);
+                if (shard.index.mayOccurIn(record, debut, fin)) {
+                    Event event = shard.read(record);
+                    if (event.occursInPeriod(debut, fin)) {
+                        recurring.add(event);
+                    }
+                }
+            }
+        }
+        recurring.sort(EventTimeIndex.INDEX_ORDER);
+        oneOff.addAll(recurring);
+        return oneOff;
+    }
+
+    /**
+     * Charge un seul événement d'après son identifiant.
+     * @param id L'identifiant de l'événement
+     * @return L'événement, ou null s'il n'est pas dans la sauvegarde
+     */
+    public Event get(EventId id) {
+        long hash = ShardIndex.idHash(id.getValue());
+        for (Shard shard : shards.values()) {
+            for (int record : shard.index.recordsWithHash(hash)) {
+                Event event = shard.read(record);
+                if (event.getId().equals(id)) {
+                    return event;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Libère les projections. Elles ne sont réellement retirées de la mémoire qu'une fois
+     * inaccessibles ; l'accès ne doit plus servir après sa fermeture.
+     */
+    @Override
+    public void close() {
+        shards.clear();
+    }
+
+    /**
+     * Retourne le nombre de fiches ponctuelles en tête d'une liste de fiches croissantes.
+     */
+    private static int countOneOff(ShardIndex index, ShardIndex.IntList records) {
+        int low = 0;
+        int high = records.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (records.get(middle) < index.oneOffCount()) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static YearMonth monthOf(DateEvent date) {
+        return YearMonth.from(date.getDateTime());
+    }
+
+    /**
+     * Une partition projetée en mémoire, avec son index.
+     */
+    private static final class Shard {
+        private final ShardIndex index;
+        private final ByteBuffer data;
+
+        private Shard(ShardIndex index, ByteBuffer data) {
+            this.index = index;
+            this.data = data;
+        }
+
+        private Event read(int record) {
+            byte[] bytes = new byte[index.length(record)];
+            data.get((int) index.position(record), bytes);
+            try {
+                return BinarySnapshot.read(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
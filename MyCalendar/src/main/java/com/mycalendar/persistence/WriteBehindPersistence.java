@@ -0,0 +1,182 @@
+package com.mycalendar.persistence;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.mycalendar.events.Event;
+
+/**
+ * Stratégie de persistance différée (write-behind).
+ * Les modifications marquent seulement le calendrier comme modifié ; un thread d'arrière-plan
+ * les regroupe et sauvegarde une seule fois, au plus tard après l'intervalle configuré,
+ * ou dès que le nombre de modifications en attente atteint le seuil.
+ * Les modifications en attente sont aussi écrites à la fermeture et à l'arrêt de la JVM.
+ */
+public class WriteBehindPersistence implements PersistencePolicy {
+    private final Duration interval;
+    private final int threshold;
+    private final ScheduledExecutorService flusher;
+    private final Object pendingLock = new Object();
+    private final Object flushLock = new Object();
+    private SaveAction saveAction;
+    private Thread shutdownHook;
+    private int pendingMutations;
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Constructeur.
+     * @param interval Le délai maximal entre une modification et sa sauvegarde
+     * @param threshold Le nombre de modifications en attente déclenchant une sauvegarde immédiate
+     */
+    public WriteBehindPersistence(Duration interval, int threshold) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("L'intervalle de sauvegarde doit être positif");
+        }
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Le seuil de sauvegarde doit être positif");
+        }
+        this.interval = interval;
+        this.threshold = threshold;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "calendar-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void attach(SaveAction saveAction) {
+        this.saveAction = saveAction;
+        this.shutdownHook = new Thread(this::flushQuietly, "calendar-flush-on-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    public void eventAdded(Event event) {
+        mutationRecorded();
+    }
+
+    @Override
+    public void eventsAdded(Collection<? extends Event> events) {
+        mutationsRecorded(events.size());
+    }
+
+    @Override
+    public void eventRemoved(Event event) {
+        mutationRecorded();
+    }
+
+    /**
+     * Signale qu'une modification du calendrier vient d'avoir lieu, quelle qu'elle soit.
+     */
+    void mutationRecorded() {
+        mutationsRecorded(1);
+    }
+
+    /**
+     * Signale qu'un lot de modifications du calendrier vient d'avoir lieu.
+     * Un lot qui atteint le seuil déclenche une seule sauvegarde immédiate.
+     * @param count Le nombre de modifications du lot
+     */
+    private void mutationsRecorded(int count) {
+        if (count == 0) {
+            return;
+        }
+        synchronized (pendingLock) {
+            int before = pendingMutations;
+            pendingMutations += count;
+            if (before < threshold && pendingMutations >= threshold) {
+                reschedule(0);
+            } else if (scheduledFlush == null) {
+                reschedule(interval.toMillis());
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        synchronized (flushLock) {
+            int flushed;
+            synchronized (pendingLock) {
+                cancelScheduledFlush();
+                flushed = pendingMutations;
+                pendingMutations = 0;
+            }
+            if (flushed == 0) {
+                return;
+            }
+            try {
+                saveAction.save();
+            } catch (IOException | RuntimeException e) {
+                // Les modifications restent en attente pour la prochaine tentative
+                synchronized (pendingLock) {
+                    pendingMutations += flushed;
+                    if (scheduledFlush == null) {
+                        reschedule(interval.toMillis());
+                    }
+                }
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            flusher.shutdownNow();
+            removeShutdownHook();
+        }
+    }
+
+    /**
+     * Retourne le nombre de modifications pas encore sauvegardées.
+     * @return Le nombre de modifications en attente
+     */
+    public int pendingMutations() {
+        synchronized (pendingLock) {
+            return pendingMutations;
+        }
+    }
+
+    private void reschedule(long delayMillis) {
+        cancelScheduledFlush();
+        if (flusher.isShutdown()) {
+            return;
+        }
+        scheduledFlush = flusher.schedule(this::flushQuietly, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelScheduledFlush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            // Les modifications restent en attente et une nouvelle tentative est programmée
+            System.out.println("Erreur lors de la sauvegarde automatique : " + e.getMessage());
+        }
+    }
+
+    private void removeShutdownHook() {
+        if (shutdownHook == null) {
+            return;
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // La JVM est déjà en cours d'arrêt : le hook s'exécute ou s'est exécuté
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.mycalendar.reminder;
+
+import com.mycalendar.events.Event;
+
+/**
+ * Destinataire des rappels déclenchés par le {@link ReminderScheduler}.
+ */
+@FunctionalInterface
+public interface ReminderNotifier {
+
+    /**
+     * Prévient l'utilisateur qu'un rappel ou l'échéance d'une tâche est arrivé.
+     * Appelé depuis un thread de distribution, jamais depuis celui qui a modifié le calendrier.
+     * @param event L'événement dont le rappel est déclenché
+     */
+    void remind(Event event);
+}
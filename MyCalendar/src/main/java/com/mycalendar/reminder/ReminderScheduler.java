@@ -0,0 +1,233 @@
+package com.mycalendar.reminder;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.mycalendar.CalendarListener;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.EventId;
+import com.mycalendar.events.TypeEvent;
+
+/**
+ * Planificateur des rappels et des échéances de tâches.
+ * Enregistré comme observateur d'un CalendarManager, il tient à jour une file de priorité des prochains
+ * déclenchements à chaque ajout ou retrait, sans jamais reparcourir le calendrier.
+ * Un thread unique attend le prochain déclenchement et confie la notification à un petit pool de threads,
+ * pour qu'un destinataire lent ne retarde pas les rappels suivants.
+ *
+ * Un retrait marque seulement l'entrée comme annulée : la file est nettoyée quand les entrées annulées
+ * deviennent majoritaires. Chaque rappel en attente coûte ainsi une entrée de file et une entrée de table,
+ * quelle que soit la taille de l'événement. Les déclenchements déjà passés lors de l'ajout sont ignorés.
+ */
+public class ReminderScheduler implements CalendarListener, Closeable {
+    private static final Set<TypeEvent> TRIGGERING_TYPES = EnumSet.of(TypeEvent.RAPPEL, TypeEvent.TASK);
+    private static final int MIN_CANCELLED_BEFORE_PURGE = 1024;
+
+    private final ReminderNotifier notifier;
+    private final Duration lead;
+    private final Clock clock;
+    private final ExecutorService dispatcher;
+    private final Thread timer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Reminder> queue = new PriorityQueue<>();
+    private final Map<EventId, Reminder> pending = new HashMap<>();
+    private int cancelled;
+    private boolean closed;
+
+    /**
+     * Constructeur : les rappels sont déclenchés à l'heure de l'événement, par deux threads de distribution.
+     * @param notifier Le destinataire des rappels
+     */
+    public ReminderScheduler(ReminderNotifier notifier) {
+        this(notifier, Duration.ZERO, 2, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructeur.
+     * @param notifier Le destinataire des rappels
+     * @param lead L'avance du rappel sur la date de l'événement
+     * @param dispatchThreads Le nombre de threads chargés d'appeler le destinataire
+     * @param clock L'horloge, dont le fuseau sert à situer les dates des événements
+     */
+    public ReminderScheduler(ReminderNotifier notifier, Duration lead, int dispatchThreads, Clock clock) {
+        if (lead.isNegative()) {
+            throw new IllegalArgumentException("L'avance des rappels ne peut pas être négative");
+        }
+        if (dispatchThreads <= 0) {
+            throw new IllegalArgumentException("Le nombre de threads de distribution doit être positif");
+        }
+        this.notifier = notifier;
+        this.lead = lead;
+        this.clock = clock;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "calendar-reminder-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer = new Thread(this::runTimer, "calendar-reminder-timer");
+        this.timer.setDaemon(true);
+        this.timer.start();
+    }
+
+    @Override
+    public void eventAdded(Event event) {
+        if (!TRIGGERING_TYPES.contains(event.getType())) {
+            return;
+        }
+        Instant trigger = event.getStartDate().getDateTime().minus(lead).atZone(clock.getZone()).toInstant();
+        // Arrondi à la milliseconde supérieure : un rappel ne part jamais avant son heure
+        long triggerMillis = trigger.toEpochMilli() + (trigger.getNano() % 1_000_000 == 0 ? 0 : 1);
+        lock.lock();
+        try {
+            cancel(event.getId());
+            if (closed || triggerMillis < clock.millis()) {
+                return;
+            }
+            Reminder reminder = new Reminder(triggerMillis, event);
+            pending.put(event.getId(), reminder);
+            queue.add(reminder);
+            if (queue.peek() == reminder) {
+                changed.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void eventRemoved(Event event) {
+        lock.lock();
+        try {
+            cancel(event.getId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void calendarCleared() {
+        lock.lock();
+        try {
+            queue.clear();
+            pending.clear();
+            cancelled = 0;
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retourne le nombre de rappels en attente de déclenchement.
+     * @return Le nombre de rappels en attente
+     */
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Arrête le planificateur : les rappels en attente sont abandonnés,
+     * les notifications en cours de distribution vont à leur terme.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            queue.clear();
+            pending.clear();
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        dispatcher.shutdown();
+    }
+
+    private void cancel(EventId eventId) {
+        Reminder reminder = pending.remove(eventId);
+        if (reminder == null) {
+            return;
+        }
+        reminder.cancelled = true;
+        cancelled++;
+        if (cancelled >= MIN_CANCELLED_BEFORE_PURGE && cancelled > queue.size() / 2) {
+            queue.removeIf(entry -> entry.cancelled);
+            cancelled = 0;
+        }
+    }
+
+    private void runTimer() {
+        lock.lock();
+        try {
+            while (!closed) {
+                Reminder head = queue.peek();
+                if (head == null) {
+                    changed.await();
+                } else if (head.cancelled) {
+                    queue.poll();
+                    cancelled--;
+                } else {
+                    long delayMillis = head.triggerMillis - clock.millis();
+                    if (delayMillis > 0) {
+                        changed.await(delayMillis, TimeUnit.MILLISECONDS);
+                    } else {
+                        queue.poll();
+                        pending.remove(head.event.getId());
+                        dispatcher.execute(() -> dispatch(head.event));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch(Event event) {
+        try {
+            notifier.remind(event);
+        } catch (RuntimeException e) {
+            System.out.println("Erreur lors de l'envoi du rappel : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Entrée de la file : l'instant de déclenchement et l'événement concerné.
+     */
+    private static final class Reminder implements Comparable<Reminder> {
+        private final long triggerMillis;
+        private final Event event;
+        private boolean cancelled;
+
+        Reminder(long triggerMillis, Event event) {
+            this.triggerMillis = triggerMillis;
+            this.event = event;
+        }
+
+        @Override
+        public int compareTo(Reminder other) {
+            return Long.compare(triggerMillis, other.triggerMillis);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.mycalendar.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.Event;
+
+/**
+ * Recherche de créneaux libres communs à plusieurs personnes.
+ * Les agendas des personnes, déjà triés par date de début dans l'index partitionné du calendrier,
+ * sont fusionnés au fil de l'eau et parcourus une seule fois : les intervalles occupés se recouvrant
+ * sont regroupés et chaque trou assez long entre deux d'entre eux est un créneau libre.
+ *
+ * Seuls les événements ayant une durée occupent du temps : les tâches, les rappels
+ * et les événements périodiques (toujours de durée nulle) ne bloquent aucun créneau.
+ */
+public class SlotFinder {
+    private final CalendarManager calendarManager;
+
+    /**
+     * Constructeur.
+     * @param calendarManager Le calendrier dont les agendas sont consultés
+     */
+    public SlotFinder(CalendarManager calendarManager) {
+        this.calendarManager = calendarManager;
+    }
+
+    /**
+     * Retourne les créneaux libres pour toutes les personnes dans la fenêtre, dans l'ordre chronologique.
+     * Chaque créneau est le plus long possible et dure au moins la durée demandée.
+     * @param users Les noms des personnes, propriétaires ou participants des événements
+     * @param start Le début de la fenêtre de recherche (inclus)
+     * @param end La fin de la fenêtre de recherche (exclue)
+     * @param minutes La durée minimale d'un créneau, en minutes
+     * @return La liste des créneaux libres
+     */
+    public List<TimeSlot> freeSlots(Collection<String> users, LocalDateTime start, LocalDateTime end, int minutes) {
+        return sweep(users, start, end, minutes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Retourne le premier créneau de la durée demandée où toutes les personnes sont libres.
+     * Le parcours s'arrête dès que ce créneau est trouvé.
+     * @param users Les noms des personnes, propriétaires ou participants des événements
+     * @param start Le début de la fenêtre de recherche (inclus)
+     * @param end La fin de la fenêtre de recherche (exclue)
+     * @param minutes La durée du créneau, en minutes
+     * @return Le premier créneau commun, ou Optional.empty() s'il n'y en a aucun dans la fenêtre
+     */
+    public Optional<TimeSlot> firstFreeSlot(Collection<String> users, LocalDateTime start, LocalDateTime end,
+                                            int minutes) {
+        return sweep(users, start, end, minutes, 1).stream()
+                .findFirst()
+                .map(slot -> new TimeSlot(slot.getStart(), slot.getStart().plusMinutes(minutes)));
+    }
+
+    private List<TimeSlot> sweep(Collection<String> users, LocalDateTime start, LocalDateTime end,
+                                 int minutes, int limit) {
+        if (minutes <= 0) {
+            throw new IllegalArgumentException("La durée d'un créneau doit être positive");
+        }
+        List<TimeSlot> slots = new ArrayList<>();
+        if (!start.isBefore(end)) {
+            return slots;
+        }
+
+        PriorityQueue<Cursor> busy = new PriorityQueue<>(Comparator.comparing(cursor -> cursor.head.getStartDate()));
+        for (String user : users) {
+            Iterator<Event> events = calendarManager.evenementsOccupant(user, start, end).iterator();
+            if (events.hasNext()) {
+                busy.add(new Cursor(events));
+            }
+        }
+
+        // free : instant à partir duquel plus aucun intervalle déjà vu n'occupe personne
+        LocalDateTime free = start;
+        while (!busy.isEmpty()) {
+            Cursor cursor = busy.poll();
+            Event event = cursor.head;
+            if (cursor.advance()) {
+                busy.add(cursor);
+            }
+            LocalDateTime busyStart = event.getStartDate().getDateTime();
+            if (!free.plusMinutes(minutes).isAfter(busyStart)) {
+                slots.add(new TimeSlot(free, busyStart));
+                if (slots.size() == limit) {
+                    return slots;
+                }
+            }
+            LocalDateTime busyEnd = event.getEndDate().getDateTime();
+            if (busyEnd.isAfter(free)) {
+                free = busyEnd;
+            }
+            if (!free.isBefore(end)) {
+                return slots;
+            }
+        }
+        if (!free.plusMinutes(minutes).isAfter(end)) {
+            slots.add(new TimeSlot(free, end));
+        }
+        return slots;
+    }
+
+    /**
+     * Position dans l'agenda trié d'une personne.
+     */
+    private static final class Cursor {
+        private final Iterator<Event> rest;
+        private Event head;
+
+        Cursor(Iterator<Event> events) {
+            this.rest = events;
+            this.head = events.next();
+        }
+
+        boolean advance() {
+            if (!rest.hasNext()) {
+                return false;
+            }
+            head = rest.next();
+            return true;
+        }
+    }
+}
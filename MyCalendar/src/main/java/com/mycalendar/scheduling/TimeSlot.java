@@ -0,0 +1,58 @@
+package com.mycalendar.scheduling;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Value Object représentant un créneau horaire [début, fin[.
+ * Cette classe est immuable.
+ */
+public class TimeSlot {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    public TimeSlot(LocalDateTime start, LocalDateTime end) {
+        Objects.requireNonNull(start, "Le début du créneau ne peut pas être nul");
+        Objects.requireNonNull(end, "La fin du créneau ne peut pas être nulle");
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("La fin du créneau ne peut pas précéder son début");
+        }
+        this.start = start;
+        this.end = end;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * Retourne la durée du créneau en minutes entières.
+     * @return La durée du créneau
+     */
+    public long getMinutes() {
+        return Duration.between(start, end).toMinutes();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TimeSlot that = (TimeSlot) o;
+        return start.equals(that.start) && end.equals(that.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return start + " -> " + end;
+    }
+}
@@ -0,0 +1,92 @@
+package com.mycalendar.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Colonne de valeurs primitives de largeur fixe, projetée en mémoire depuis un fichier.
+ * La projection est agrandie par doublement quand la capacité est atteinte ;
+ * les valeurs ne transitent jamais par le tas.
+ */
+class MappedColumn implements Closeable {
+    private final FileChannel channel;
+    private final int width;
+    private MappedByteBuffer buffer;
+    private int capacity;
+
+    /**
+     * Ouvre ou crée le fichier de la colonne.
+     * @param file Le fichier de la colonne
+     * @param width La largeur d'une valeur en octets
+     * @param minCapacity Le nombre de lignes à pouvoir contenir dès l'ouverture
+     */
+    MappedColumn(Path file, int width, int minCapacity) throws IOException {
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.width = width;
+        int existing = (int) (channel.size() / width);
+        remap(Math.max(existing, minCapacity));
+    }
+
+    /**
+     * Garantit que la colonne peut contenir la ligne donnée.
+     * @param row L'indice de la ligne
+     */
+    void ensureCapacity(int row) throws IOException {
+        if (row >= capacity) {
+            long doubled = Math.max((long) capacity * 2, row + 1L);
+            long maxRows = Integer.MAX_VALUE / width;
+            if (row >= maxRows) {
+                throw new IOException("Capacité maximale de la colonne atteinte : " + maxRows + " lignes");
+            }
+            remap((int) Math.min(doubled, maxRows));
+        }
+    }
+
+    long getLong(int row) {
+        return buffer.getLong(row * width);
+    }
+
+    void putLong(int row, long value) {
+        buffer.putLong(row * width, value);
+    }
+
+    int getInt(int row) {
+        return buffer.getInt(row * width);
+    }
+
+    void putInt(int row, int value) {
+        buffer.putInt(row * width, value);
+    }
+
+    byte getByte(int row) {
+        return buffer.get(row * width);
+    }
+
+    void putByte(int row, byte value) {
+        buffer.put(row * width, value);
+    }
+
+    /**
+     * Force l'écriture des pages modifiées sur le disque.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void remap(int rows) throws IOException {
+        // Projeter au-delà de la fin du fichier l'agrandit d'autant
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) rows * width);
+        capacity = rows;
+    }
+}
@@ -0,0 +1,430 @@
+package com.mycalendar.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import com.mycalendar.CalendarStore;
+import com.mycalendar.events.DateEvent;
+import com.mycalendar.events.DurationEvent;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.EventId;
+import com.mycalendar.events.FrequencyEvent;
+import com.mycalendar.events.MeetingEvent;
+import com.mycalendar.events.MessageEvent;
+import com.mycalendar.events.OwnerEvent;
+import com.mycalendar.events.ParticipantEvent;
+import com.mycalendar.events.PeriodicEvent;
+import com.mycalendar.events.PersonalEvent;
+import com.mycalendar.events.PlaceEvent;
+import com.mycalendar.events.PriorityEvent;
+import com.mycalendar.events.ReminderEvent;
+import com.mycalendar.events.TaskEvent;
+import com.mycalendar.events.TitleEvent;
+import com.mycalendar.events.TypeEvent;
+import com.mycalendar.index.EventConflict;
+
+/**
+ * Stockage des événements hors du tas, en colonnes de valeurs primitives projetées en mémoire.
+ * Chaque événement occupe une ligne : date de début (secondes depuis l'époque, UTC), durée, type,
+ * indicateurs, codes du propriétaire et du titre, identifiant et champs propres au type.
+ * Les chaînes sont rangées une seule fois dans un dictionnaire ; les objets {@link Event}
+ * ne sont reconstruits que pour les lignes retenues par une requête.
+ *
+ * Les lignes sont ajoutées en fin de colonne. Pour chaque bloc de lignes, les dates de début
+ * extrêmes et la fin la plus tardive sont tenues à jour sur le tas : une requête de période ou
+ * de conflit saute les blocs qui ne peuvent pas y répondre, ce qui est très efficace quand
+ * les événements sont ajoutés à peu près dans l'ordre chronologique. Une suppression marque
+ * seulement la ligne, qui n'est plus jamais renvoyée.
+ *
+ * Les dates sont conservées à la seconde près.
+ */
+public class MappedEventStore implements CalendarStore, Closeable {
+    private static final int BLOCK_SIZE = 4096;
+    private static final int INITIAL_CAPACITY = BLOCK_SIZE;
+    private static final byte DELETED = 1;
+    private static final byte DICTIONARY_ID = 2;
+    private static final TypeEvent[] TYPES = TypeEvent.values();
+    private static final byte PERIODIC = (byte) TypeEvent.PERIODIQUE.ordinal();
+
+    private final MappedColumn header;
+    private final MappedColumn starts;
+    private final MappedColumn durations;
+    private final MappedColumn types;
+    private final MappedColumn flags;
+    private final MappedColumn owners;
+    private final MappedColumn titles;
+    private final MappedColumn idHighs;
+    private final MappedColumn idLows;
+    private final MappedColumn details;
+    private final MappedColumn participants;
+    private final List<MappedColumn> columns;
+    private final StringDictionary dictionary;
+    private final RowIdTable idTable;
+    private long[] blockMinStart;
+    private long[] blockMaxStart;
+    private long[] blockMaxEnd;
+    private int[] recurringRows;
+    private int recurringCount;
+    private int rowCount;
+    private int liveCount;
+
+    /**
+     * Ouvre le stockage contenu dans un répertoire, ou l'y crée.
+     * @param directory Le répertoire des fichiers de colonnes
+     * @throws IOException En cas d'erreur lors de l'ouverture des fichiers
+     */
+    public MappedEventStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.header = new MappedColumn(directory.resolve("header.col"), Long.BYTES, 1);
+        this.starts = new MappedColumn(directory.resolve("start.col"), Long.BYTES, INITIAL_CAPACITY);
+        this.durations = new MappedColumn(directory.resolve("duration.col"), Integer.BYTES, INITIAL_CAPACITY);
+        this.types = new MappedColumn(directory.resolve("type.col"), Byte.BYTES, INITIAL_CAPACITY);
+        this.flags = new MappedColumn(directory.resolve("flags.col"), Byte.BYTES, INITIAL_CAPACITY);
+        this.owners = new MappedColumn(directory.resolve("owner.col"), Integer.BYTES, INITIAL_CAPACITY);
+        this.titles = new MappedColumn(directory.resolve("title.col"), Integer.BYTES, INITIAL_CAPACITY);
+        this.idHighs = new MappedColumn(directory.resolve("id-high.col"), Long.BYTES, INITIAL_CAPACITY);
+        this.idLows = new MappedColumn(directory.resolve("id-low.col"), Long.BYTES, INITIAL_CAPACITY);
+        this.details = new MappedColumn(directory.resolve("detail.col"), Integer.BYTES, INITIAL_CAPACITY);
+        this.participants = new MappedColumn(directory.resolve("participants.col"), Integer.BYTES, INITIAL_CAPACITY);
+        this.columns = List.of(starts, durations, types, flags, owners, titles, idHighs, idLows, details, participants);
+        this.dictionary = new StringDictionary(directory.resolve("strings.dict"));
+        this.idTable = new RowIdTable();
+        this.blockMinStart = new long[0];
+        this.blockMaxStart = new long[0];
+        this.blockMaxEnd = new long[0];
+        this.recurringRows = new int[16];
+
+        // Les résumés de blocs et la table des identifiants ne sont pas persistés : ils sont reconstruits
+        this.rowCount = (int) header.getLong(0);
+        for (int row = 0; row < rowCount; row++) {
+            if ((flags.getByte(row) & DELETED) == 0) {
+                indexRow(row);
+                liveCount++;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void ajouterEvent(Event event) {
+        try {
+            int previous = findRow(event.getId());
+            if (previous >= 0) {
+                markDeleted(previous);
+            }
+            int row = rowCount;
+            for (MappedColumn column : columns) {
+                column.ensureCapacity(row);
+            }
+            writeRow(row, event);
+            dictionary.flush();
+            // Le nombre de lignes n'est publié qu'une fois la ligne entièrement écrite
+            rowCount++;
+            header.putLong(0, rowCount);
+            indexRow(row);
+            liveCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized boolean supprimerEvent(EventId eventId) {
+        int row = findRow(eventId);
+        if (row < 0) {
+            return false;
+        }
+        markDeleted(row);
+        return true;
+    }
+
+    /**
+     * Retourne les événements qui se produisent dans la période. Les événements ponctuels sont triés
+     * par date de début et suivis des événements récurrents, comme dans {@link com.mycalendar.CalendarManager}.
+     * @param debut La date de début de la période (incluse)
+     * @param fin La date de fin de la période (incluse)
+     * @return La liste des événements dans la période
+     */
+    @Override
+    public synchronized List<Event> eventsDansPeriode(LocalDateTime debut, LocalDateTime fin) {
+        List<Event> result = new ArrayList<>();
+        long from = debut.toEpochSecond(ZoneOffset.UTC);
+        long to = fin.toEpochSecond(ZoneOffset.UTC);
+        if (to < from) {
+            return result;
+        }
+        for (int block = 0; block < blockMinStart.length; block++) {
+            if (blockMinStart[block] > to || blockMaxStart[block] < from) {
+                continue;
+            }
+            int end = Math.min(rowCount, (block + 1) * BLOCK_SIZE);
+            for (int row = block * BLOCK_SIZE; row < end; row++) {
+                long start = starts.getLong(row);
+                if (start >= from && start <= to && isLiveOneOff(row)) {
+                    result.add(readRow(row));
+                }
+            }
+        }
+        result.sort(Comparator.comparing(Event::getStartDate));
+        DateEvent periodStart = new DateEvent(debut);
+        DateEvent periodEnd = new DateEvent(fin);
+        for (int i = 0; i < recurringCount; i++) {
+            Event event = readRow(recurringRows[i]);
+            if (event.occursInPeriod(periodStart, periodEnd)) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized List<Event> evenementsEnConflit(Event event) {
+        List<Event> result = new ArrayList<>();
+        long from = event.getStartDate().toEpochSecond();
+        long to = event.getEndDate().toEpochSecond();
+        for (int block = 0; block < blockMinStart.length; block++) {
+            if (blockMinStart[block] >= to || blockMaxEnd[block] <= from) {
+                continue;
+            }
+            int end = Math.min(rowCount, (block + 1) * BLOCK_SIZE);
+            for (int row = block * BLOCK_SIZE; row < end; row++) {
+                long start = starts.getLong(row);
+                if (start < to && endOf(row, start) > from && isLiveOneOff(row)) {
+                    Event candidate = readRow(row);
+                    if (!candidate.getId().equals(event.getId()) && EventConflict.inConflict(candidate, event)) {
+                        result.add(candidate);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized List<Event> getAllEvents() {
+        List<Event> result = new ArrayList<>(liveCount);
+        for (int row = 0; row < rowCount; row++) {
+            if ((flags.getByte(row) & DELETED) == 0) {
+                result.add(readRow(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retourne le nombre d'événements du stockage.
+     * @return Le nombre d'événements
+     */
+    public synchronized int size() {
+        return liveCount;
+    }
+
+    /**
+     * Force l'écriture sur le disque des colonnes et du dictionnaire.
+     * @throws IOException En cas d'erreur lors de l'écriture
+     */
+    public synchronized void flush() throws IOException {
+        dictionary.flush();
+        for (MappedColumn column : columns) {
+            column.force();
+        }
+        header.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        dictionary.close();
+        for (MappedColumn column : columns) {
+            column.close();
+        }
+        header.close();
+    }
+
+    private void writeRow(int row, Event event) throws IOException {
+        starts.putLong(row, event.getStartDate().toEpochSecond());
+        durations.putInt(row, event.getDuration().getMinutes());
+        types.putByte(row, (byte) event.getType().ordinal());
+        owners.putInt(row, dictionary.encode(event.getOwner().getValue()));
+        titles.putInt(row, dictionary.encode(event.getTitle().getValue()));
+
+        byte rowFlags = 0;
+        String id = event.getId().getValue();
+        UUID uuid = parseUuid(id);
+        if (uuid != null) {
+            idHighs.putLong(row, uuid.getMostSignificantBits());
+            idLows.putLong(row, uuid.getLeastSignificantBits());
+        } else {
+            // Identifiant libre (hors UUID) : rangé dans le dictionnaire
+            idHighs.putLong(row, dictionary.encode(id));
+            idLows.putLong(row, 0);
+            rowFlags |= DICTIONARY_ID;
+        }
+        flags.putByte(row, rowFlags);
+
+        int detail = StringDictionary.NONE;
+        int participantList = StringDictionary.NONE;
+        switch (event.getType()) {
+            case REUNION:
+                MeetingEvent meeting = (MeetingEvent) event;
+                detail = dictionary.encode(meeting.getPlace().getValue());
+                participantList = dictionary.encode(meeting.getParticipants().toString());
+                break;
+            case PERIODIQUE:
+                detail = ((PeriodicEvent) event).getFrequency().getDays();
+                break;
+            case TASK:
+                detail = dictionary.encode(((TaskEvent) event).getPriority().getValue());
+                break;
+            case RAPPEL:
+                detail = dictionary.encode(((ReminderEvent) event).getMessage().getValue());
+                break;
+            default:
+                break;
+        }
+        details.putInt(row, detail);
+        participants.putInt(row, participantList);
+    }
+
+    private Event readRow(int row) {
+        EventId id;
+        if ((flags.getByte(row) & DICTIONARY_ID) != 0) {
+            id = new EventId(dictionary.decode((int) idHighs.getLong(row)));
+        } else {
+            id = new EventId(new UUID(idHighs.getLong(row), idLows.getLong(row)).toString());
+        }
+        TitleEvent title = new TitleEvent(dictionary.decode(titles.getInt(row)));
+        OwnerEvent owner = OwnerEvent.of(dictionary.decode(owners.getInt(row)));
+        DateEvent start = new DateEvent(LocalDateTime.ofEpochSecond(starts.getLong(row), 0, ZoneOffset.UTC));
+        DurationEvent duration = new DurationEvent(durations.getInt(row));
+        int detail = details.getInt(row);
+        switch (TYPES[types.getByte(row)]) {
+            case REUNION:
+                return new MeetingEvent(id, title, owner, start, duration,
+                        PlaceEvent.of(dictionary.decode(detail)),
+                        ParticipantEvent.of(dictionary.decode(participants.getInt(row))));
+            case PERIODIQUE:
+                return new PeriodicEvent(id, title, owner, start, new FrequencyEvent(detail));
+            case TASK:
+                return new TaskEvent(id, title, owner, start, PriorityEvent.of(dictionary.decode(detail)));
+            case RAPPEL:
+                return new ReminderEvent(id, title, owner, start, new MessageEvent(dictionary.decode(detail)));
+            default:
+                return new PersonalEvent(id, title, owner, start, duration);
+        }
+    }
+
+    /**
+     * Rend une ligne visible aux requêtes : table des identifiants, puis résumé de son bloc
+     * ou liste des événements récurrents.
+     */
+    private void indexRow(int row) {
+        if (idTable.isFull()) {
+            idTable.clearAndGrow();
+            for (int indexed = 0; indexed < row; indexed++) {
+                if ((flags.getByte(indexed) & DELETED) == 0) {
+                    idTable.put(idHash(indexed), indexed);
+                }
+            }
+        }
+        idTable.put(idHash(row), row);
+
+        if (types.getByte(row) == PERIODIC) {
+            if (recurringCount == recurringRows.length) {
+                recurringRows = Arrays.copyOf(recurringRows, recurringCount * 2);
+            }
+            recurringRows[recurringCount++] = row;
+            return;
+        }
+        int block = row / BLOCK_SIZE;
+        if (block >= blockMinStart.length) {
+            growBlocks(block + 1);
+        }
+        long start = starts.getLong(row);
+        blockMinStart[block] = Math.min(blockMinStart[block], start);
+        blockMaxStart[block] = Math.max(blockMaxStart[block], start);
+        blockMaxEnd[block] = Math.max(blockMaxEnd[block], endOf(row, start));
+    }
+
+    private void markDeleted(int row) {
+        flags.putByte(row, (byte) (flags.getByte(row) | DELETED));
+        liveCount--;
+        if (types.getByte(row) == PERIODIC) {
+            for (int i = 0; i < recurringCount; i++) {
+                if (recurringRows[i] == row) {
+                    recurringRows[i] = recurringRows[--recurringCount];
+                    break;
+                }
+            }
+        }
+    }
+
+    private int findRow(EventId eventId) {
+        String id = eventId.getValue();
+        UUID uuid = parseUuid(id);
+        long high;
+        long low;
+        boolean inDictionary = uuid == null;
+        if (inDictionary) {
+            int code = dictionary.codeOf(id);
+            if (code == StringDictionary.NONE) {
+                return -1;
+            }
+            high = code;
+            low = 0;
+        } else {
+            high = uuid.getMostSignificantBits();
+            low = uuid.getLeastSignificantBits();
+        }
+        byte expectedFlags = inDictionary ? DICTIONARY_ID : 0;
+        return idTable.find(high ^ low, row -> flags.getByte(row) == expectedFlags
+                && idHighs.getLong(row) == high && idLows.getLong(row) == low);
+    }
+
+    private long idHash(int row) {
+        return idHighs.getLong(row) ^ idLows.getLong(row);
+    }
+
+    private boolean isLiveOneOff(int row) {
+        return (flags.getByte(row) & DELETED) == 0 && types.getByte(row) != PERIODIC;
+    }
+
+    private long endOf(int row, long start) {
+        return start + durations.getInt(row) * 60L;
+    }
+
+    private void growBlocks(int blocks) {
+        int previous = blockMinStart.length;
+        int capacity = Math.max(blocks, previous * 2);
+        blockMinStart = Arrays.copyOf(blockMinStart, capacity);
+        blockMaxStart = Arrays.copyOf(blockMaxStart, capacity);
+        blockMaxEnd = Arrays.copyOf(blockMaxEnd, capacity);
+        Arrays.fill(blockMinStart, previous, capacity, Long.MAX_VALUE);
+        Arrays.fill(blockMaxStart, previous, capacity, Long.MIN_VALUE);
+        Arrays.fill(blockMaxEnd, previous, capacity, Long.MIN_VALUE);
+    }
+
+    /**
+     * Retourne l'UUID représenté par un identifiant, ou null s'il ne s'agit pas d'un UUID
+     * écrit sous sa forme canonique.
+     */
+    private static UUID parseUuid(String id) {
+        if (id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.mycalendar.store;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Table de hachage à adressage ouvert associant un identifiant d'événement à sa ligne.
+ * Seuls les numéros de ligne sont stockés, dans un unique tableau d'entiers ; la comparaison
+ * des identifiants est déléguée à l'appelant, qui les relit dans les colonnes.
+ * Les lignes supprimées restent dans la table et sont ignorées à la recherche.
+ */
+class RowIdTable {
+    private static final int EMPTY = -1;
+
+    private int[] slots;
+    private int used;
+
+    RowIdTable() {
+        this.slots = newSlots(1024);
+    }
+
+    /**
+     * Enregistre une ligne.
+     * @param hash Le hachage de l'identifiant de la ligne
+     * @param row La ligne
+     */
+    void put(long hash, int row) {
+        if ((used + 1) * 2 > slots.length) {
+            throw new IllegalStateException("La table doit être agrandie avant l'ajout");
+        }
+        int mask = slots.length - 1;
+        int slot = spread(hash) & mask;
+        while (slots[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = row;
+        used++;
+    }
+
+    /**
+     * Recherche la ligne d'un identifiant.
+     * @param hash Le hachage de l'identifiant
+     * @param matches Indique si une ligne porte l'identifiant cherché et n'est pas supprimée
+     * @return La ligne, ou -1 si aucune ne correspond
+     */
+    int find(long hash, IntPredicate matches) {
+        int mask = slots.length - 1;
+        int slot = spread(hash) & mask;
+        while (slots[slot] != EMPTY) {
+            if (matches.test(slots[slot])) {
+                return slots[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Indique si la table doit être reconstruite plus grande avant l'ajout suivant.
+     * @return true si le taux de remplissage atteint la moitié
+     */
+    boolean isFull() {
+        return (used + 1) * 2 > slots.length;
+    }
+
+    /**
+     * Vide la table en doublant sa capacité ; l'appelant y remet ensuite toutes les lignes.
+     */
+    void clearAndGrow() {
+        slots = newSlots(slots.length * 2);
+        used = 0;
+    }
+
+    private static int[] newSlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+
+    private static int spread(long hash) {
+        long h = hash * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,96 @@
+package com.mycalendar.store;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionnaire des chaînes référencées par les colonnes : chaque valeur distincte
+ * (propriétaire, titre, lieu...) n'est stockée qu'une fois et les colonnes n'en gardent que le code.
+ * Les nouvelles valeurs sont ajoutées en fin de fichier dans l'ordre de leur code.
+ */
+class StringDictionary implements Closeable {
+    static final int NONE = -1;
+
+    private final List<String> values;
+    private final Map<String, Integer> codes;
+    private final DataOutputStream out;
+
+    /**
+     * Ouvre ou crée le fichier du dictionnaire et recharge les valeurs déjà enregistrées.
+     * @param file Le fichier du dictionnaire
+     */
+    StringDictionary(Path file) throws IOException {
+        this.values = new ArrayList<>();
+        this.codes = new HashMap<>();
+        if (Files.exists(file)) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                while (true) {
+                    String value = in.readUTF();
+                    codes.put(value, values.size());
+                    values.add(value);
+                }
+            } catch (EOFException e) {
+                // Fin du dictionnaire
+            }
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    }
+
+    /**
+     * Retourne le code d'une valeur, en l'ajoutant au dictionnaire si nécessaire.
+     * @param value La valeur
+     * @return Le code de la valeur
+     */
+    int encode(String value) throws IOException {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            out.writeUTF(value);
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Retourne le code d'une valeur sans l'ajouter.
+     * @param value La valeur
+     * @return Le code de la valeur, ou {@link #NONE} si elle est absente du dictionnaire
+     */
+    int codeOf(String value) {
+        return codes.getOrDefault(value, NONE);
+    }
+
+    /**
+     * Retourne la valeur associée à un code.
+     * @param code Le code
+     * @return La valeur
+     */
+    String decode(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Écrit les valeurs ajoutées depuis le dernier appel.
+     */
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -1,9 +1,13 @@
 package com.mycalendar.ui;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Scanner;
 
 import com.mycalendar.CalendarManager;
+import com.mycalendar.persistence.JournalPersistence;
+import com.mycalendar.persistence.SnapshotFormat;
+import com.mycalendar.reminder.ReminderScheduler;
 import com.mycalendar.user.User;
 import com.mycalendar.user.UserManager;
 
@@ -11,24 +15,39 @@ import com.mycalendar.user.UserManager;
  * Classe pour gérer l'application.
  */
 public class Application {
+    private static final File JOURNAL_FILE = new File("calendar_events.journal");
+    private static final int COMPACTION_THRESHOLD = 1000;
+    
     private final Scanner scanner;
     private final CalendarManager calendarManager;
     private final UserManager userManager;
     private final AuthUI authUI;
     private final CalendarUI calendarUI;
+    private final ReminderScheduler reminderScheduler;
     
     /**
      * Constructeur.
      */
     public Application() {
         this.scanner = new Scanner(System.in);
-        this.calendarManager = new CalendarManager();
+        // Sauvegardes binaires : au démarrage, le calendrier est ouvert par ses index sans être décodé
+        this.calendarManager = new CalendarManager(new JournalPersistence(JOURNAL_FILE, COMPACTION_THRESHOLD),
+                SnapshotFormat.BINARY);
         this.userManager = new UserManager();
         this.calendarUI = new CalendarUI(scanner, calendarManager);
         this.authUI = new AuthUI(scanner, userManager, calendarUI);
         
         // Charger les événements depuis le fichier par défaut
         loadEventsFromDefaultFile();
+        
+        // Les rappels et échéances à venir sont affichés à leur heure, quel que soit le menu en cours
+        this.reminderScheduler = new ReminderScheduler(
+                event -> System.out.println("\nRappel : " + event.description()));
+        calendarManager.addListener(reminderScheduler);
+        calendarManager.completeLoadAsync().exceptionally(e -> {
+            System.out.println("Erreur lors du chargement des événements : " + e.getMessage());
+            return null;
+        });
     }
     
     /**
@@ -55,6 +74,19 @@ public class Application {
             }
         } finally {
             scanner.close();
+            closeCalendar();
+        }
+    }
+    
+    /**
+     * Écrit les dernières modifications du calendrier avant de quitter.
+     */
+    private void closeCalendar() {
+        reminderScheduler.close();
+        try {
+            calendarManager.close();
+        } catch (IOException e) {
+            System.out.println("Erreur lors de la sauvegarde des événements : " + e.getMessage());
         }
     }
     
@@ -3,17 +3,23 @@ package com.mycalendar.ui;
 import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.mycalendar.CalendarManager;
-import com.mycalendar.events.Event;
+import com.mycalendar.events.Occurrence;
 import com.mycalendar.user.User;
 
 /**
  * Classe responsable de l'interface utilisateur du calendrier.
  */
 public class CalendarUI {
+    private static final int UPCOMING_COUNT = 20;
+    private static final DateTimeFormatter OCCURRENCE_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    
     private final Scanner scanner;
     private final CalendarManager calendarManager;
     private final DateTimeInputHelper dateTimeHelper;
@@ -91,22 +97,27 @@ public class CalendarUI {
                     calendarManager.afficherEvenements();
                     return null;
                 }))
-                .addOption("2", "Afficher les événements d'un MOIS précis", MenuOption.of(() -> {
+                .addOption("2", "Afficher mes événements d'un MOIS précis", MenuOption.of(() -> {
                     LocalDateTime[] periodeMois = dateTimeHelper.inputMonthPeriod();
-                    displayEventList(calendarManager.eventsDansPeriode(periodeMois[0], periodeMois[1]));
+                    displayOccurrences(calendarManager.occurrencesDansPeriode(currentUser.getUsername(), periodeMois[0], periodeMois[1]));
                     return null;
                 }))
-                .addOption("3", "Afficher les événements d'une SEMAINE précise", MenuOption.of(() -> {
+                .addOption("3", "Afficher mes événements d'une SEMAINE précise", MenuOption.of(() -> {
                     LocalDateTime[] periodeSemaine = dateTimeHelper.inputWeekPeriod();
-                    displayEventList(calendarManager.eventsDansPeriode(periodeSemaine[0], periodeSemaine[1]));
+                    displayOccurrences(calendarManager.occurrencesDansPeriode(currentUser.getUsername(), periodeSemaine[0], periodeSemaine[1]));
                     return null;
                 }))
-                .addOption("4", "Afficher les événements d'un JOUR précis", MenuOption.of(() -> {
+                .addOption("4", "Afficher mes événements d'un JOUR précis", MenuOption.of(() -> {
                     LocalDateTime[] periodeJour = dateTimeHelper.inputDayPeriod();
-                    displayEventList(calendarManager.eventsDansPeriode(periodeJour[0], periodeJour[1]));
+                    displayOccurrences(calendarManager.occurrencesDansPeriode(currentUser.getUsername(), periodeJour[0], periodeJour[1]));
+                    return null;
+                }))
+                .addOption("5", "Afficher mes " + UPCOMING_COUNT + " prochains événements", MenuOption.of(() -> {
+                    displayOccurrences(calendarManager.occurrencesAPartirDe(currentUser.getUsername(), LocalDateTime.now())
+                            .limit(UPCOMING_COUNT));
                     return null;
                 }))
-                .addOption("5", "Retour", MenuOption.of(() -> null))
+                .addOption("6", "Retour", MenuOption.of(() -> null))
                 .setDefaultAction(choice -> null)
                 .build();
     }
@@ -119,24 +130,26 @@ public class CalendarUI {
     }
     
     /**
-     * Affiche une liste d'événements.
-     * @param evenements La liste d'événements à afficher
+     * Affiche des occurrences d'événements, une ligne par occurrence avec sa date.
+     * @param occurrences Les occurrences à afficher, dans l'ordre chronologique
      */
-    private void displayEventList(List<Event> evenements) {
-        new EventListPrinter(evenements).print();
+    private void displayOccurrences(Stream<Occurrence> occurrences) {
+        new EventListPrinter(occurrences
+                .map(o -> o.getStart().getDateTime().format(OCCURRENCE_DATE) + " " + o.getEvent().description())
+                .collect(Collectors.toList())).print();
     }
     
     /**
      * Classe pour afficher une liste d'événements.
      */
     private static class EventListPrinter {
-        private final List<Event> events;
+        private final List<String> events;
         
         /**
          * Constructeur.
-         * @param events La liste d'événements
+         * @param events Les lignes décrivant les événements
          */
-        public EventListPrinter(List<Event> events) {
+        public EventListPrinter(List<String> events) {
             this.events = events;
         }
         
@@ -149,7 +162,7 @@ public class CalendarUI {
                 () -> System.out.println("Aucun événement trouvé pour cette période."),
                 () -> {
                     System.out.println("Événements trouvés : ");
-                    events.forEach(e -> System.out.println("- " + e.description()));
+                    events.forEach(e -> System.out.println("- " + e));
                 }
             ).execute();
         }
@@ -1,11 +1,30 @@
 package com.mycalendar;
 
 import com.mycalendar.events.*;
+import com.mycalendar.index.EventConflict;
+import com.mycalendar.persistence.PersistencePolicy;
+import com.mycalendar.persistence.SaveAction;
+import com.mycalendar.persistence.WriteBehindPersistence;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -136,6 +155,20 @@ public class CalendarManagerTest {
         assertFalse(result);
     }
     
+    @Test
+    public void testEventsDansPeriodeApresSuppression() {
+        calendarManager.ajouterEvent(personalEvent);
+        calendarManager.ajouterEvent(meetingEvent);
+        calendarManager.supprimerEvent(personalEvent.getId());
+
+        LocalDateTime startPeriod = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0);
+        LocalDateTime endPeriod = LocalDateTime.now().plusDays(1).withHour(23).withMinute(59);
+
+        List<Event> eventsInPeriod = calendarManager.eventsDansPeriode(startPeriod, endPeriod);
+
+        assertEquals(List.of(meetingEvent), eventsInPeriod);
+    }
+
     @Test
     public void testEvenementsEnConflit() {
         Event event1 = new PersonalEvent(
@@ -168,6 +201,39 @@ public class CalendarManagerTest {
         assertTrue(conflictingEvents.contains(event2));
     }
     
+    @Test
+    public void testAllConflicts() {
+        Event event1 = new PersonalEvent(
+            "Événement 1", 
+            "John", 
+            new DateEvent(LocalDateTime.of(2025, 4, 15, 10, 0)), 
+            new DurationEvent(60)
+        );
+        
+        Event event2 = new PersonalEvent(
+            "Événement 2", 
+            "John", 
+            new DateEvent(LocalDateTime.of(2025, 4, 15, 10, 30)), 
+            new DurationEvent(60)
+        );
+        
+        Event event3 = new PersonalEvent(
+            "Événement 3", 
+            "John", 
+            new DateEvent(LocalDateTime.of(2025, 4, 15, 11, 30)), 
+            new DurationEvent(60)
+        );
+        
+        calendarManager.ajouterEvent(event1);
+        calendarManager.ajouterEvent(event2);
+        calendarManager.ajouterEvent(event3);
+        calendarManager.ajouterEvent(taskEvent);
+        
+        // event2 se termine quand event3 commence : ils se touchent sans être en conflit
+        List<EventConflict> conflicts = calendarManager.allConflicts();
+        assertEquals(List.of(new EventConflict(event1, event2)), conflicts);
+    }
+    
     @Test
     public void testTaskEventDoesNotConflict() {
         calendarManager.ajouterEvent(personalEvent);
@@ -182,6 +248,25 @@ public class CalendarManagerTest {
         assertTrue(conflictingWithPersonal.isEmpty());
     }
     
+    @Test
+    public void testAsymmetricPairIsJudgedTheSameByAllConflictApis() {
+        // Le rendez-vous chevauche la tâche, mais la tâche n'est en conflit avec rien
+        Event deadline = new TaskEvent("Envoyer le dossier", "John",
+            new DateEvent(personalEvent.getStartDate().getDateTime().plusMinutes(30)), "HIGH");
+        assertTrue(personalEvent.conflictsWith(deadline));
+        assertFalse(deadline.conflictsWith(personalEvent));
+        calendarManager.ajouterEvent(personalEvent);
+        calendarManager.ajouterEvent(deadline);
+        
+        assertFalse(calendarManager.conflit(personalEvent, deadline));
+        assertFalse(calendarManager.conflit(deadline, personalEvent));
+        assertTrue(calendarManager.evenementsEnConflit(personalEvent).isEmpty());
+        assertTrue(calendarManager.evenementsEnConflit(deadline).isEmpty());
+        assertTrue(calendarManager.evenementsEnConflit("John", deadline).isEmpty());
+        assertTrue(calendarManager.allConflicts().isEmpty());
+        assertTrue(calendarManager.allConflicts("John").isEmpty());
+    }
+    
     @Test
     public void testReminderEventDoesNotConflict() {
         calendarManager.ajouterEvent(personalEvent);
@@ -208,4 +293,430 @@ public class CalendarManagerTest {
         assertEquals(1, eventsInPeriod.size());
         assertTrue(eventsInPeriod.contains(reminderEvent));
     }
+    
+    @Test
+    public void testEventsDansPeriodeForUser() {
+        calendarManager.ajouterEvent(personalEvent);
+        calendarManager.ajouterEvent(meetingEvent);
+        Event otherUserEvent = new PersonalEvent("Dentiste", "Carla",
+            new DateEvent(personalEvent.getStartDate().getDateTime()), new DurationEvent(30));
+        calendarManager.ajouterEvent(otherUserEvent);
+        
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0);
+        LocalDateTime end = LocalDateTime.now().plusDays(1).withHour(23).withMinute(59);
+        
+        assertEquals(List.of(personalEvent, meetingEvent), calendarManager.eventsDansPeriode("John", start, end));
+        assertEquals(List.of(meetingEvent), calendarManager.eventsDansPeriode("alice", start, end));
+        assertEquals(List.of(otherUserEvent), calendarManager.eventsDansPeriode("Carla", start, end));
+        assertTrue(calendarManager.eventsDansPeriode("Inconnu", start, end).isEmpty());
+        
+        // Seul l'agenda de l'utilisateur demandé est examiné
+        assertEquals(List.of(personalEvent), calendarManager.evenementsEnConflit("John", otherUserEvent));
+        assertTrue(calendarManager.evenementsEnConflit("Alice", otherUserEvent).isEmpty());
+        
+        calendarManager.supprimerEvent(meetingEvent.getId());
+        assertTrue(calendarManager.eventsDansPeriode("Alice", start, end).isEmpty());
+    }
+    
+    @Test
+    public void testReunionsAvecParticipant() {
+        calendarManager.ajouterEvent(personalEvent);
+        calendarManager.ajouterEvent(meetingEvent);
+        Event bobMeeting = new MeetingEvent("Point budget", "Bob",
+            new DateEvent(meetingEvent.getStartDate().getDateTime().plusHours(3)), new DurationEvent(30),
+            "Salle B", "Carla");
+        calendarManager.ajouterEvent(bobMeeting);
+        
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0);
+        LocalDateTime end = LocalDateTime.now().plusDays(1).withHour(23).withMinute(59);
+        
+        assertEquals(List.of(meetingEvent), calendarManager.reunionsAvecParticipant("John", start, end));
+        assertEquals(List.of(meetingEvent, bobMeeting), calendarManager.reunionsAvecParticipant("bob", start, end));
+        assertEquals(List.of(bobMeeting), calendarManager.reunionsAvecParticipant("Carla", start, end));
+        assertTrue(calendarManager.reunionsAvecParticipant("Alice", end, end.plusDays(1)).isEmpty());
+    }
+    
+    @Test
+    public void testParticipantsIndisponibles() {
+        calendarManager.ajouterEvent(meetingEvent);
+        Event aliceDentist = new PersonalEvent("Dentiste", "Alice",
+            new DateEvent(meetingEvent.getStartDate().getDateTime().plusMinutes(30)), new DurationEvent(60));
+        calendarManager.ajouterEvent(aliceDentist);
+        
+        // Réunion envisagée avec Alice et Carla, pendant la réunion projet et le dentiste d'Alice
+        Event proposal = new MeetingEvent("Atelier", "Carla",
+            new DateEvent(meetingEvent.getStartDate().getDateTime().plusMinutes(45)), new DurationEvent(30),
+            "Salle C", "Alice, Dave");
+        Map<String, List<Event>> unavailable = calendarManager.participantsIndisponibles(proposal);
+        
+        assertEquals(List.of("Alice"), List.copyOf(unavailable.keySet()));
+        assertEquals(List.of(meetingEvent, aliceDentist), unavailable.get("Alice"));
+        
+        assertEquals(List.of(new EventConflict(meetingEvent, aliceDentist)), calendarManager.allConflicts("Alice"));
+        assertTrue(calendarManager.allConflicts("Bob").isEmpty());
+    }
+    
+    @Test
+    public void testListenersSeeEveryMutationInOrder() throws Exception {
+        CalendarManager manager = new CalendarManager(new CountingPersistence());
+        manager.ajouterEvent(personalEvent);
+        List<String> notifications = new ArrayList<>();
+        CalendarListener listener = new CalendarListener() {
+            @Override
+            public void eventAdded(Event event) {
+                notifications.add("+" + event.getTitle());
+            }
+            
+            @Override
+            public void eventRemoved(Event event) {
+                notifications.add("-" + event.getTitle());
+            }
+            
+            @Override
+            public void calendarCleared() {
+                notifications.add("clear");
+            }
+        };
+        manager.addListener(listener);
+        
+        manager.ajouterEvent(meetingEvent);
+        manager.ajouterEvent(new PersonalEvent(personalEvent.getId(), new TitleEvent("Dentiste"),
+            personalEvent.getOwner(), personalEvent.getStartDate(), personalEvent.getDuration()));
+        manager.supprimerEvent(meetingEvent.getId());
+        manager.removeListener(listener);
+        manager.supprimerEvent(personalEvent.getId());
+        
+        assertEquals(List.of("+Rendez-vous médecin", "+Réunion projet", "-Rendez-vous médecin", "+Dentiste",
+            "-Réunion projet"), notifications);
+    }
+    
+    @Test
+    public void testRangeQueriesAreCachedUntilAnOverlappingMutation() {
+        calendarManager.ajouterEvent(personalEvent);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0);
+        LocalDateTime end = LocalDateTime.now().plusDays(1).withHour(23).withMinute(59);
+        
+        List<Event> first = calendarManager.eventsDansPeriode(start, end);
+        first.clear();
+        assertEquals(List.of(personalEvent), calendarManager.eventsDansPeriode(start, end));
+        assertEquals(1, calendarManager.getQueryCacheStats().getHits());
+        
+        // Un événement hors de la période ne touche pas le résultat en cache
+        calendarManager.ajouterEvent(taskEvent);
+        assertEquals(List.of(personalEvent), calendarManager.eventsDansPeriode(start, end));
+        assertEquals(2, calendarManager.getQueryCacheStats().getHits());
+        
+        calendarManager.ajouterEvent(meetingEvent);
+        assertEquals(List.of(personalEvent, meetingEvent), calendarManager.eventsDansPeriode(start, end));
+        assertEquals(2, calendarManager.getQueryCacheStats().getHits());
+    }
+    
+    @Test
+    public void testMutationsAreReportedToPersistencePolicy() throws Exception {
+        CountingPersistence persistence = new CountingPersistence();
+        CalendarManager manager = new CalendarManager(persistence);
+        
+        manager.ajouterEvent(personalEvent);
+        manager.ajouterEvent(meetingEvent);
+        manager.supprimerEvent(personalEvent.getId());
+        manager.supprimerEvent(new EventId());
+        assertEquals(3, persistence.mutations);
+        
+        manager.close();
+        assertTrue(persistence.closed);
+    }
+    
+    @Test
+    public void testBatchInsertIsReportedToPersistenceOnce() {
+        CountingPersistence persistence = new CountingPersistence();
+        CalendarManager manager = new CalendarManager(persistence);
+        List<Event> added = new ArrayList<>();
+        manager.addListener(new CalendarListener() {
+            @Override
+            public void eventAdded(Event event) {
+                added.add(event);
+            }
+            
+            @Override
+            public void eventRemoved(Event event) {
+            }
+        });
+        
+        manager.ajouterEvents(List.of(personalEvent, meetingEvent, taskEvent));
+        
+        assertEquals(1, persistence.batches);
+        assertEquals(0, persistence.mutations);
+        assertEquals(List.of(personalEvent, meetingEvent, taskEvent), added);
+        assertEquals(3, manager.getAllEvents().size());
+    }
+    
+    @Test
+    public void testBatchInsertReplacesExistingEventsAndReportsConflicts() {
+        CountingPersistence persistence = new CountingPersistence();
+        CalendarManager manager = new CalendarManager(persistence);
+        LocalDateTime day = LocalDateTime.of(2025, 4, 15, 0, 0);
+        Event existing = new PersonalEvent("Existant", "John", new DateEvent(day.withHour(9)), new DurationEvent(60));
+        manager.ajouterEvent(existing);
+        Event renamed = new PersonalEvent(existing.getId(), new TitleEvent("Renommé"), new OwnerEvent("John"),
+            new DateEvent(day.withHour(9)), new DurationEvent(60));
+        Event overlapping = new PersonalEvent("Chevauche", "John", new DateEvent(day.withHour(9).withMinute(30)),
+            new DurationEvent(60));
+        Event overlappingToo = new PersonalEvent("Chevauche aussi", "John", new DateEvent(day.withHour(10)),
+            new DurationEvent(30));
+        Event alone = new PersonalEvent("Seul", "John", new DateEvent(day.withHour(15)), new DurationEvent(30));
+        
+        List<EventConflict> conflicts = manager.ajouterEvents(
+            List.of(renamed, overlapping, overlappingToo, alone), true);
+        
+        assertEquals(4, manager.getAllEvents().size());
+        assertEquals("Renommé", manager.eventsDansPeriode(day, day.plusDays(1)).get(0).getTitle().getValue());
+        assertEquals(2, conflicts.size());
+        assertTrue(conflicts.contains(new EventConflict(renamed, overlapping)));
+        assertTrue(conflicts.contains(new EventConflict(overlapping, overlappingToo)));
+        assertEquals(1, persistence.batches);
+        assertEquals(1, persistence.mutations);
+        assertTrue(manager.ajouterEvents(List.of(alone), false).isEmpty());
+    }
+    
+    @Test
+    public void testMutationsThatCannotBePersistedAreUndone() {
+        FailingPersistence persistence = new FailingPersistence();
+        CalendarManager manager = new CalendarManager(persistence);
+        manager.ajouterEvent(personalEvent);
+        manager.ajouterEvent(meetingEvent);
+        LocalDateTime start = personalEvent.getStartDate().getDateTime().minusDays(1);
+        LocalDateTime end = start.plusDays(3);
+        List<Event> before = manager.eventsDansPeriode(start, end);
+        List<String> notifications = new ArrayList<>();
+        manager.addListener(new CalendarListener() {
+            @Override
+            public void eventAdded(Event event) {
+                notifications.add("+" + event.getTitle().getValue());
+            }
+            
+            @Override
+            public void eventRemoved(Event event) {
+                notifications.add("-" + event.getTitle().getValue());
+            }
+        });
+        notifications.clear();
+        Event renamed = new PersonalEvent(personalEvent.getId(), new TitleEvent("Renommé"), new OwnerEvent("John"),
+            personalEvent.getStartDate(), new DurationEvent(60));
+        
+        persistence.failing = true;
+        assertThrows(UncheckedIOException.class, () -> manager.ajouterEvent(taskEvent));
+        assertThrows(UncheckedIOException.class, () -> manager.ajouterEvent(renamed));
+        assertThrows(UncheckedIOException.class, () -> manager.supprimerEvent(meetingEvent.getId()));
+        assertThrows(UncheckedIOException.class, () -> manager.ajouterEvents(List.of(renamed, reminderEvent)));
+        
+        assertEquals(before, manager.eventsDansPeriode(start, end));
+        assertEquals(Set.of(personalEvent, meetingEvent), Set.copyOf(manager.getAllEvents()));
+        assertEquals("Rendez-vous médecin", manager.eventsDansPeriode(start, end).stream()
+            .filter(event -> event.getId().equals(personalEvent.getId()))
+            .findFirst().orElseThrow().getTitle().getValue());
+        // Chaque modification refusée est suivie de son annulation
+        assertEquals(List.of(
+            "+Terminer le rapport", "-Terminer le rapport",
+            "-Rendez-vous médecin", "+Renommé", "-Renommé", "+Rendez-vous médecin",
+            "-Réunion projet", "+Réunion projet",
+            "-Rendez-vous médecin", "+Renommé", "+Rappel important",
+            "-Renommé", "+Rendez-vous médecin", "-Rappel important"), notifications);
+    }
+    
+    @Test
+    public void testDefaultSaveRewritesOnlyTouchedMonths() throws Exception {
+        CapturingPersistence persistence = new CapturingPersistence();
+        CalendarManager manager = new CalendarManager(persistence);
+        File directory = new File("calendar_events");
+        Event april = new PersonalEvent("Avril", "John",
+            new DateEvent(LocalDateTime.of(2025, 4, 15, 9, 0)), new DurationEvent(30));
+        Event may = new PersonalEvent("Mai", "John",
+            new DateEvent(LocalDateTime.of(2025, 5, 15, 9, 0)), new DurationEvent(30));
+        manager.ajouterEvents(List.of(april, may));
+        persistence.saveAction.save();
+        Set<String> before = Set.of(directory.list());
+        
+        manager.ajouterEvent(new PersonalEvent("Mai bis", "John",
+            new DateEvent(LocalDateTime.of(2025, 5, 20, 9, 0)), new DurationEvent(30)));
+        persistence.saveAction.save();
+        
+        // Seule la partition de mai reçoit un nouveau fichier ; celle d'avril est conservée telle quelle
+        List<String> written = Stream.of(directory.list())
+            .filter(name -> name.startsWith("2025-") && !before.contains(name))
+            .collect(Collectors.toList());
+        assertEquals(1, written.size());
+        assertTrue(written.get(0).startsWith("2025-05."));
+        
+        CalendarManager reloaded = new CalendarManager(new CountingPersistence());
+        reloaded.loadEventsFromDefaultFile();
+        assertEquals(3, reloaded.getAllEvents().size());
+    }
+    
+    @Test
+    public void testOverlappingDefaultSavesKeepEveryShard() throws Exception {
+        CalendarManager manager = new CalendarManager(new WriteBehindPersistence(Duration.ofMillis(1), 1));
+        int writers = 4;
+        int eventsPerWriter = 30;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < eventsPerWriter; i++) {
+                    // Chaque ajout touche un autre mois et déclenche une sauvegarde différée,
+                    // pendant que ce thread en demande une lui aussi
+                    manager.ajouterEvent(new PersonalEvent("Écrivain " + writer + " n°" + i, "John",
+                        new DateEvent(LocalDateTime.of(2025, 1, 1, 9, 0).plusMonths(writer * eventsPerWriter + i)),
+                        new DurationEvent(30)));
+                    manager.saveEventsToDefaultFile();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        manager.close();
+        
+        CalendarManager reloaded = new CalendarManager(new CountingPersistence());
+        reloaded.loadEventsFromDefaultFile();
+        assertEquals(writers * eventsPerWriter, reloaded.getAllEvents().size());
+    }
+    
+    @Test
+    public void testConcurrentReadsAndWrites() throws Exception {
+        CalendarManager manager = new CalendarManager(new CountingPersistence());
+        LocalDateTime day = LocalDateTime.of(2025, 4, 15, 0, 0);
+        // Un événement remplacé en boucle à date constante : toute lecture doit le voir exactement une fois
+        EventId stableId = new EventId();
+        manager.ajouterEvent(new PersonalEvent(stableId, new TitleEvent("Stable"), new OwnerEvent("John"),
+            new DateEvent(day.withHour(12)), new DurationEvent(30)));
+        
+        int writers = 4;
+        int eventsPerWriter = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            tasks.add(executor.submit(() -> {
+                for (int i = 0; i < eventsPerWriter; i++) {
+                    Event event = new PersonalEvent("Créneau " + writer + "-" + i, "User" + writer,
+                        new DateEvent(day.plusMinutes(i)), new DurationEvent(15));
+                    manager.ajouterEvent(event);
+                    if (i % 2 == 1) {
+                        assertTrue(manager.supprimerEvent(event.getId()));
+                    }
+                    manager.ajouterEvent(new PersonalEvent(stableId, new TitleEvent("Stable " + i),
+                        new OwnerEvent("John"), new DateEvent(day.withHour(12)), new DurationEvent(30)));
+                }
+            }));
+        }
+        List<Future<Integer>> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            readers.add(executor.submit(() -> {
+                int reads = 0;
+                do {
+                    long stableSeen = manager.eventsDansPeriode(day, day.plusDays(1)).stream()
+                        .filter(event -> event.getId().equals(stableId))
+                        .count();
+                    assertEquals(1, stableSeen);
+                    manager.evenementsEnConflit(personalEvent);
+                    reads++;
+                } while (writing.get());
+                return reads;
+            }));
+        }
+        
+        for (Future<?> task : tasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        for (Future<Integer> reader : readers) {
+            assertTrue(reader.get(30, TimeUnit.SECONDS) > 0);
+        }
+        executor.shutdown();
+        
+        // Les ajouts d'indice pair restent, plus l'événement stable
+        assertEquals(writers * eventsPerWriter / 2 + 1, manager.getAllEvents().size());
+        assertEquals(writers * eventsPerWriter / 2 + 1, manager.eventsDansPeriode(day, day.plusDays(1)).size());
+    }
+    
+    /**
+     * Stratégie de persistance de test qui garde l'action de sauvegarde pour la déclencher à la demande.
+     */
+    private static class CapturingPersistence extends CountingPersistence {
+        private SaveAction saveAction;
+        
+        @Override
+        public void attach(SaveAction saveAction) {
+            this.saveAction = saveAction;
+        }
+    }
+    
+    /**
+     * Stratégie de persistance de test qui refuse les modifications à la demande, comme un journal impossible à écrire.
+     */
+    private static class FailingPersistence extends CountingPersistence {
+        private boolean failing;
+        
+        @Override
+        public void eventAdded(Event event) {
+            check();
+        }
+        
+        @Override
+        public void eventsAdded(Collection<? extends Event> events) {
+            check();
+        }
+        
+        @Override
+        public void eventRemoved(Event event) {
+            check();
+        }
+        
+        private void check() {
+            if (failing) {
+                throw new UncheckedIOException(new IOException("Disque plein"));
+            }
+        }
+    }
+    
+    /**
+     * Stratégie de persistance de test qui compte les modifications sans rien écrire.
+     */
+    private static class CountingPersistence implements PersistencePolicy {
+        private int mutations;
+        private int batches;
+        private boolean closed;
+        
+        @Override
+        public void attach(SaveAction saveAction) {
+        }
+        
+        @Override
+        public void eventAdded(Event event) {
+            mutations++;
+        }
+        
+        @Override
+        public void eventsAdded(Collection<? extends Event> events) {
+            batches++;
+        }
+        
+        @Override
+        public void eventRemoved(Event event) {
+            mutations++;
+        }
+        
+        @Override
+        public void flush() {
+        }
+        
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.Event;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure CalendarManager.ajouterEvent sur un calendrier déjà rempli, avec et sans sauvegarde automatique.
+ * Les événements ajoutés sont pris en boucle dans un lot fixe : passé le premier tour, chaque ajout
+ * remplace un événement de même identifiant et la taille du calendrier reste stable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AjouterEventBenchmark {
+    private static final int BATCH = 1024;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean autoSave;
+
+    private File saveFile;
+    private CalendarManager manager;
+    private Event[] batch;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        EventGenerator generator = new EventGenerator(42);
+        saveFile = Files.createTempFile("calendar-benchmark", ".json").toFile();
+        TempFileAutoSave persistence = new TempFileAutoSave(autoSave ? saveFile : null);
+        manager = new CalendarManager(persistence);
+        persistence.bind(manager);
+        for (Event event : generator.mixed(size, 365)) {
+            manager.ajouterEvent(event);
+        }
+        List<Event> added = generator.mixed(BATCH, 365);
+        batch = added.toArray(new Event[0]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        saveFile.delete();
+    }
+
+    @Benchmark
+    public void ajouterEvent() {
+        manager.ajouterEvent(batch[next]);
+        next = (next + 1) % BATCH;
+    }
+}
@@ -0,0 +1,68 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.Event;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare l'import d'un lot d'événements dans un calendrier vide, un par un avec
+ * CalendarManager.ajouterEvent ou en une seule opération avec CalendarManager.ajouterEvents,
+ * avec et sans sauvegarde automatique. Chaque mesure part d'un calendrier neuf.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class AjouterEventsBenchmark {
+
+    // L'import un par un avec sauvegarde coûte O(n²) : 5000 événements prennent déjà près d'une minute
+    @Param({"1000", "5000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean autoSave;
+
+    private File saveFile;
+    private List<Event> events;
+    private CalendarManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        saveFile = Files.createTempFile("calendar-benchmark", ".json").toFile();
+        events = new EventGenerator(42).mixed(size, 365);
+    }
+
+    @Setup(Level.Iteration)
+    public void newCalendar() {
+        TempFileAutoSave persistence = new TempFileAutoSave(autoSave ? saveFile : null);
+        manager = new CalendarManager(persistence);
+        persistence.bind(manager);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        saveFile.delete();
+    }
+
+    @Benchmark
+    public CalendarManager unParUn() {
+        for (Event event : events) {
+            manager.ajouterEvent(event);
+        }
+        return manager;
+    }
+
+    @Benchmark
+    public CalendarManager enLot() {
+        manager.ajouterEvents(events);
+        return manager;
+    }
+}
@@ -0,0 +1,132 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.Occurrence;
+import com.mycalendar.events.TypeEvent;
+import com.mycalendar.scheduling.SlotFinder;
+import com.mycalendar.scheduling.TimeSlot;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mesure les requêtes de CalendarManager utilisées par les vues jour, semaine et mois,
+ * ainsi que la recherche des conflits d'un événement, sur un calendrier d'un an.
+ * Les variantes « PourUtilisateur » se limitent à l'agenda d'un des huit utilisateurs générés.
+ * La recherche de créneaux porte sur cinq d'entre eux.
+ * nextOccurrences lit les vingt prochaines occurrences d'un agenda sans borne de fin.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CalendarQueryBenchmark {
+    private static final int PROBES = 256;
+    private static final String USER = "Alice";
+    private static final List<String> ATTENDEES = List.of("Alice", "Bob", "Carla", "David", "Emma");
+
+    /**
+     * Fenêtre de la requête de période, comme dans les vues de l'interface.
+     */
+    public enum Window {
+        DAY, WEEK, MONTH;
+
+        LocalDateTime end(LocalDateTime start) {
+            switch (this) {
+                case DAY:
+                    return start.plusDays(1);
+                case WEEK:
+                    return start.plusWeeks(1);
+                default:
+                    return start.plusMonths(1);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Calendar {
+        @Param({"10000", "100000"})
+        private int size;
+
+        private CalendarManager manager;
+        private SlotFinder slotFinder;
+        private Event[] probes;
+        private int next;
+
+        @Setup
+        public void setUp() {
+            EventGenerator generator = new EventGenerator(42);
+            manager = new CalendarManager(new TempFileAutoSave(null));
+            for (Event event : generator.mixed(size, 365)) {
+                manager.ajouterEvent(event);
+            }
+            slotFinder = new SlotFinder(manager);
+            List<Event> meetings = generator.ofType(TypeEvent.REUNION, PROBES, EventGenerator.ORIGIN, 365);
+            probes = meetings.toArray(new Event[0]);
+        }
+
+        Event nextProbe() {
+            Event probe = probes[next];
+            next = (next + 1) % PROBES;
+            return probe;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Period {
+        @Param({"DAY", "WEEK", "MONTH"})
+        private Window window;
+
+        private LocalDateTime start;
+        private LocalDateTime end;
+
+        @Setup
+        public void setUp() {
+            start = EventGenerator.ORIGIN.plusMonths(6);
+            end = window.end(start);
+        }
+    }
+
+    @Benchmark
+    public List<Event> eventsDansPeriode(Calendar calendar, Period period) {
+        return calendar.manager.eventsDansPeriode(period.start, period.end);
+    }
+
+    @Benchmark
+    public List<Event> eventsDansPeriodePourUtilisateur(Calendar calendar, Period period) {
+        return calendar.manager.eventsDansPeriode(USER, period.start, period.end);
+    }
+
+    @Benchmark
+    public List<Occurrence> nextOccurrences(Calendar calendar, Period period) {
+        return calendar.manager.occurrencesAPartirDe(USER, period.start)
+                .limit(20)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<TimeSlot> freeSlots(Calendar calendar, Period period) {
+        return calendar.slotFinder.freeSlots(ATTENDEES, period.start, period.end, 30);
+    }
+
+    @Benchmark
+    public Optional<TimeSlot> firstFreeSlot(Calendar calendar, Period period) {
+        return calendar.slotFinder.firstFreeSlot(ATTENDEES, period.start, period.end, 30);
+    }
+
+    @Benchmark
+    public List<Event> evenementsEnConflit(Calendar calendar) {
+        return calendar.manager.evenementsEnConflit(calendar.nextProbe());
+    }
+
+    @Benchmark
+    public List<Event> evenementsEnConflitPourUtilisateur(Calendar calendar) {
+        return calendar.manager.evenementsEnConflit(USER, calendar.nextProbe());
+    }
+}
@@ -0,0 +1,104 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.TypeEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le débit de CalendarManager partagé entre plusieurs threads : trois lecteurs
+ * (requêtes d'une semaine et recherches de conflits) pendant qu'un rédacteur ajoute et supprime.
+ * Le groupe « coarse » exécute les mêmes opérations sous un verrou global,
+ * comme si toutes les méthodes du gestionnaire étaient synchronisées.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Group)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConcurrentCalendarBenchmark {
+    private static final int BATCH = 1024;
+
+    @Param({"100000"})
+    private int size;
+
+    private CalendarManager manager;
+    private LocalDateTime weekStart;
+    private LocalDateTime weekEnd;
+    private Event[] probes;
+    private Event[] batch;
+
+    @Setup
+    public void setUp() {
+        EventGenerator generator = new EventGenerator(42);
+        manager = new CalendarManager(new TempFileAutoSave(null));
+        for (Event event : generator.mixed(size, 365)) {
+            manager.ajouterEvent(event);
+        }
+        weekStart = EventGenerator.ORIGIN.plusMonths(6);
+        weekEnd = weekStart.plusWeeks(1);
+        probes = generator.ofType(TypeEvent.REUNION, BATCH, EventGenerator.ORIGIN, 365).toArray(new Event[0]);
+        batch = generator.mixed(BATCH, 365).toArray(new Event[0]);
+    }
+
+    /**
+     * Position propre à chaque thread dans les lots d'événements.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int advance() {
+            next = (next + 1) % BATCH;
+            return next;
+        }
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(3)
+    public int read(Cursor cursor) {
+        return query(cursor);
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(1)
+    public boolean write(Cursor cursor) {
+        return mutate(cursor);
+    }
+
+    @Benchmark
+    @Group("coarse")
+    @GroupThreads(3)
+    public int coarseRead(Cursor cursor) {
+        synchronized (this) {
+            return query(cursor);
+        }
+    }
+
+    @Benchmark
+    @Group("coarse")
+    @GroupThreads(1)
+    public boolean coarseWrite(Cursor cursor) {
+        synchronized (this) {
+            return mutate(cursor);
+        }
+    }
+
+    private int query(Cursor cursor) {
+        List<Event> week = manager.eventsDansPeriode(weekStart, weekEnd);
+        return week.size() + manager.evenementsEnConflit(probes[cursor.advance()]).size();
+    }
+
+    private boolean mutate(Cursor cursor) {
+        Event event = batch[cursor.advance()];
+        manager.ajouterEvent(event);
+        return manager.supprimerEvent(event.getId());
+    }
+}
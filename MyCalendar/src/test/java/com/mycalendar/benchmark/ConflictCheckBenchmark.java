@@ -0,0 +1,97 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.events.DateEvent;
+import com.mycalendar.events.DurationEvent;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.PeriodicEvent;
+import com.mycalendar.events.PersonalEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le coût des comparaisons de dates au cœur des vérifications de conflit
+ * et du filtrage par période. À lancer avec le profileur d'allocations :
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ConflictCheckBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConflictCheckBenchmark {
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int SIZE = 1024;
+
+    private Event[] events;
+    private Event[] periodicEvents;
+    private DateEvent periodStart;
+    private DateEvent periodEnd;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        events = new Event[SIZE];
+        periodicEvents = new Event[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            events[i] = new PersonalEvent("Event " + i, "Owner",
+                    new DateEvent(ORIGIN.plusMinutes(random.nextInt(7 * 24 * 60))),
+                    new DurationEvent(30 + random.nextInt(90)));
+            periodicEvents[i] = new PeriodicEvent("Periodic " + i, "Owner",
+                    new DateEvent(ORIGIN.minusYears(5).plusMinutes(random.nextInt(7 * 24 * 60))),
+                    1 + random.nextInt(14));
+        }
+        periodStart = new DateEvent(ORIGIN.plusDays(2));
+        periodEnd = new DateEvent(ORIGIN.plusDays(3));
+    }
+
+    /**
+     * Vérifie chaque événement contre tous les autres : SIZE² appels à conflictsWith.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE)
+    public int conflictsWith() {
+        int conflicts = 0;
+        for (Event event : events) {
+            for (Event other : events) {
+                if (event.conflictsWith(other)) {
+                    conflicts++;
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Filtre les événements sur une période : SIZE appels à occursInPeriod.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int occursInPeriod() {
+        int matches = 0;
+        for (Event event : events) {
+            if (event.occursInPeriod(periodStart, periodEnd)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Filtre des événements périodiques anciens sur une période : SIZE appels à occursInPeriod.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int periodicOccursInPeriod() {
+        int matches = 0;
+        for (Event event : periodicEvents) {
+            if (event.occursInPeriod(periodStart, periodEnd)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
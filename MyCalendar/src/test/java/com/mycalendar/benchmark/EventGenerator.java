@@ -0,0 +1,92 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.events.Event;
+import com.mycalendar.events.EventFactory;
+import com.mycalendar.events.TypeEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Génère des calendriers reproductibles pour les benchmarks, en passant par {@link EventFactory}
+ * comme le font l'interface et CalendarManager. La graine fixe garantit que deux versions
+ * du code sont mesurées sur exactement les mêmes données.
+ */
+final class EventGenerator {
+    static final LocalDateTime ORIGIN = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private static final String[] OWNERS = {"Alice", "Bob", "Carla", "David", "Emma", "Farid", "Gina", "Hugo"};
+    private static final String[] PLACES = {"Salle A", "Salle B", "Salle C", "Visio"};
+    private static final String[] PRIORITIES = {"HAUTE", "MOYENNE", "BASSE"};
+
+    private final EventFactory factory;
+    private final Random random;
+
+    EventGenerator(long seed) {
+        this.factory = new EventFactory();
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Génère des événements de tous types répartis uniformément sur une période commençant à {@link #ORIGIN}.
+     * Répartition : 40 % de rendez-vous, 30 % de réunions, 15 % de tâches, 10 % de rappels, 5 % de périodiques.
+     * @param count Le nombre d'événements
+     * @param spanDays La durée de la période couverte, en jours
+     * @return Les événements générés
+     */
+    List<Event> mixed(int count, int spanDays) {
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int draw = random.nextInt(100);
+            TypeEvent type = draw < 40 ? TypeEvent.RDV_PERSONNEL
+                    : draw < 70 ? TypeEvent.REUNION
+                    : draw < 85 ? TypeEvent.TASK
+                    : draw < 95 ? TypeEvent.RAPPEL
+                    : TypeEvent.PERIODIQUE;
+            events.add(create(type, i, randomStart(ORIGIN, spanDays)));
+        }
+        return events;
+    }
+
+    /**
+     * Génère des événements d'un seul type répartis uniformément sur une période.
+     * @param type Le type des événements
+     * @param count Le nombre d'événements
+     * @param from Le début de la période
+     * @param spanDays La durée de la période, en jours
+     * @return Les événements générés
+     */
+    List<Event> ofType(TypeEvent type, int count, LocalDateTime from, int spanDays) {
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(create(type, i, randomStart(from, spanDays)));
+        }
+        return events;
+    }
+
+    private Event create(TypeEvent type, int index, LocalDateTime start) {
+        String owner = OWNERS[random.nextInt(OWNERS.length)];
+        switch (type) {
+            case REUNION:
+                return factory.createEvent(type, "Réunion " + index, owner, start, 30 + 30 * random.nextInt(4),
+                        PLACES[random.nextInt(PLACES.length)], owner + ", " + OWNERS[random.nextInt(OWNERS.length)], 0);
+            case TASK:
+                return factory.createEvent(type, "Tâche " + index, owner, start, 0,
+                        PRIORITIES[random.nextInt(PRIORITIES.length)], "", 0);
+            case RAPPEL:
+                return factory.createEvent(type, "Rappel " + index, owner, start, 0, "Penser au dossier " + index, "", 0);
+            case PERIODIQUE:
+                return factory.createEvent(type, "Périodique " + index, owner, start, 0, "", "", 1 + random.nextInt(14));
+            default:
+                return factory.createEvent(type, "Rendez-vous " + index, owner, start, 15 + 15 * random.nextInt(8),
+                        "", "", 0);
+        }
+    }
+
+    private LocalDateTime randomStart(LocalDateTime from, int spanDays) {
+        // Débuts alignés sur le quart d'heure, comme ceux saisis dans l'interface
+        return from.plusMinutes(15L * random.nextInt(spanDays * 24 * 4));
+    }
+}
@@ -0,0 +1,66 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.events.DateEvent;
+import com.mycalendar.events.DurationEvent;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.PersonalEvent;
+import com.mycalendar.index.EventTimeIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compare une requête de période sur l'index temporel à un parcours complet des événements,
+ * comme le faisait CalendarManager.eventsDansPeriode avant l'index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EventTimeIndexBenchmark {
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final int SPAN_MINUTES = 10 * 365 * 24 * 60;
+
+    @Param({"1000000"})
+    private int size;
+
+    private List<Event> events;
+    private EventTimeIndex index;
+    private DateEvent dayStart;
+    private DateEvent dayEnd;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        events = new ArrayList<>(size);
+        index = new EventTimeIndex();
+        for (int i = 0; i < size; i++) {
+            Event event = new PersonalEvent("Event " + i, "Owner " + (i % 100),
+                    new DateEvent(ORIGIN.plusMinutes(random.nextInt(SPAN_MINUTES))),
+                    new DurationEvent(30 + random.nextInt(90)));
+            events.add(event);
+            index.add(event);
+        }
+        dayStart = new DateEvent(ORIGIN.plusYears(5));
+        dayEnd = new DateEvent(ORIGIN.plusYears(5).plusDays(1));
+    }
+
+    @Benchmark
+    public List<Event> fullScan() {
+        return events.stream()
+                .filter(event -> event.occursInPeriod(dayStart, dayEnd))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Event> timeIndex() {
+        return index.between(dayStart, dayEnd);
+    }
+}
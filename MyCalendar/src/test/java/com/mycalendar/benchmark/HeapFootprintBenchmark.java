@@ -0,0 +1,79 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.events.Event;
+import com.mycalendar.persistence.SnapshotFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure la mémoire retenue par un calendrier chargé depuis une sauvegarde : le compteur
+ * {@code bytesPerEvent} donne le tas occupé après chargement, ramené au nombre d'événements.
+ * Chaque chargement est mesuré seul, entre deux ramasse-miettes complets.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class HeapFootprintBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"JSON", "BINARY"})
+    private SnapshotFormat format;
+
+    private File file;
+    private List<Event> loaded;
+
+    /**
+     * Compteurs publiés par JMH à côté du temps de chargement.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerEvent;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("calendar-benchmark", ".snapshot").toFile();
+        format.save(new EventGenerator(42).mixed(size, 3 * 365), file);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @TearDown(Level.Invocation)
+    public void release() {
+        loaded = null;
+    }
+
+    @Benchmark
+    public int load(Footprint footprint) throws IOException {
+        long before = usedHeapAfterGc();
+        loaded = new ArrayList<>(size);
+        format.load(file, loaded::add);
+        footprint.bytesPerEvent = (usedHeapAfterGc() - before) / loaded.size();
+        return loaded.size();
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,51 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.events.DateEvent;
+import com.mycalendar.events.Event;
+import com.mycalendar.events.TypeEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure PeriodicEvent.occursInPeriod sur une semaine pour des événements commençant
+ * de plus en plus loin dans le passé : le coût ne doit pas dépendre de l'ancienneté.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PeriodicEventBenchmark {
+    private static final int SIZE = 1024;
+
+    @Param({"1", "10", "100"})
+    private int yearsAgo;
+
+    private Event[] events;
+    private DateEvent weekStart;
+    private DateEvent weekEnd;
+
+    @Setup
+    public void setUp() {
+        List<Event> periodic = new EventGenerator(42).ofType(TypeEvent.PERIODIQUE, SIZE,
+                EventGenerator.ORIGIN.minusYears(yearsAgo), 30);
+        events = periodic.toArray(new Event[0]);
+        weekStart = new DateEvent(EventGenerator.ORIGIN);
+        weekEnd = new DateEvent(EventGenerator.ORIGIN.plusWeeks(1));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int occursInPeriod() {
+        int matches = 0;
+        for (Event event : events) {
+            if (event.occursInPeriod(weekStart, weekEnd)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,77 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.Event;
+import com.mycalendar.persistence.ShardedSnapshot;
+import com.mycalendar.persistence.SnapshotFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Mesure le démarrage du calendrier : chargement complet, décodage et indexation compris,
+ * depuis un fichier unique ou depuis une sauvegarde partitionnée par mois, avec un pool
+ * de threads de taille variable pour la sauvegarde partitionnée.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class ShardedLoadBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"JSON", "BINARY"})
+    private SnapshotFormat format;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    private File singleFile;
+    private File directory;
+    private ForkJoinPool pool;
+    private CalendarManager manager;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Event> events = new EventGenerator(42).mixed(size, 3 * 365);
+        singleFile = Files.createTempFile("calendar-benchmark", ".snapshot").toFile();
+        directory = Files.createTempDirectory("calendar-benchmark-shards").toFile();
+        format.save(events, singleFile);
+        ShardedSnapshot.save(events, directory, format);
+        pool = new ForkJoinPool(threads);
+        manager = new CalendarManager(new TempFileAutoSave(null));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        singleFile.delete();
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public int loadSingleFile() throws IOException {
+        manager.loadEvents(singleFile, format);
+        return manager.getAllEvents().size();
+    }
+
+    @Benchmark
+    public int loadSharded() throws IOException {
+        manager.loadEventsSharded(directory, pool);
+        return manager.getAllEvents().size();
+    }
+}
@@ -0,0 +1,60 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.events.Event;
+import com.mycalendar.persistence.SnapshotFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure la sauvegarde et le chargement complets du calendrier. Le format JSON passe par JsonUtils,
+ * le format binaire par BinarySnapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class SnapshotBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"JSON", "BINARY"})
+    private SnapshotFormat format;
+
+    private List<Event> events;
+    private File saveFile;
+    private File loadFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        events = new EventGenerator(42).mixed(size, 3 * 365);
+        saveFile = Files.createTempFile("calendar-benchmark-save", ".snapshot").toFile();
+        loadFile = Files.createTempFile("calendar-benchmark-load", ".snapshot").toFile();
+        format.save(events, loadFile);
+    }
+
+    @TearDown
+    public void tearDown() {
+        saveFile.delete();
+        loadFile.delete();
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        format.save(events, saveFile);
+    }
+
+    @Benchmark
+    public int load() throws IOException {
+        int[] checksum = new int[1];
+        format.load(loadFile, event -> checksum[0] += event.getDuration().getMinutes());
+        return checksum[0];
+    }
+}
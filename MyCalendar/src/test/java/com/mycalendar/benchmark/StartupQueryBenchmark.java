@@ -0,0 +1,70 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.Event;
+import com.mycalendar.persistence.ShardedSnapshot;
+import com.mycalendar.persistence.SnapshotFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Mesure le délai avant la première requête de période après un redémarrage : chargement complet
+ * de la sauvegarde partitionnée binaire, ou ouverture par ses index projetés en mémoire.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class StartupQueryBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private File directory;
+    private LocalDateTime debut;
+    private LocalDateTime fin;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Event> events = new EventGenerator(42).mixed(size, 3 * 365);
+        directory = Files.createTempDirectory("calendar-benchmark-startup").toFile();
+        ShardedSnapshot.save(events, directory, SnapshotFormat.BINARY);
+        debut = EventGenerator.ORIGIN.plusDays(400);
+        fin = debut.plusDays(7);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public int loadThenQuery() throws IOException {
+        try (CalendarManager manager = new CalendarManager(new TempFileAutoSave(null))) {
+            manager.loadEventsSharded(directory, ForkJoinPool.commonPool());
+            return manager.eventsDansPeriode(debut, fin).size();
+        }
+    }
+
+    @Benchmark
+    public int openThenQuery() throws IOException {
+        try (CalendarManager manager = new CalendarManager(new TempFileAutoSave(null))) {
+            manager.openEventsSharded(directory);
+            return manager.eventsDansPeriode(debut, fin).size();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.Event;
+import com.mycalendar.persistence.PersistencePolicy;
+import com.mycalendar.persistence.SaveAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+
+/**
+ * Stratégie de persistance des benchmarks : sans fichier, aucune sauvegarde n'est faite ;
+ * avec un fichier, le calendrier y est sauvegardé après chaque modification, au même coût
+ * que la sauvegarde automatique par défaut mais sans toucher au calendar_events.json du répertoire courant.
+ */
+final class TempFileAutoSave implements PersistencePolicy {
+    private final File file;
+    private CalendarManager manager;
+
+    /**
+     * @param file Le fichier de sauvegarde, ou null pour ne jamais sauvegarder
+     */
+    TempFileAutoSave(File file) {
+        this.file = file;
+    }
+
+    void bind(CalendarManager manager) {
+        this.manager = manager;
+    }
+
+    @Override
+    public void attach(SaveAction saveAction) {
+        // La sauvegarde vers le fichier par défaut est remplacée par celle vers le fichier temporaire
+    }
+
+    @Override
+    public void eventAdded(Event event) {
+        save();
+    }
+
+    @Override
+    public void eventsAdded(Collection<? extends Event> events) {
+        save();
+    }
+
+    @Override
+    public void eventRemoved(Event event) {
+        save();
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private void save() {
+        if (file == null) {
+            return;
+        }
+        try {
+            manager.saveEventsToJson(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -67,6 +67,27 @@ class DateEventTest {
         assertFalse(dateEvent1.isAfter(dateEvent1)); // Même date
     }
     
+    @Test
+    void testCompareTo() {
+        DateEvent dateEvent1 = new DateEvent(2023, 3, 15, 10, 30);
+        DateEvent dateEvent2 = new DateEvent(LocalDateTime.of(2023, 3, 15, 10, 30, 0, 1));
+        
+        assertTrue(dateEvent1.compareTo(dateEvent2) < 0);
+        assertTrue(dateEvent2.compareTo(dateEvent1) > 0);
+        assertEquals(0, dateEvent1.compareTo(new DateEvent(2023, 3, 15, 10, 30)));
+        assertTrue(dateEvent2.isAfter(dateEvent1)); // Seule la fraction de seconde diffère
+    }
+    
+    @Test
+    void testPrimitiveComparison() {
+        DateEvent dateEvent = new DateEvent(1970, 1, 1, 1, 0);
+        
+        assertEquals(3600, dateEvent.toEpochSecond());
+        assertEquals(0, dateEvent.compareTo(3600, 0));
+        assertTrue(dateEvent.compareTo(3600, 1) < 0);
+        assertTrue(dateEvent.compareTo(3599, 999_999_999) > 0);
+    }
+    
     @Test
     void testEquals() {
         DateEvent dateEvent1 = new DateEvent(2023, 3, 15, 10, 30);
@@ -143,4 +143,25 @@ public class EventFactoryTest {
             factory.createEvent(invalidType, "Title", "Owner", LocalDateTime.now(), 0, null, null, 0);
         });
     }
+    
+    @Test
+    public void testCreatedEventsShareRepeatedValues() {
+        // Given
+        LocalDateTime startDate = LocalDateTime.of(2025, 4, 15, 14, 0);
+        
+        // When
+        MeetingEvent first = (MeetingEvent) factory.createEvent(TypeEvent.REUNION, "Réunion 1", "John", startDate, 60,
+                "Salle A", "Alice, Bob", 0);
+        MeetingEvent second = (MeetingEvent) factory.createEvent(TypeEvent.REUNION, "Réunion 2", "John", startDate, 60,
+                "Salle A", "Alice, Bob", 0);
+        TaskEvent task = (TaskEvent) factory.createEvent(TypeEvent.TASK, "Rapport", "John", startDate, 0, "haute", null, 0);
+        
+        // Then
+        assertSame(first.getOwner(), second.getOwner());
+        assertSame(first.getOwner(), task.getOwner());
+        assertSame(first.getPlace(), second.getPlace());
+        assertSame(first.getParticipants(), second.getParticipants());
+        assertSame(task.getPriority(), PriorityEvent.of("haute"));
+        assertEquals("HAUTE", task.getPriority().getValue());
+    }
 }
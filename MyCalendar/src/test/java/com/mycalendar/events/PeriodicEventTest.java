@@ -3,6 +3,8 @@ package com.mycalendar.events;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
@@ -133,4 +135,101 @@ class PeriodicEventTest {
         
         assertTrue(event.occursInPeriod(start, end));
     }
+    
+    @Test
+    void testOccursInPeriodWithOldStartDate() {
+        PeriodicEvent event = new PeriodicEvent(
+            "Événement quotidien",
+            "Test Owner",
+            new DateEvent(LocalDateTime.of(1990, 1, 1, 10, 0)),
+            1 // Quotidien
+        );
+        
+        // Le créneau de 10h est inclus le matin, exclu l'après-midi
+        assertTrue(event.occursInPeriod(
+            new DateEvent(LocalDateTime.of(2025, 4, 15, 9, 0)),
+            new DateEvent(LocalDateTime.of(2025, 4, 15, 10, 0))));
+        assertFalse(event.occursInPeriod(
+            new DateEvent(LocalDateTime.of(2025, 4, 15, 10, 1)),
+            new DateEvent(LocalDateTime.of(2025, 4, 15, 23, 59))));
+    }
+    
+    @Test
+    void testFirstOccurrenceFrom() {
+        PeriodicEvent event = new PeriodicEvent(
+            "Test Periodic Event",
+            "Test Owner",
+            new DateEvent(LocalDateTime.of(2023, 3, 1, 10, 0)),
+            7 // Hebdomadaire
+        );
+        
+        // Avant le début : la première occurrence est le début lui-même
+        assertEquals(new DateEvent(LocalDateTime.of(2023, 3, 1, 10, 0)),
+            event.firstOccurrenceFrom(new DateEvent(LocalDateTime.of(2023, 1, 1, 0, 0))));
+        // Pile sur une occurrence
+        assertEquals(new DateEvent(LocalDateTime.of(2023, 3, 8, 10, 0)),
+            event.firstOccurrenceFrom(new DateEvent(LocalDateTime.of(2023, 3, 8, 10, 0))));
+        // Juste après une occurrence : la suivante
+        assertEquals(new DateEvent(LocalDateTime.of(2023, 3, 15, 10, 0)),
+            event.firstOccurrenceFrom(new DateEvent(LocalDateTime.of(2023, 3, 8, 10, 1))));
+        // Le jour d'une occurrence mais avant l'heure
+        assertEquals(new DateEvent(LocalDateTime.of(2023, 3, 15, 10, 0)),
+            event.firstOccurrenceFrom(new DateEvent(LocalDateTime.of(2023, 3, 15, 0, 0))));
+    }
+    
+    @Test
+    void testOccursInPeriodWithSubMinuteBounds() {
+        PeriodicEvent event = new PeriodicEvent(
+            "Événement quotidien",
+            "John Doe",
+            new DateEvent(LocalDateTime.of(2025, 1, 1, 9, 0, 30)),
+            1
+        );
+        
+        // Occurrence du 10 janvier à 9h00m30s
+        DateEvent occurrence = new DateEvent(LocalDateTime.of(2025, 1, 10, 9, 0, 30));
+        assertTrue(event.occursInPeriod(occurrence, occurrence));
+        assertFalse(event.occursInPeriod(
+            new DateEvent(LocalDateTime.of(2025, 1, 10, 9, 0, 31)),
+            new DateEvent(LocalDateTime.of(2025, 1, 11, 9, 0, 29))));
+        assertTrue(event.occursInPeriod(
+            new DateEvent(LocalDateTime.of(2025, 1, 10, 9, 0, 31)),
+            new DateEvent(LocalDateTime.of(2025, 1, 11, 9, 0, 30))));
+    }
+    
+    @Test
+    void testOccurrencesBetween() {
+        PeriodicEvent event = new PeriodicEvent(
+            "Test Periodic Event",
+            "Test Owner",
+            new DateEvent(LocalDateTime.of(2023, 3, 1, 10, 0)),
+            7 // Hebdomadaire
+        );
+        
+        List<DateEvent> occurrences = event.occurrencesBetween(
+            new DateEvent(LocalDateTime.of(2023, 3, 2, 0, 0)),
+            new DateEvent(LocalDateTime.of(2023, 3, 22, 10, 0))).collect(Collectors.toList());
+        
+        assertEquals(List.of(
+            new DateEvent(LocalDateTime.of(2023, 3, 8, 10, 0)),
+            new DateEvent(LocalDateTime.of(2023, 3, 15, 10, 0)),
+            new DateEvent(LocalDateTime.of(2023, 3, 22, 10, 0))), occurrences);
+    }
+    
+    @Test
+    void testOccurrencesBetweenIsLazy() {
+        PeriodicEvent event = new PeriodicEvent(
+            "Événement quotidien",
+            "Test Owner",
+            new DateEvent(LocalDateTime.of(2000, 1, 1, 8, 0)),
+            1 // Quotidien
+        );
+        
+        List<DateEvent> nextThree = event.occurrencesBetween(
+            new DateEvent(LocalDateTime.of(2025, 1, 1, 9, 0)),
+            new DateEvent(LocalDateTime.of(2100, 1, 1, 0, 0))).limit(3).collect(Collectors.toList());
+        
+        assertEquals(new DateEvent(LocalDateTime.of(2025, 1, 2, 8, 0)), nextThree.get(0));
+        assertEquals(new DateEvent(LocalDateTime.of(2025, 1, 4, 8, 0)), nextThree.get(2));
+    }
 }
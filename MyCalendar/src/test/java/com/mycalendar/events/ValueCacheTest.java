@@ -0,0 +1,51 @@
+package com.mycalendar.events;
+
+import com.mycalendar.json.JsonUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValueCacheTest {
+    
+    @Test
+    public void testCacheIsBounded() {
+        ValueCache<OwnerEvent> cache = new ValueCache<>(OwnerEvent::new, 2);
+        
+        assertSame(cache.get("Alice"), cache.get("Alice"));
+        assertSame(cache.get("Bob"), cache.get("Bob"));
+        
+        // Cache plein : la valeur est créée sans être retenue
+        OwnerEvent carol = cache.get("Carol");
+        assertEquals(new OwnerEvent("Carol"), carol);
+        assertNotSame(carol, cache.get("Carol"));
+        assertEquals(2, cache.size());
+    }
+    
+    @Test
+    public void testInvalidValuesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> OwnerEvent.of(null));
+        assertThrows(IllegalArgumentException.class, () -> OwnerEvent.of("  "));
+        assertThrows(IllegalArgumentException.class, () -> PriorityEvent.of(""));
+        assertTrue(PlaceEvent.of(null).isEmpty());
+        assertTrue(ParticipantEvent.of(null).isEmpty());
+    }
+    
+    @Test
+    public void testDeserializedEventsShareRepeatedValues() throws Exception {
+        List<Event> events = List.of(
+                new MeetingEvent("Réunion 1", "John", new DateEvent(LocalDateTime.of(2025, 4, 15, 14, 0)),
+                        new DurationEvent(60), "Salle A", "Alice, Bob"),
+                new MeetingEvent("Réunion 2", "John", new DateEvent(LocalDateTime.of(2025, 4, 16, 14, 0)),
+                        new DurationEvent(60), "Salle A", "Alice, Bob"));
+        
+        List<MeetingEvent> loaded = JsonUtils.fromJsonList(JsonUtils.toJson(events), MeetingEvent.class);
+        
+        assertSame(loaded.get(0).getOwner(), loaded.get(1).getOwner());
+        assertSame(loaded.get(0).getPlace(), loaded.get(1).getPlace());
+        assertSame(loaded.get(0).getParticipants(), loaded.get(1).getParticipants());
+        assertEquals(List.of("Alice", "Bob"), loaded.get(1).getParticipantNames());
+    }
+}
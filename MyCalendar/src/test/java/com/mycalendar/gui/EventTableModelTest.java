@@ -0,0 +1,111 @@
+package com.mycalendar.gui;
+
+import com.mycalendar.events.*;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventTableModelTest {
+    private List<Runnable> uiQueue;
+    private EventTableModel model;
+    private int changeEvents;
+
+    @BeforeEach
+    void setUp() {
+        uiQueue = new ArrayList<>();
+        model = new EventTableModel(uiQueue::add);
+        model.getRows().addListener((ListChangeListener<EventRow>) change -> changeEvents++);
+    }
+
+    private void runUiThread() {
+        List<Runnable> tasks = new ArrayList<>(uiQueue);
+        uiQueue.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private List<Event> displayed() {
+        return model.getRows().stream().map(EventRow::getEvent).collect(Collectors.toList());
+    }
+
+    private static Event personal(String title, int day) {
+        return new PersonalEvent(title, "John", new DateEvent(LocalDateTime.of(2025, 4, day, 9, 0)),
+                new DurationEvent(30));
+    }
+
+    @Test
+    void testRowsAreInsertedAndRemovedInPlace() {
+        Event third = personal("Troisième", 17);
+        Event first = personal("Premier", 15);
+        Event weekly = new PeriodicEvent("Hebdo", "John", new DateEvent(LocalDateTime.of(2025, 1, 1, 8, 0)), 7);
+        Event second = personal("Second", 16);
+        model.eventAdded(third);
+        model.eventAdded(weekly);
+        model.eventAdded(first);
+        assertEquals(1, uiQueue.size());
+        runUiThread();
+        assertEquals(List.of(first, third, weekly), displayed());
+
+        model.eventAdded(second);
+        model.eventRemoved(third);
+        runUiThread();
+        assertEquals(List.of(first, second, weekly), displayed());
+
+        Event moved = new PersonalEvent(first.getId(), new TitleEvent("Déplacé"), first.getOwner(),
+                new DateEvent(LocalDateTime.of(2025, 4, 20, 9, 0)), first.getDuration());
+        model.eventReplaced(first, moved);
+        runUiThread();
+        assertEquals(List.of(second, moved, weekly), displayed());
+    }
+
+    @Test
+    void testLargeBatchIsAppliedAsOneChange() {
+        Event kept = personal("Conservé", 1);
+        Event dropped = personal("Retiré", 2);
+        model.eventAdded(kept);
+        model.eventAdded(dropped);
+        runUiThread();
+        changeEvents = 0;
+
+        List<Event> imported = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Event event = personal("Import " + i, 1 + i % 28);
+            imported.add(event);
+            model.eventAdded(event);
+        }
+        model.eventRemoved(dropped);
+        model.eventRemoved(imported.get(0));
+        runUiThread();
+
+        assertEquals(1, changeEvents);
+        assertEquals(200, model.getRows().size());
+        List<Event> rows = displayed();
+        assertTrue(rows.contains(kept));
+        assertFalse(rows.contains(dropped));
+        assertFalse(rows.contains(imported.get(0)));
+        for (int i = 1; i < rows.size(); i++) {
+            assertFalse(rows.get(i).getStartDate().isBefore(rows.get(i - 1).getStartDate()));
+        }
+    }
+
+    @Test
+    void testClearAndCachedCellValues() {
+        Event event = personal("Réunion", 15);
+        model.eventAdded(event);
+        runUiThread();
+        EventRow row = model.getRows().get(0);
+        assertSame(row.titleProperty(), row.titleProperty());
+        assertEquals("Réunion", row.titleProperty().getValue());
+        assertEquals("John", row.ownerProperty().getValue());
+
+        model.calendarCleared();
+        runUiThread();
+        assertTrue(model.getRows().isEmpty());
+    }
+}
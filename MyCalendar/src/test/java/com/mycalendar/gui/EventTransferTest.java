@@ -0,0 +1,147 @@
+package com.mycalendar.gui;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.*;
+import com.mycalendar.persistence.PersistencePolicy;
+import com.mycalendar.persistence.SaveAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventTransferTest {
+    @TempDir
+    File tempDir;
+
+    private CountingPersistence persistence;
+    private CalendarManager source;
+    private List<Event> events;
+
+    @BeforeEach
+    void setUp() {
+        source = new CalendarManager(new CountingPersistence());
+        events = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2025, 4, 15, 9, 0);
+        for (int i = 0; i < 1000; i++) {
+            events.add(new PersonalEvent("Rendez-vous " + i, "John", new DateEvent(start.plusHours(i)),
+                    new DurationEvent(30)));
+        }
+        events.add(new MeetingEvent("Réunion", "John", new DateEvent(start), new DurationEvent(60),
+                "Salle A", "Alice, Bob"));
+        source.ajouterEvents(events);
+        persistence = new CountingPersistence();
+    }
+
+    @Test
+    void testExportThenImportRoundTripsWithASingleSave() throws IOException {
+        File file = new File(tempDir, "export.json");
+        List<long[]> exportProgress = new ArrayList<>();
+
+        int exported = EventTransfer.exportEvents(source.getAllEvents(), file,
+                (done, total) -> exportProgress.add(new long[] {done, total}), () -> false);
+
+        assertEquals(events.size(), exported);
+        assertArrayEquals(new long[] {events.size(), events.size()}, exportProgress.get(exportProgress.size() - 1));
+        assertFalse(new File(tempDir, "export.json.tmp").exists());
+
+        CalendarManager target = new CalendarManager(persistence);
+        List<long[]> importProgress = new ArrayList<>();
+        int imported = EventTransfer.importEvents(target, file,
+                (done, total) -> importProgress.add(new long[] {done, total}), () -> false);
+
+        assertEquals(events.size(), imported);
+        assertEquals(source.getAllEvents().size(), target.getAllEvents().size());
+        assertEquals(1, persistence.batches);
+        assertEquals(0, persistence.mutations);
+        assertTrue(importProgress.size() > 1);
+        for (int i = 1; i < importProgress.size(); i++) {
+            assertTrue(importProgress.get(i)[0] >= importProgress.get(i - 1)[0]);
+        }
+        assertEquals(file.length(), importProgress.get(importProgress.size() - 1)[0]);
+    }
+
+    @Test
+    void testCancelledImportAddsNothing() throws IOException {
+        File file = new File(tempDir, "export.json");
+        EventTransfer.exportEvents(source.getAllEvents(), file, (done, total) -> { }, () -> false);
+        CalendarManager target = new CalendarManager(persistence);
+        AtomicInteger checks = new AtomicInteger();
+
+        int imported = EventTransfer.importEvents(target, file, (done, total) -> { },
+                () -> checks.incrementAndGet() > 1);
+
+        assertEquals(0, imported);
+        assertTrue(target.getAllEvents().isEmpty());
+        assertEquals(0, persistence.batches);
+    }
+
+    @Test
+    void testCancelledExportKeepsExistingFile() throws IOException {
+        File file = new File(tempDir, "export.json");
+        Files.writeString(file.toPath(), "[]");
+        AtomicInteger checks = new AtomicInteger();
+
+        int exported = EventTransfer.exportEvents(source.getAllEvents(), file, (done, total) -> { },
+                () -> checks.incrementAndGet() > 2);
+
+        assertEquals(0, exported);
+        assertEquals("[]", Files.readString(file.toPath()));
+        assertFalse(new File(tempDir, "export.json.tmp").exists());
+    }
+
+    @Test
+    void testMalformedImportFailsWithoutAddingEvents() throws IOException {
+        File file = new File(tempDir, "invalide.json");
+        Files.writeString(file.toPath(), "{\"pas\": \"un tableau\"}");
+        CalendarManager target = new CalendarManager(persistence);
+
+        assertThrows(IOException.class,
+                () -> EventTransfer.importEvents(target, file, (done, total) -> { }, () -> false));
+        assertTrue(target.getAllEvents().isEmpty());
+    }
+
+    /**
+     * Stratégie de persistance de test qui compte les notifications sans rien écrire.
+     */
+    private static class CountingPersistence implements PersistencePolicy {
+        private int mutations;
+        private int batches;
+
+        @Override
+        public void attach(SaveAction saveAction) {
+        }
+
+        @Override
+        public void eventAdded(Event event) {
+            mutations++;
+        }
+
+        @Override
+        public void eventsAdded(Collection<? extends Event> events) {
+            batches++;
+        }
+
+        @Override
+        public void eventRemoved(Event event) {
+            mutations++;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.mycalendar.index;
+
+import com.mycalendar.events.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventTimeIndexTest {
+    private EventTimeIndex index;
+    private Event morning;
+    private Event afternoon;
+    private Event nextDay;
+    private Event weekly;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventTimeIndex();
+
+        morning = new PersonalEvent("Matin", "John",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 9, 0)), new DurationEvent(60));
+        afternoon = new MeetingEvent("Après-midi", "John",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 14, 0)), new DurationEvent(90), "Salle A", "Alice");
+        nextDay = new TaskEvent("Lendemain", "John",
+                new DateEvent(LocalDateTime.of(2025, 4, 16, 10, 0)), "HIGH");
+        weekly = new PeriodicEvent("Hebdo", "John",
+                new DateEvent(LocalDateTime.of(2025, 1, 1, 8, 0)), 7);
+    }
+
+    @Test
+    void testAddAllIndexesLikeSeparateAdds() {
+        Event longEvent = new PersonalEvent("Journée", "John",
+                new DateEvent(LocalDateTime.of(2025, 4, 14, 8, 0)), new DurationEvent(26 * 60));
+        index.add(afternoon);
+
+        index.addAll(List.of(nextDay, weekly, longEvent, morning, afternoon));
+
+        assertEquals(5, index.size());
+        assertEquals(List.of(longEvent, morning, afternoon, nextDay, weekly), index.all());
+        // La durée maximale du lot borne la recherche des conflits
+        assertTrue(index.overlapCandidates(morning).contains(longEvent));
+    }
+
+    @Test
+    void testBetweenReturnsEventsInChronologicalOrder() {
+        index.add(nextDay);
+        index.add(afternoon);
+        index.add(morning);
+
+        List<Event> result = index.between(
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 0, 0)),
+                new DateEvent(LocalDateTime.of(2025, 4, 16, 23, 59)));
+
+        assertEquals(List.of(morning, afternoon, nextDay), result);
+    }
+
+    @Test
+    void testBetweenBoundsAreInclusive() {
+        index.add(morning);
+
+        DateEvent start = morning.getStartDate();
+        assertEquals(List.of(morning), index.between(start, start));
+    }
+
+    @Test
+    void testBetweenWithReversedPeriodIsEmpty() {
+        index.add(morning);
+
+        List<Event> result = index.between(
+                new DateEvent(LocalDateTime.of(2025, 4, 16, 0, 0)),
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 0, 0)));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testBetweenFindsRecurringOccurrences() {
+        index.add(weekly);
+
+        // 2025-01-01 est un mercredi : le 2025-04-16 est une occurrence
+        assertEquals(List.of(weekly), index.between(
+                new DateEvent(LocalDateTime.of(2025, 4, 16, 0, 0)),
+                new DateEvent(LocalDateTime.of(2025, 4, 16, 23, 59))));
+        assertTrue(index.between(
+                new DateEvent(LocalDateTime.of(2025, 4, 17, 0, 0)),
+                new DateEvent(LocalDateTime.of(2025, 4, 17, 23, 59))).isEmpty());
+    }
+
+    @Test
+    void testRemove() {
+        index.add(morning);
+        index.add(weekly);
+        assertEquals(2, index.size());
+
+        assertTrue(index.remove(morning));
+        assertTrue(index.remove(weekly));
+        assertFalse(index.remove(morning));
+        assertEquals(0, index.size());
+        assertTrue(index.between(
+                new DateEvent(LocalDateTime.of(2025, 1, 1, 0, 0)),
+                new DateEvent(LocalDateTime.of(2025, 12, 31, 0, 0))).isEmpty());
+    }
+
+    @Test
+    void testAddSameEventTwiceIsIdempotent() {
+        index.add(morning);
+        index.add(morning);
+
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testOverlapCandidatesIncludeLongEventsStartedEarlier() {
+        Event allDay = new PersonalEvent("Journée", "John",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 0, 0)), new DurationEvent(26 * 60));
+        index.add(allDay);
+        index.add(morning);
+        index.add(nextDay);
+
+        List<Event> candidates = index.overlapCandidates(afternoon);
+
+        assertTrue(candidates.contains(allDay));
+        assertFalse(candidates.contains(nextDay));
+    }
+
+    @Test
+    void testAllConflicts() {
+        Event overlapsMorning = new PersonalEvent("Chevauche", "Alice",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 9, 30)), new DurationEvent(60));
+        Event touchesMorning = new PersonalEvent("Touche", "Bob",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 10, 0)), new DurationEvent(30));
+        Event taskDuringMorning = new TaskEvent("Tâche", "Bob",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 9, 15)), "LOW");
+        index.add(morning);
+        index.add(overlapsMorning);
+        index.add(touchesMorning);
+        index.add(taskDuringMorning);
+        index.add(afternoon);
+        index.add(weekly);
+
+        List<EventConflict> conflicts = index.allConflicts();
+
+        // "Touche" chevauche "Chevauche" mais ne fait que toucher "Matin"
+        assertEquals(2, conflicts.size());
+        assertTrue(conflicts.contains(new EventConflict(morning, overlapsMorning)));
+        assertTrue(conflicts.contains(new EventConflict(touchesMorning, overlapsMorning)));
+    }
+
+    @Test
+    void testAllConflictsMatchesPairwiseCheck() {
+        for (int i = 0; i < 50; i++) {
+            index.add(new PersonalEvent("Event " + i, "John",
+                    new DateEvent(LocalDateTime.of(2025, 4, 15, 8, 0).plusMinutes(i * 17L % 600)),
+                    new DurationEvent(i * 7 % 120)));
+        }
+        List<Event> all = index.between(
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 0, 0)),
+                new DateEvent(LocalDateTime.of(2025, 4, 16, 0, 0)));
+
+        int expected = 0;
+        for (int i = 0; i < all.size(); i++) {
+            for (int j = i + 1; j < all.size(); j++) {
+                if (all.get(i).conflictsWith(all.get(j))) {
+                    expected++;
+                }
+            }
+        }
+
+        assertEquals(expected, index.allConflicts().size());
+    }
+
+    @Test
+    void testOccurrencesMergeOneOffAndRecurringInOrder() {
+        index.add(nextDay);
+        index.add(weekly);
+        index.add(afternoon);
+        index.add(morning);
+
+        List<Occurrence> result = index.occurrences(
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 0, 0)),
+                new DateEvent(LocalDateTime.of(2025, 4, 23, 8, 0))).collect(Collectors.toList());
+
+        assertEquals(List.of(
+                new Occurrence(morning, morning.getStartDate()),
+                new Occurrence(afternoon, afternoon.getStartDate()),
+                new Occurrence(weekly, new DateEvent(LocalDateTime.of(2025, 4, 16, 8, 0))),
+                new Occurrence(nextDay, nextDay.getStartDate()),
+                new Occurrence(weekly, new DateEvent(LocalDateTime.of(2025, 4, 23, 8, 0)))), result);
+    }
+
+    @Test
+    void testOccurrencesAreLazyOverDecades() {
+        Event daily = new PeriodicEvent("Quotidien", "John",
+                new DateEvent(LocalDateTime.of(1990, 1, 1, 7, 0)), 1);
+        index.add(daily);
+        index.add(morning);
+
+        DateEvent from = new DateEvent(LocalDateTime.of(2025, 4, 14, 12, 0));
+        List<Occurrence> page = index.occurrences(from, new DateEvent(LocalDateTime.MAX))
+                .skip(1)
+                .limit(3)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(
+                new Occurrence(morning, morning.getStartDate()),
+                new Occurrence(daily, new DateEvent(LocalDateTime.of(2025, 4, 16, 7, 0))),
+                new Occurrence(daily, new DateEvent(LocalDateTime.of(2025, 4, 17, 7, 0)))), page);
+        assertEquals(0, index.occurrences(from, new DateEvent(LocalDateTime.of(2025, 4, 1, 0, 0))).count());
+    }
+
+    @Test
+    void testClear() {
+        index.add(morning);
+        index.add(weekly);
+
+        index.clear();
+
+        assertEquals(0, index.size());
+    }
+}
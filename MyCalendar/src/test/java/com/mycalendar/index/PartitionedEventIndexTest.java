@@ -0,0 +1,89 @@
+package com.mycalendar.index;
+
+import com.mycalendar.events.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionedEventIndexTest {
+    private PartitionedEventIndex index;
+    private DateEvent dayStart;
+    private DateEvent dayEnd;
+    private Event johnAlone;
+    private Event meeting;
+    private Event carlaAlone;
+
+    @BeforeEach
+    void setUp() {
+        index = new PartitionedEventIndex();
+        dayStart = new DateEvent(LocalDateTime.of(2025, 4, 15, 0, 0));
+        dayEnd = new DateEvent(LocalDateTime.of(2025, 4, 15, 23, 59));
+
+        johnAlone = new PersonalEvent("Sport", "John",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 8, 0)), new DurationEvent(60));
+        meeting = new MeetingEvent("Revue", "John",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 10, 0)), new DurationEvent(60), "Salle A", "Alice, Bob");
+        carlaAlone = new PersonalEvent("Dentiste", "Carla",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 10, 30)), new DurationEvent(30));
+    }
+
+    @Test
+    void testEventsArePartitionedByOwnerAndParticipant() {
+        index.add(johnAlone);
+        index.add(meeting);
+        index.add(carlaAlone);
+
+        assertEquals(List.of(johnAlone, meeting), index.between("John", dayStart, dayEnd));
+        assertEquals(List.of(meeting), index.between("Alice", dayStart, dayEnd));
+        assertEquals(List.of(meeting), index.between("Bob", dayStart, dayEnd));
+        assertEquals(List.of(carlaAlone), index.between("Carla", dayStart, dayEnd));
+        assertTrue(index.between("Dave", dayStart, dayEnd).isEmpty());
+    }
+
+    @Test
+    void testUserNamesIgnoreCaseAndSurroundingSpaces() {
+        Event selfInvited = new MeetingEvent("Point", "Alice",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 16, 0)), new DurationEvent(30), "Salle B", " alice ");
+        index.add(selfInvited);
+
+        assertEquals(1, index.size("ALICE"));
+        assertEquals(List.of(selfInvited), index.between(" Alice", dayStart, dayEnd));
+    }
+
+    @Test
+    void testReplaceMovesEventBetweenParticipants() {
+        index.add(meeting);
+        Event updated = new MeetingEvent(meeting.getId(), meeting.getTitle(), meeting.getOwner(),
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 11, 0)), meeting.getDuration(),
+                new PlaceEvent("Salle A"), new ParticipantEvent("Bob, Carla"));
+
+        index.replace(meeting, updated);
+
+        assertEquals(List.of(updated), index.between("John", dayStart, dayEnd));
+        assertTrue(index.between("Alice", dayStart, dayEnd).isEmpty());
+        assertEquals(List.of(updated), index.between("Bob", dayStart, dayEnd));
+        assertEquals(List.of(updated), index.between("Carla", dayStart, dayEnd));
+    }
+
+    @Test
+    void testRemoveAndConflictsPerUser() {
+        index.add(meeting);
+        index.add(carlaAlone);
+        Event bobOverlap = new PersonalEvent("Appel", "Bob",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 10, 45)), new DurationEvent(30));
+        index.add(bobOverlap);
+
+        assertEquals(List.of(new EventConflict(meeting, bobOverlap)), index.allConflicts("Bob"));
+        assertTrue(index.allConflicts("Carla").isEmpty());
+        assertEquals(List.of(meeting), index.overlapCandidates("Alice", carlaAlone));
+
+        index.remove(meeting);
+        assertEquals(0, index.size("Alice"));
+        assertTrue(index.allConflicts("Bob").isEmpty());
+        assertEquals(List.of(carlaAlone), index.between("Carla", dayStart, dayEnd));
+    }
+}
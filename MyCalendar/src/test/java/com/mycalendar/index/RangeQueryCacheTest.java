@@ -0,0 +1,110 @@
+package com.mycalendar.index;
+
+import com.mycalendar.events.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RangeQueryCacheTest {
+    private RangeQueryCache cache;
+    private DateEvent weekStart;
+    private DateEvent weekEnd;
+    private DateEvent nextWeekStart;
+    private DateEvent nextWeekEnd;
+    private int queries;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RangeQueryCache(2);
+        weekStart = new DateEvent(LocalDateTime.of(2025, 4, 14, 0, 0));
+        weekEnd = new DateEvent(LocalDateTime.of(2025, 4, 20, 23, 59));
+        nextWeekStart = new DateEvent(LocalDateTime.of(2025, 4, 21, 0, 0));
+        nextWeekEnd = new DateEvent(LocalDateTime.of(2025, 4, 27, 23, 59));
+        queries = 0;
+    }
+
+    private List<Event> query() {
+        queries++;
+        return new ArrayList<>();
+    }
+
+    private static Event personal(String owner, LocalDateTime start) {
+        return new PersonalEvent("Rendez-vous", owner, new DateEvent(start), new DurationEvent(30));
+    }
+
+    @Test
+    void testRepeatedQueryIsServedFromCache() {
+        cache.get("John", weekStart, weekEnd, this::query);
+        cache.get(" john ", weekStart, weekEnd, this::query);
+        cache.get(null, weekStart, weekEnd, this::query);
+
+        assertEquals(2, queries);
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(1.0 / 3, stats.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void testMutationInvalidatesOnlyOverlappingPeriodsOfConcernedUsers() {
+        cache = new RangeQueryCache(10);
+        cache.get("John", weekStart, weekEnd, this::query);
+        cache.get("John", nextWeekStart, nextWeekEnd, this::query);
+        cache.get("Alice", weekStart, weekEnd, this::query);
+        cache.get(null, weekStart, weekEnd, this::query);
+
+        cache.eventAdded(personal("John", LocalDateTime.of(2025, 4, 15, 10, 0)));
+
+        assertEquals(2, cache.stats().getInvalidations());
+        cache.get("John", nextWeekStart, nextWeekEnd, this::query);
+        cache.get("Alice", weekStart, weekEnd, this::query);
+        assertEquals(4, queries);
+        cache.get("John", weekStart, weekEnd, this::query);
+        cache.get(null, weekStart, weekEnd, this::query);
+        assertEquals(6, queries);
+    }
+
+    @Test
+    void testRecurringEventInvalidatesEveryPeriodWhereItOccurs() {
+        cache.get("John", weekStart, weekEnd, this::query);
+        cache.get("John", nextWeekStart, nextWeekEnd, this::query);
+
+        cache.eventRemoved(new PeriodicEvent("Hebdo", "John", new DateEvent(LocalDateTime.of(2025, 1, 6, 8, 0)), 7));
+
+        assertEquals(2, cache.stats().getInvalidations());
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        DateEvent dayStart = new DateEvent(LocalDateTime.of(2025, 4, 15, 0, 0));
+        cache.get(null, weekStart, weekEnd, this::query);
+        cache.get(null, nextWeekStart, nextWeekEnd, this::query);
+        cache.get(null, weekStart, weekEnd, this::query);
+        cache.get(null, dayStart, weekEnd, this::query);
+
+        assertEquals(1, cache.stats().getEvictions());
+        cache.get(null, weekStart, weekEnd, this::query);
+        assertEquals(3, queries);
+        cache.get(null, nextWeekStart, nextWeekEnd, this::query);
+        assertEquals(4, queries);
+    }
+
+    @Test
+    void testResultComputedDuringMutationIsNotCached() {
+        Event event = personal("John", LocalDateTime.of(2025, 4, 15, 10, 0));
+        cache.get("John", weekStart, weekEnd, () -> {
+            // Modification concurrente pendant le calcul : le résultat est peut-être déjà périmé
+            cache.eventAdded(event);
+            return query();
+        });
+        cache.get("John", weekStart, weekEnd, this::query);
+
+        assertEquals(2, queries);
+    }
+}
@@ -6,9 +6,15 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -190,4 +196,88 @@ public class JsonUtilsTest {
         assertTrue(file.exists());
         assertTrue(file.length() > 0);
     }
+    
+    @Test
+    public void testStreamingSaveAndLoad() throws IOException {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Set<Event> events = new LinkedHashSet<>(Arrays.asList(
+            new PersonalEvent("Rendez-vous médecin", "John", new DateEvent(now), new DurationEvent(60)),
+            new MeetingEvent("Réunion projet", "John", new DateEvent(now.plusHours(1)), new DurationEvent(120),
+                "Salle A", "Alice, Bob"),
+            new PeriodicEvent("Hebdo", "John", new DateEvent(now.plusDays(1)), 7),
+            new TaskEvent("Rapport", "John", new DateEvent(now.plusDays(2)), "HIGH"),
+            new ReminderEvent("Rappel important", "John", new DateEvent(now.plusHours(2)), "Documents")
+        ));
+        File file = new File(tempDir, "events.json");
+        
+        // When
+        JsonUtils.saveToFile(events, file);
+        List<Event> loaded;
+        try (Stream<Event> stream = JsonUtils.streamFromFile(file)) {
+            loaded = stream.collect(Collectors.toList());
+        }
+        
+        // Then
+        assertEquals(5, loaded.size());
+        assertEquals(
+            events.stream().map(Event::getId).collect(Collectors.toList()),
+            loaded.stream().map(Event::getId).collect(Collectors.toList()));
+        assertEquals(TypeEvent.REUNION, loaded.get(1).getType());
+        assertEquals("Salle A", ((MeetingEvent) loaded.get(1)).getPlace().getValue());
+    }
+    
+    @Test
+    public void testStreamingLoadIsReadableByListLoader() throws IOException {
+        // Given
+        File file = new File(tempDir, "events.json");
+        JsonUtils.saveToFile(Set.of(
+            new PersonalEvent("Rendez-vous médecin", "John", new DateEvent(LocalDateTime.now()), new DurationEvent(60))
+        ), file);
+        
+        // When
+        List<Event> loaded = JsonUtils.loadListFromFile(file, Event.class);
+        
+        // Then
+        assertEquals(1, loaded.size());
+    }
+    
+    @Test
+    public void testStreamingLoadOfEmptyArray() throws IOException {
+        // Given
+        File file = new File(tempDir, "empty.json");
+        Files.writeString(file.toPath(), "[ ]");
+        
+        // When
+        try (EventJsonReader reader = JsonUtils.openReader(file)) {
+            // Then
+            assertFalse(reader.hasNext());
+        }
+    }
+    
+    @Test
+    public void testStreamingLoadOfTruncatedFile() throws IOException {
+        // Given
+        File file = new File(tempDir, "truncated.json");
+        JsonUtils.saveToFile(Set.of(
+            new PersonalEvent("Rendez-vous médecin", "John", new DateEvent(LocalDateTime.now()), new DurationEvent(60))
+        ), file);
+        String content = Files.readString(file.toPath());
+        Files.writeString(file.toPath(), content.substring(0, content.length() / 2));
+        
+        // When / Then
+        try (Stream<Event> stream = JsonUtils.streamFromFile(file)) {
+            assertThrows(UncheckedIOException.class, () -> stream.collect(Collectors.toList()));
+        }
+    }
+    
+    @Test
+    public void testStreamingLoadRejectsNonArray() throws IOException {
+        // Given
+        File file = new File(tempDir, "object.json");
+        Files.writeString(file.toPath(), "{}");
+        
+        // When / Then
+        assertThrows(IOException.class, () -> JsonUtils.openReader(file));
+    }
 }
@@ -0,0 +1,78 @@
+package com.mycalendar.persistence;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AtomicFileTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriteReplacesTargetAndKeepsPreviousVersion() throws IOException {
+        File file = tempDir.resolve("calendar.txt").toFile();
+
+        AtomicFile.write(file, true, tempFile -> Files.writeString(tempFile.toPath(), "v1"));
+        assertFalse(AtomicFile.backupOf(file).exists());
+
+        AtomicFile.write(file, true, tempFile -> Files.writeString(tempFile.toPath(), "v2"));
+        AtomicFile.write(file, true, tempFile -> Files.writeString(tempFile.toPath(), "v3"));
+
+        assertEquals("v3", Files.readString(file.toPath()));
+        assertEquals("v2", Files.readString(AtomicFile.backupOf(file).toPath()));
+        assertEquals(Arrays.asList("calendar.txt", "calendar.txt.bak"),
+                Arrays.stream(tempDir.toFile().list()).sorted().toList());
+    }
+
+    @Test
+    void testFailedWriteLeavesTargetAndBackupUnchanged() throws IOException {
+        File file = tempDir.resolve("calendar.txt").toFile();
+        AtomicFile.write(file, true, tempFile -> Files.writeString(tempFile.toPath(), "v1"));
+        AtomicFile.write(file, true, tempFile -> Files.writeString(tempFile.toPath(), "v2"));
+
+        IOException error = assertThrows(IOException.class, () -> AtomicFile.write(file, true, tempFile -> {
+            Files.writeString(tempFile.toPath(), "v3 à moit");
+            throw new IOException("Disque plein");
+        }));
+
+        assertEquals("Disque plein", error.getMessage());
+        assertEquals("v2", Files.readString(file.toPath()));
+        assertEquals("v1", Files.readString(AtomicFile.backupOf(file).toPath()));
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    void testTruncatedSnapshotIsRecoveredFromBackup() throws IOException {
+        File file = tempDir.resolve("calendar.bin").toFile();
+        CalendarManager manager = new CalendarManager(new JournalPersistence(tempDir.resolve("a.journal").toFile(), 100));
+        manager.ajouterEvent(new PersonalEvent("Rendez-vous médecin", "John",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 10, 0)), new DurationEvent(60)));
+        manager.saveEventsToBinary(file);
+        manager.ajouterEvent(new TaskEvent("Rapport", "Jane",
+                new DateEvent(LocalDateTime.of(2025, 5, 20, 18, 0)), "Haute"));
+        manager.saveEventsToBinary(file);
+        byte[] content = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(content, content.length - 10));
+
+        CalendarManager reloaded = new CalendarManager(new JournalPersistence(tempDir.resolve("b.journal").toFile(), 100));
+        reloaded.loadEvents(file, SnapshotFormat.BINARY);
+
+        assertEquals(1, reloaded.getAllEvents().size());
+        assertEquals("Rendez-vous médecin", reloaded.getAllEvents().get(0).getTitle().getValue());
+
+        // Sans copie de secours, le calendrier reste inchangé
+        Files.delete(AtomicFile.backupOf(file).toPath());
+        assertThrows(IOException.class, () -> reloaded.loadEvents(file, SnapshotFormat.BINARY));
+        assertEquals(1, reloaded.getAllEvents().size());
+    }
+}
@@ -0,0 +1,165 @@
+package com.mycalendar.persistence;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.*;
+import com.mycalendar.json.JsonUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinarySnapshotTest {
+    @TempDir
+    Path tempDir;
+
+    private List<Event> events;
+
+    @BeforeEach
+    void setUp() {
+        events = List.of(
+                new PersonalEvent("Rendez-vous médecin", "John",
+                        new DateEvent(LocalDateTime.of(2025, 4, 15, 10, 0, 30, 123_456_789)), new DurationEvent(60)),
+                new MeetingEvent("Réunion projet", "John",
+                        new DateEvent(LocalDateTime.of(2025, 4, 15, 14, 0)), new DurationEvent(120), "Salle A", "Alice, Bob"),
+                new PeriodicEvent("Hebdo", "John", new DateEvent(LocalDateTime.of(2025, 4, 1, 9, 0)), 7),
+                new TaskEvent("Rapport", "Jane", new DateEvent(LocalDateTime.of(2025, 4, 20, 18, 0)), "Haute"),
+                new ReminderEvent("Appel", "Jane", new DateEvent(LocalDateTime.of(2025, 4, 21, 8, 0)), "Rappeler Paul"));
+    }
+
+    @Test
+    void testRoundTripPreservesEveryType() throws IOException {
+        File file = tempDir.resolve("calendar.bin").toFile();
+        BinarySnapshot.save(events, file);
+
+        List<Event> loaded = new ArrayList<>();
+        assertEquals(5, BinarySnapshot.load(file, loaded::add));
+
+        for (int i = 0; i < events.size(); i++) {
+            Event expected = events.get(i);
+            Event actual = loaded.get(i);
+            assertEquals(expected.getClass(), actual.getClass());
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getTitle().getValue(), actual.getTitle().getValue());
+            assertEquals(expected.getOwner().getValue(), actual.getOwner().getValue());
+            assertEquals(expected.getStartDate(), actual.getStartDate());
+            assertEquals(expected.getDuration(), actual.getDuration());
+        }
+        MeetingEvent meeting = (MeetingEvent) loaded.get(1);
+        assertEquals("Salle A", meeting.getPlace().getValue());
+        assertEquals(List.of("Alice", "Bob"), meeting.getParticipants().getParticipants());
+        assertEquals(7, ((PeriodicEvent) loaded.get(2)).getFrequency().getDays());
+        assertEquals("HAUTE", ((TaskEvent) loaded.get(3)).getPriority().getValue());
+        assertEquals("Rappeler Paul", ((ReminderEvent) loaded.get(4)).getMessage().getValue());
+    }
+
+    @Test
+    void testStringsLongerThan64KiloBytesRoundTrip() throws IOException {
+        String message = "Relire l'été ".repeat(6_000).trim();
+        String participants = String.join(", ", Collections.nCopies(20_000, "Zoé"));
+        assertTrue(message.getBytes(StandardCharsets.UTF_8).length > 65_535);
+        List<Event> large = List.of(
+                new ReminderEvent("Appel", "Jane", new DateEvent(LocalDateTime.of(2025, 4, 21, 8, 0)), message),
+                new MeetingEvent("Réunion plénière", "John",
+                        new DateEvent(LocalDateTime.of(2025, 4, 15, 14, 0)), new DurationEvent(120), "Salle A", participants));
+        File file = tempDir.resolve("calendar.bin").toFile();
+        BinarySnapshot.save(large, file);
+
+        List<Event> loaded = new ArrayList<>();
+        assertEquals(2, BinarySnapshot.load(file, loaded::add));
+        assertEquals(message, ((ReminderEvent) loaded.get(0)).getMessage().getValue());
+        assertEquals(participants, ((MeetingEvent) loaded.get(1)).getParticipants().toString());
+    }
+
+    @Test
+    void testVersionOneFileIsStillReadable() throws IOException {
+        File file = tempDir.resolve("calendar.bin").toFile();
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.write(new byte[] {'M', 'Y', 'C', 'A', 'L', 1});
+            Event task = events.get(3);
+            out.writeByte(TypeEvent.TASK.ordinal());
+            out.writeUTF(task.getId().getValue());
+            out.writeUTF("Rapport");
+            out.writeUTF("Jane");
+            out.writeLong(LocalDateTime.of(2025, 4, 20, 18, 0).toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeUTF("Haute");
+            out.writeByte(0xFF);
+        }
+
+        assertEquals(SnapshotFormat.BINARY, SnapshotFormat.detect(file));
+        List<Event> loaded = new ArrayList<>();
+        assertEquals(1, BinarySnapshot.load(file, loaded::add));
+        TaskEvent task = (TaskEvent) loaded.get(0);
+        assertEquals(events.get(3).getId(), task.getId());
+        assertEquals("Jane", task.getOwner().getValue());
+        assertEquals("HAUTE", task.getPriority().getValue());
+    }
+
+    @Test
+    void testBinaryIsSmallerThanJson() throws IOException {
+        File binary = tempDir.resolve("calendar.bin").toFile();
+        File json = tempDir.resolve("calendar.json").toFile();
+        BinarySnapshot.save(events, binary);
+        JsonUtils.saveToFile(events, json);
+
+        assertTrue(binary.length() * 3 < json.length(),
+                "binaire : " + binary.length() + " octets, JSON : " + json.length() + " octets");
+    }
+
+    @Test
+    void testTruncatedFileFails() throws IOException {
+        File file = tempDir.resolve("calendar.bin").toFile();
+        BinarySnapshot.save(events, file);
+        byte[] content = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(content, content.length - 10));
+
+        assertThrows(IOException.class, () -> BinarySnapshot.load(file, event -> { }));
+    }
+
+    @Test
+    void testFormatIsDetectedFromHeader() throws IOException {
+        File binary = tempDir.resolve("calendar.bin").toFile();
+        File json = tempDir.resolve("calendar.json").toFile();
+        BinarySnapshot.save(events, binary);
+        JsonUtils.saveToFile(events, json);
+
+        assertEquals(SnapshotFormat.BINARY, SnapshotFormat.detect(binary));
+        assertEquals(SnapshotFormat.JSON, SnapshotFormat.detect(json));
+        assertThrows(IOException.class, () -> BinarySnapshot.load(json, event -> { }));
+    }
+
+    @Test
+    void testCalendarManagerLoadsEitherFormat() throws IOException {
+        File binary = tempDir.resolve("calendar.bin").toFile();
+        File json = tempDir.resolve("calendar.json").toFile();
+        BinarySnapshot.save(events, binary);
+        JsonUtils.saveToFile(events, json);
+
+        CalendarManager fromBinary = new CalendarManager();
+        fromBinary.loadEvents(binary);
+        CalendarManager fromJson = new CalendarManager();
+        fromJson.loadEvents(json);
+
+        assertEquals(5, fromBinary.getAllEvents().size());
+        assertEquals(5, fromJson.getAllEvents().size());
+        // Le rendez-vous, la réunion et l'occurrence du 15 avril de l'événement hebdomadaire
+        assertEquals(3, fromBinary.eventsDansPeriode(
+                LocalDateTime.of(2025, 4, 15, 0, 0), LocalDateTime.of(2025, 4, 15, 23, 59)).size());
+    }
+}
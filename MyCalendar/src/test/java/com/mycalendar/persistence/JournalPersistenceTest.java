@@ -0,0 +1,272 @@
+package com.mycalendar.persistence;
+
+import com.mycalendar.events.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalPersistenceTest {
+    @TempDir
+    Path tempDir;
+
+    private File journalFile;
+    private final AtomicInteger snapshots = new AtomicInteger();
+    private Event personalEvent;
+    private Event meetingEvent;
+    private Event periodicEvent;
+
+    @BeforeEach
+    void setUp() {
+        journalFile = tempDir.resolve("calendar_events.journal").toFile();
+        personalEvent = new PersonalEvent("Rendez-vous médecin", "John",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 10, 0)), new DurationEvent(60));
+        meetingEvent = new MeetingEvent("Réunion projet", "John",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 14, 0)), new DurationEvent(120), "Salle A", "Alice, Bob");
+        periodicEvent = new PeriodicEvent("Hebdo", "John",
+                new DateEvent(LocalDateTime.of(2025, 4, 1, 9, 0)), 7);
+    }
+
+    @Test
+    void testEachMutationAppendsOneRecord() throws IOException {
+        JournalPersistence journal = attachedJournal(100);
+
+        journal.eventAdded(personalEvent);
+        journal.eventAdded(meetingEvent);
+        journal.eventRemoved(personalEvent);
+
+        List<String> lines = Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("+{"));
+        assertEquals("-" + personalEvent.getId().getValue(), lines.get(2));
+        assertEquals(0, snapshots.get());
+    }
+
+    @Test
+    void testRecoverReplaysMutationsInOrder() throws IOException {
+        JournalPersistence journal = attachedJournal(100);
+        journal.eventAdded(personalEvent);
+        journal.eventAdded(meetingEvent);
+        journal.eventAdded(periodicEvent);
+        journal.eventRemoved(personalEvent);
+
+        Map<EventId, Event> recovered = recover(attachedJournal(100));
+
+        assertEquals(2, recovered.size());
+        assertFalse(recovered.containsKey(personalEvent.getId()));
+        MeetingEvent meeting = (MeetingEvent) recovered.get(meetingEvent.getId());
+        assertEquals("Salle A", meeting.getPlace().getValue());
+        assertEquals(List.of("Alice", "Bob"), meeting.getParticipants().getParticipants());
+        PeriodicEvent periodic = (PeriodicEvent) recovered.get(periodicEvent.getId());
+        assertEquals(7, periodic.getFrequency().getDays());
+    }
+
+    @Test
+    void testCompactionWritesSnapshotAndTruncatesJournal() throws IOException {
+        JournalPersistence journal = attachedJournal(3);
+
+        journal.eventAdded(personalEvent);
+        journal.eventAdded(meetingEvent);
+        assertEquals(0, snapshots.get());
+        journal.eventAdded(periodicEvent);
+
+        assertEquals(1, snapshots.get());
+        assertEquals(0, journal.recordsSinceSnapshot());
+        assertEquals(0, Files.size(journalFile.toPath()));
+
+        journal.eventRemoved(meetingEvent);
+        assertEquals(1, Files.readAllLines(journalFile.toPath()).size());
+    }
+
+    @Test
+    void testBatchIsAppendedAtOnceOrReplacedBySnapshot() throws IOException {
+        JournalPersistence journal = attachedJournal(4);
+
+        journal.eventsAdded(List.of(personalEvent, meetingEvent));
+        assertEquals(2, Files.readAllLines(journalFile.toPath()).size());
+        assertEquals(2, journal.recordsSinceSnapshot());
+        assertEquals(0, snapshots.get());
+
+        // Le lot suivant atteindrait le seuil : une seule sauvegarde complète, sans passer par le journal
+        journal.eventsAdded(List.of(periodicEvent, personalEvent));
+        assertEquals(1, snapshots.get());
+        assertEquals(0, journal.recordsSinceSnapshot());
+        assertEquals(0, Files.size(journalFile.toPath()));
+    }
+
+    @Test
+    void testBatchIsJournaledWhenItsSnapshotFails() throws IOException {
+        AtomicBoolean diskFull = new AtomicBoolean(true);
+        JournalPersistence journal = new JournalPersistence(journalFile, 3);
+        journal.attach(() -> {
+            if (diskFull.get()) {
+                throw new IOException("Disque plein");
+            }
+            snapshots.incrementAndGet();
+        });
+        journal.eventsAdded(List.of(personalEvent, meetingEvent));
+
+        // La sauvegarde complète qui devait remplacer le lot échoue : le lot passe par le journal
+        journal.eventsAdded(List.of(periodicEvent));
+        assertEquals(3, Files.readAllLines(journalFile.toPath()).size());
+        assertEquals(3, journal.recordsSinceSnapshot());
+        assertEquals(List.of(personalEvent.getId(), meetingEvent.getId(), periodicEvent.getId()),
+                List.copyOf(recover(new JournalPersistence(journalFile, 3)).keySet()));
+
+        diskFull.set(false);
+        journal.eventRemoved(meetingEvent);
+        assertEquals(1, snapshots.get());
+        assertEquals(0, Files.size(journalFile.toPath()));
+    }
+
+    @Test
+    void testCloseCompactsPendingRecords() throws IOException {
+        JournalPersistence journal = attachedJournal(100);
+        journal.close();
+        assertEquals(0, snapshots.get(), "Journal vide : pas de sauvegarde complète");
+
+        journal = attachedJournal(100);
+        journal.eventAdded(personalEvent);
+        journal.close();
+        assertEquals(1, snapshots.get());
+        assertEquals(0, Files.size(journalFile.toPath()));
+    }
+
+    @Test
+    void testTornLastRecordIsIgnored() throws IOException {
+        JournalPersistence journal = attachedJournal(100);
+        journal.eventAdded(personalEvent);
+        Files.writeString(journalFile.toPath(), "+{\"type\":\"RDV_PERS", StandardOpenOption.APPEND);
+
+        Map<EventId, Event> recovered = recover(attachedJournal(100));
+
+        assertEquals(1, recovered.size());
+        assertTrue(recovered.containsKey(personalEvent.getId()));
+    }
+
+    @Test
+    void testTornLastRecordIsRemovedBeforeNextAppend() throws IOException {
+        JournalPersistence journal = attachedJournal(100);
+        journal.eventAdded(personalEvent);
+        Files.writeString(journalFile.toPath(), "+{\"type\":\"RDV_PERS", StandardOpenOption.APPEND);
+
+        // Redémarrage, nouvelle modification, puis nouveau redémarrage
+        JournalPersistence restarted = attachedJournal(100);
+        recover(restarted);
+        restarted.eventAdded(meetingEvent);
+        Map<EventId, Event> recovered = recover(attachedJournal(100));
+
+        assertEquals(List.of(personalEvent.getId(), meetingEvent.getId()), List.copyOf(recovered.keySet()));
+        assertEquals(2, Files.readAllLines(journalFile.toPath()).size());
+    }
+
+    @Test
+    void testLastRecordWithoutNewlineIsKept() throws IOException {
+        JournalPersistence journal = attachedJournal(100);
+        journal.eventAdded(personalEvent);
+        String content = Files.readString(journalFile.toPath());
+        Files.writeString(journalFile.toPath(), content.substring(0, content.length() - 1));
+
+        JournalPersistence restarted = attachedJournal(100);
+        assertEquals(1, recover(restarted).size());
+        restarted.eventAdded(meetingEvent);
+
+        assertEquals(2, recover(attachedJournal(100)).size());
+    }
+
+    @Test
+    void testWriteFailureIsReported() {
+        // Un répertoire à la place du journal : aucune écriture possible
+        assertTrue(journalFile.mkdir());
+        JournalPersistence journal = attachedJournal(100);
+
+        assertThrows(UncheckedIOException.class, () -> journal.eventAdded(personalEvent));
+        assertThrows(UncheckedIOException.class, () -> journal.eventsAdded(List.of(meetingEvent)));
+        assertEquals(0, journal.recordsSinceSnapshot());
+    }
+
+    @Test
+    void testCorruptedRecordInTheMiddleFails() throws IOException {
+        Files.writeString(journalFile.toPath(), "?corrompu\n-" + personalEvent.getId().getValue() + "\n");
+
+        assertThrows(IOException.class, () -> recover(attachedJournal(100)));
+    }
+
+    @Test
+    void testRecoverWithoutJournal() throws IOException {
+        assertTrue(recover(attachedJournal(100)).isEmpty());
+    }
+
+    @Test
+    void testCloseDuringMutationDoesNotDeadlock() throws IOException {
+        // Le calendrier modifie sous son verrou, puis prévient le journal ; sa sauvegarde prend aussi ce verrou
+        Object calendarLock = new Object();
+        JournalPersistence journal = new JournalPersistence(journalFile, 100);
+        journal.attach(new SaveAction() {
+            @Override
+            public void save() {
+                synchronized (calendarLock) {
+                    snapshots.incrementAndGet();
+                }
+            }
+
+            @Override
+            public Object lock() {
+                return calendarLock;
+            }
+        });
+        journal.eventAdded(personalEvent);
+        CountDownLatch mutating = new CountDownLatch(1);
+        Thread mutator = new Thread(() -> {
+            synchronized (calendarLock) {
+                mutating.countDown();
+                try {
+                    // Laisse la fermeture commencer pendant la modification
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                journal.eventAdded(meetingEvent);
+            }
+        });
+        mutator.setDaemon(true);
+        mutator.start();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            mutating.await();
+            journal.close();
+            mutator.join();
+        });
+        assertEquals(1, snapshots.get());
+        assertEquals(0, Files.size(journalFile.toPath()));
+    }
+
+    private JournalPersistence attachedJournal(int compactionThreshold) {
+        JournalPersistence journal = new JournalPersistence(journalFile, compactionThreshold);
+        journal.attach(snapshots::incrementAndGet);
+        return journal;
+    }
+
+    private Map<EventId, Event> recover(JournalPersistence journal) throws IOException {
+        Map<EventId, Event> events = new LinkedHashMap<>();
+        journal.recover(event -> events.put(event.getId(), event), events::remove);
+        return events;
+    }
+}
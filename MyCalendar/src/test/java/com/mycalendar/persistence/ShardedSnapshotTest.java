@@ -0,0 +1,227 @@
+package com.mycalendar.persistence;
+
+import com.mycalendar.CalendarListener;
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedSnapshotTest {
+    @TempDir
+    Path tempDir;
+
+    private File directory;
+    private ForkJoinPool pool;
+    private List<Event> events;
+
+    @BeforeEach
+    void setUp() {
+        directory = tempDir.resolve("calendar_events").toFile();
+        pool = new ForkJoinPool(4);
+        events = List.of(
+                new PersonalEvent("Rendez-vous médecin", "John",
+                        new DateEvent(LocalDateTime.of(2025, 4, 15, 10, 0)), new DurationEvent(60)),
+                new MeetingEvent("Réunion projet", "John",
+                        new DateEvent(LocalDateTime.of(2025, 4, 15, 14, 0)), new DurationEvent(120), "Salle A", "Alice, Bob"),
+                new TaskEvent("Rapport", "Jane", new DateEvent(LocalDateTime.of(2025, 5, 20, 18, 0)), "Haute"),
+                new ReminderEvent("Appel", "Jane", new DateEvent(LocalDateTime.of(2025, 6, 21, 8, 0)), "Rappeler Paul"),
+                new PeriodicEvent("Hebdo", "John", new DateEvent(LocalDateTime.of(2025, 4, 1, 9, 0)), 7));
+    }
+
+    private List<String> shardFiles() {
+        return Arrays.stream(directory.list())
+                .filter(name -> !name.startsWith(ShardManifest.FILE_NAME))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testRoundTripKeepsOneShardPerMonth() throws IOException {
+        for (SnapshotFormat format : SnapshotFormat.values()) {
+            ShardedSnapshot.save(events, directory, format);
+
+            List<List<Event>> shards = ShardedSnapshot.load(directory, pool);
+
+            assertEquals(3, shards.size());
+            assertEquals(List.of("Rendez-vous médecin", "Réunion projet", "Hebdo"), shards.get(0).stream()
+                    .map(event -> event.getTitle().getValue()).collect(Collectors.toList()));
+            assertEquals(TaskEvent.class, shards.get(1).get(0).getClass());
+            assertEquals(events.get(3).getId(), shards.get(2).get(0).getId());
+            assertEquals(format, ShardManifest.read(directory).getFormat());
+        }
+    }
+
+    @Test
+    void testNewGenerationReplacesPreviousShards() throws IOException {
+        ShardedSnapshot.save(events, directory, SnapshotFormat.JSON);
+        assertEquals(List.of("2025-04.g1.json", "2025-05.g1.json", "2025-06.g1.json"), shardFiles());
+        assertFalse(ShardedSnapshot.hasBackup(directory));
+
+        ShardedSnapshot.save(events.subList(0, 2), directory, SnapshotFormat.JSON);
+
+        // La génération précédente reste lisible comme copie de secours
+        assertEquals(List.of("2025-04.g1.json", "2025-04.g2.json", "2025-05.g1.json", "2025-06.g1.json"),
+                shardFiles());
+        assertEquals(2, ShardManifest.read(directory).getGeneration());
+        assertEquals(1, ShardManifest.readBackup(directory).getGeneration());
+
+        ShardedSnapshot.save(events.subList(0, 2), directory, SnapshotFormat.JSON);
+
+        assertEquals(List.of("2025-04.g2.json", "2025-04.g3.json"), shardFiles());
+    }
+
+    @Test
+    void testSaveShardsRewritesOnlyChangedShards() throws IOException {
+        ShardedSnapshot.save(events, directory, SnapshotFormat.JSON);
+        Event added = new PersonalEvent("Nouveau", "Jane",
+                new DateEvent(LocalDateTime.of(2025, 5, 2, 9, 0)), new DurationEvent(30));
+
+        Map<String, List<Event>> changed = new TreeMap<>();
+        changed.put("2025-05", List.of(events.get(2), added));
+        changed.put("2025-06", List.of());
+        assertTrue(ShardedSnapshot.saveShards(changed, directory, SnapshotFormat.JSON));
+
+        assertEquals(List.of("2025-04.g1.json", "2025-05.g1.json", "2025-05.g2.json", "2025-06.g1.json"),
+                shardFiles());
+        List<List<Event>> shards = ShardedSnapshot.load(directory, pool);
+        assertEquals(3, shards.get(0).size());
+        assertEquals(added.getId(), shards.get(1).get(1).getId());
+    }
+
+    @Test
+    void testSaveShardsNeedsAnExistingSnapshotInTheSameFormat() throws IOException {
+        Map<String, List<Event>> changed = Map.of("2025-04", events.subList(0, 1));
+        assertFalse(ShardedSnapshot.saveShards(changed, directory, SnapshotFormat.JSON));
+
+        ShardedSnapshot.save(events, directory, SnapshotFormat.JSON);
+        assertFalse(ShardedSnapshot.saveShards(changed, directory, SnapshotFormat.BINARY));
+        assertEquals(List.of("2025-04.g1.json", "2025-05.g1.json", "2025-06.g1.json"), shardFiles());
+    }
+
+    @Test
+    void testTrackerReportsTouchedShardsOnly() {
+        DirtyShardTracker tracker = new DirtyShardTracker();
+        assertNull(tracker.drain());
+
+        tracker.eventAdded(events.get(0));
+        tracker.eventReplaced(events.get(2), events.get(3));
+        assertEquals(Set.of("2025-04", "2025-05", "2025-06"), tracker.drain());
+        assertEquals(Set.of(), tracker.drain());
+
+        tracker.eventRemoved(events.get(0));
+        Set<String> failed = tracker.drain();
+        tracker.restore(failed);
+        assertEquals(Set.of("2025-04"), tracker.drain());
+
+        tracker.calendarCleared();
+        tracker.eventAdded(events.get(0));
+        assertNull(tracker.drain());
+    }
+
+    @Test
+    void testInterruptedSaveLeavesPreviousSnapshotReadable() throws IOException {
+        ShardedSnapshot.save(events, directory, SnapshotFormat.JSON);
+        // Partition d'une génération suivante écrite à moitié, sans sommaire
+        Files.writeString(directory.toPath().resolve("2025-04.g2.json"), "[{\"tronqu");
+
+        List<List<Event>> shards = ShardedSnapshot.load(directory, pool);
+        assertEquals(events.size(), shards.stream().mapToInt(List::size).sum());
+
+        // La sauvegarde suivante passe au-delà du fichier abandonné puis le supprime
+        ShardedSnapshot.save(events, directory, SnapshotFormat.JSON);
+        assertEquals(List.of("2025-04.g1.json", "2025-04.g3.json", "2025-05.g1.json", "2025-05.g3.json",
+                "2025-06.g1.json", "2025-06.g3.json"), shardFiles());
+    }
+
+    @Test
+    void testTruncatedShardIsReported() throws IOException {
+        ShardedSnapshot.save(events, directory, SnapshotFormat.BINARY);
+        Path shard = directory.toPath().resolve("2025-04.g1.bin");
+        byte[] content = Files.readAllBytes(shard);
+        Files.write(shard, Arrays.copyOf(content, content.length / 2));
+
+        assertThrows(IOException.class, () -> ShardedSnapshot.load(directory, pool));
+    }
+
+    @Test
+    void testCalendarManagerLoadsShardsInParallel() throws IOException {
+        CalendarManager source = new CalendarManager(new JournalPersistence(tempDir.resolve("a.journal").toFile(), 100));
+        source.ajouterEvents(events);
+        source.saveEventsSharded(directory, SnapshotFormat.BINARY);
+
+        CalendarManager target = new CalendarManager(new JournalPersistence(tempDir.resolve("b.journal").toFile(), 100));
+        target.ajouterEvent(new PersonalEvent("Écrasé", "Bob",
+                new DateEvent(LocalDateTime.of(2024, 1, 1, 9, 0)), new DurationEvent(30)));
+        List<Event> notified = new ArrayList<>();
+        target.addListener(new CalendarListener() {
+            @Override
+            public void eventAdded(Event event) {
+                notified.add(event);
+            }
+
+            @Override
+            public void eventRemoved(Event event) {
+            }
+
+            @Override
+            public void calendarCleared() {
+                notified.clear();
+            }
+        });
+
+        target.loadEventsSharded(directory, pool);
+
+        assertEquals(source.getAllEvents().stream().map(Event::getId).collect(Collectors.toList()),
+                target.getAllEvents().stream().map(Event::getId).collect(Collectors.toList()));
+        assertEquals(events.size(), notified.size());
+        assertEquals(1, target.eventsDansPeriode("Alice",
+                LocalDateTime.of(2025, 4, 15, 0, 0), LocalDateTime.of(2025, 4, 16, 0, 0)).size());
+    }
+
+    @Test
+    void testFailedLoadKeepsCalendarUnchanged() throws IOException {
+        ShardedSnapshot.save(events, directory, SnapshotFormat.JSON);
+        Files.writeString(directory.toPath().resolve("2025-05.g1.json"), "pas du JSON");
+        CalendarManager manager = new CalendarManager(new JournalPersistence(tempDir.resolve("c.journal").toFile(), 100));
+        manager.ajouterEvent(events.get(0));
+
+        assertThrows(IOException.class, () -> manager.loadEventsSharded(directory, pool));
+        assertEquals(List.of(events.get(0)), manager.getAllEvents());
+    }
+
+    @Test
+    void testCorruptSnapshotFallsBackToPreviousGeneration() throws IOException {
+        ShardedSnapshot.save(events, directory, SnapshotFormat.BINARY);
+        ShardedSnapshot.save(events.subList(0, 2), directory, SnapshotFormat.BINARY);
+        Files.writeString(directory.toPath().resolve("2025-04.g2.bin"), "tronqué");
+        CalendarManager manager = new CalendarManager(new JournalPersistence(tempDir.resolve("d.journal").toFile(), 100));
+
+        manager.loadEventsSharded(directory, pool);
+
+        assertEquals(events.size(), manager.getAllEvents().size());
+        assertEquals(events.size(), ShardedSnapshot.loadBackup(directory, pool).stream().mapToInt(List::size).sum());
+
+        // Sans copie de secours lisible, l'erreur de la sauvegarde courante est remontée
+        Files.writeString(directory.toPath().resolve("2025-05.g1.bin"), "tronqué");
+        IOException error = assertThrows(IOException.class, () -> manager.loadEventsSharded(directory, pool));
+        assertEquals(1, error.getSuppressed().length);
+        assertEquals(events.size(), manager.getAllEvents().size());
+    }
+}
@@ -0,0 +1,226 @@
+package com.mycalendar.persistence;
+
+import com.mycalendar.CalendarListener;
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.*;
+import com.mycalendar.index.EventTimeIndex;
+import com.mycalendar.index.PartitionedEventIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupIndexTest {
+    @TempDir
+    Path tempDir;
+
+    private File directory;
+    private List<Event> events;
+
+    @BeforeEach
+    void setUp() {
+        directory = tempDir.resolve("calendar_events").toFile();
+        events = List.of(
+                new PersonalEvent("Rendez-vous médecin", "John",
+                        new DateEvent(LocalDateTime.of(2025, 4, 15, 10, 0)), new DurationEvent(60)),
+                new MeetingEvent("Réunion projet", "John",
+                        new DateEvent(LocalDateTime.of(2025, 4, 15, 14, 0)), new DurationEvent(120), "Salle A", "Alice, Bob"),
+                new TaskEvent("Rapport", "Jane", new DateEvent(LocalDateTime.of(2025, 5, 20, 18, 0)), "Haute"),
+                new ReminderEvent("Appel", "Jane", new DateEvent(LocalDateTime.of(2025, 6, 21, 8, 0)), "Rappeler Paul"),
+                new PeriodicEvent("Hebdo", "John", new DateEvent(LocalDateTime.of(2025, 4, 1, 9, 0)), 7),
+                new PeriodicEvent("Point mensuel", "Alice", new DateEvent(LocalDateTime.of(2025, 3, 3, 11, 0)), 30));
+    }
+
+    private static List<EventId> ids(List<Event> events) {
+        return events.stream().map(Event::getId).collect(Collectors.toList());
+    }
+
+    private static DateEvent date(int month, int day) {
+        return new DateEvent(LocalDateTime.of(2025, month, day, 0, 0));
+    }
+
+    @Test
+    void testQueriesMatchLoadedIndexes() throws IOException {
+        ShardedSnapshot.save(events, directory, SnapshotFormat.BINARY);
+        EventTimeIndex timeIndex = new EventTimeIndex();
+        PartitionedEventIndex userIndex = new PartitionedEventIndex();
+        for (Event event : events) {
+            timeIndex.add(event);
+            userIndex.add(event);
+        }
+
+        assertTrue(StartupIndex.exists(directory));
+        try (StartupIndex index = StartupIndex.open(directory)) {
+            assertEquals(events.size(), index.size());
+            int[][] periods = {{4, 1, 4, 30}, {4, 15, 4, 15}, {4, 16, 6, 30}, {5, 1, 5, 31}, {1, 1, 12, 31}, {7, 1, 7, 2}};
+            for (int[] p : periods) {
+                DateEvent debut = date(p[0], p[1]);
+                DateEvent fin = new DateEvent(LocalDateTime.of(2025, p[2], p[3], 23, 59));
+                assertEquals(ids(timeIndex.between(debut, fin)), ids(index.between(debut, fin)));
+                for (String user : List.of("John", "jane", "Alice", "Bob", "Paul")) {
+                    assertEquals(ids(userIndex.between(user, debut, fin)), ids(index.between(user, debut, fin)),
+                            user + " " + debut);
+                }
+            }
+            Event meeting = index.get(events.get(1).getId());
+            assertInstanceOf(MeetingEvent.class, meeting);
+            assertEquals("Salle A", ((MeetingEvent) meeting).getPlace().getValue());
+            assertNull(index.get(new EventId()));
+        }
+    }
+
+    @Test
+    void testOnlyIndexedBinarySnapshotsCanBeOpened() throws IOException {
+        ShardedSnapshot.save(events, directory, SnapshotFormat.JSON);
+        assertFalse(StartupIndex.exists(directory));
+        assertThrows(IOException.class, () -> StartupIndex.open(directory));
+
+        ShardedSnapshot.save(events, directory, SnapshotFormat.BINARY);
+        assertTrue(StartupIndex.exists(directory));
+        assertTrue(new File(directory, "2025-05.g2.idx").isFile());
+    }
+
+    @Test
+    void testLongValuesAreIndexedAndRead() throws IOException {
+        String participant = "Zoé".repeat(30_000);
+        String message = "Relire l'été ".repeat(6_000).trim();
+        List<Event> large = List.of(
+                new MeetingEvent("Réunion plénière", "John",
+                        new DateEvent(LocalDateTime.of(2025, 4, 15, 14, 0)), new DurationEvent(120), "Salle A", participant),
+                new ReminderEvent("Appel", "Jane", new DateEvent(LocalDateTime.of(2025, 4, 21, 8, 0)), message));
+        ShardedSnapshot.save(large, directory, SnapshotFormat.BINARY);
+
+        try (StartupIndex index = StartupIndex.open(directory)) {
+            List<Event> found = index.between(participant, date(4, 1), date(4, 30));
+            assertEquals(ids(large.subList(0, 1)), ids(found));
+            assertEquals(participant, ((MeetingEvent) found.get(0)).getParticipants().toString());
+            assertEquals(message, ((ReminderEvent) index.get(large.get(1).getId())).getMessage().getValue());
+        }
+    }
+
+    @Test
+    void testIndexOfAnOlderVersionIsRewrittenBeforeBeingOpened() throws IOException {
+        ShardedSnapshot.save(events, directory, SnapshotFormat.BINARY);
+        File indexFile = new File(directory, "2025-05.g1.idx");
+        try (RandomAccessFile file = new RandomAccessFile(indexFile, "rw")) {
+            file.seek("MYCALIDX".length());
+            file.writeInt(1);
+        }
+        assertFalse(StartupIndex.exists(directory));
+
+        ShardedSnapshot.save(events, directory, SnapshotFormat.BINARY);
+        assertTrue(StartupIndex.exists(directory));
+        try (StartupIndex index = StartupIndex.open(directory)) {
+            assertEquals(events.size(), index.size());
+        }
+    }
+
+    @Test
+    void testCalendarIsLoadedOnFirstModification() throws IOException {
+        CalendarManager source = new CalendarManager(new JournalPersistence(tempDir.resolve("a.journal").toFile(), 100));
+        source.ajouterEvents(events);
+        source.saveEventsSharded(directory, SnapshotFormat.BINARY);
+
+        CalendarManager manager = new CalendarManager(new JournalPersistence(tempDir.resolve("b.journal").toFile(), 100));
+        manager.openEventsSharded(directory);
+        LocalDateTime debut = LocalDateTime.of(2025, 4, 15, 0, 0);
+        LocalDateTime fin = LocalDateTime.of(2025, 4, 16, 0, 0);
+
+        assertEquals(ids(source.eventsDansPeriode(debut, fin)), ids(manager.eventsDansPeriode(debut, fin)));
+        assertEquals(1, manager.eventsDansPeriode("Bob", debut, fin).size());
+
+        manager.supprimerEvent(events.get(1).getId());
+        manager.ajouterEvent(new PersonalEvent("Déjeuner", "Bob",
+                new DateEvent(LocalDateTime.of(2025, 4, 15, 12, 0)), new DurationEvent(60)));
+
+        assertEquals(events.size(), manager.getAllEvents().size());
+        assertEquals(List.of("Rendez-vous médecin", "Déjeuner", "Hebdo"), manager.eventsDansPeriode(debut, fin).stream()
+                .map(event -> event.getTitle().getValue()).collect(Collectors.toList()));
+        assertEquals(List.of("Déjeuner"), manager.eventsDansPeriode("Bob", debut, fin).stream()
+                .map(event -> event.getTitle().getValue()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testQueriesSeeEverySavedEventWhileLoadCompletes() throws Exception {
+        List<Event> many = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < 50_000; i++) {
+            many.add(new PersonalEvent("Créneau " + i, "User" + (i % 50),
+                    new DateEvent(start.plusMinutes(20L * i)), new DurationEvent(10)));
+        }
+        ShardedSnapshot.save(many, directory, SnapshotFormat.BINARY);
+
+        CalendarManager manager = new CalendarManager(new JournalPersistence(tempDir.resolve("b.journal").toFile(), 100));
+        manager.openEventsSharded(directory);
+        List<Integer> partial = new CopyOnWriteArrayList<>();
+        ExecutorService readers = Executors.newCachedThreadPool();
+        try {
+            CompletableFuture<Void> load = manager.completeLoadAsync();
+            // Une nouvelle requête chaque milliseconde, sur une heure différente prise dans toutes les partitions
+            // pour ne pas être servie par le cache : certaines arrivent pendant l'indexation
+            for (int i = 0; !load.isDone(); i++) {
+                LocalDateTime hour = start.plusHours(i * 7_919L % 16_000);
+                readers.execute(() -> {
+                    int size = manager.eventsDansPeriode(hour, hour.plusMinutes(50)).size();
+                    if (size != 3) {
+                        partial.add(size);
+                    }
+                });
+                Thread.sleep(1);
+            }
+            load.join();
+        } finally {
+            readers.shutdown();
+            assertTrue(readers.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(List.of(), partial);
+        assertEquals(many.size(), manager.getAllEvents().size());
+    }
+
+    @Test
+    void testListenerReceivesSavedEventsWhenLoadCompletes() throws IOException {
+        CalendarManager source = new CalendarManager(new JournalPersistence(tempDir.resolve("a.journal").toFile(), 100));
+        source.ajouterEvents(events);
+        source.saveEventsSharded(directory, SnapshotFormat.BINARY);
+
+        CalendarManager manager = new CalendarManager(new JournalPersistence(tempDir.resolve("b.journal").toFile(), 100));
+        manager.openEventsSharded(directory);
+        List<Event> notified = new CopyOnWriteArrayList<>();
+        manager.addListener(new CalendarListener() {
+            @Override
+            public void eventAdded(Event event) {
+                notified.add(event);
+            }
+
+            @Override
+            public void eventRemoved(Event event) {
+            }
+        });
+
+        // L'enregistrement de l'observateur ne force pas le chargement
+        assertTrue(notified.isEmpty());
+        assertEquals(1, manager.eventsDansPeriode("Bob",
+                LocalDateTime.of(2025, 4, 15, 0, 0), LocalDateTime.of(2025, 4, 16, 0, 0)).size());
+
+        manager.completeLoadAsync().join();
+
+        assertEquals(events.size(), notified.size());
+        assertEquals(events.size(), manager.getAllEvents().size());
+    }
+}
@@ -0,0 +1,131 @@
+package com.mycalendar.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteBehindPersistenceTest {
+    private final AtomicInteger saves = new AtomicInteger();
+    private WriteBehindPersistence persistence;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        persistence.close();
+    }
+
+    @Test
+    void testMutationsAreCoalescedUntilInterval() throws InterruptedException {
+        persistence = new WriteBehindPersistence(Duration.ofMillis(200), 1000);
+        persistence.attach(saves::incrementAndGet);
+
+        for (int i = 0; i < 100; i++) {
+            persistence.mutationRecorded();
+        }
+
+        assertEquals(0, saves.get());
+        assertEquals(100, persistence.pendingMutations());
+        awaitSaves(1);
+        assertEquals(1, saves.get());
+        assertEquals(0, persistence.pendingMutations());
+    }
+
+    @Test
+    void testThresholdTriggersFlush() throws InterruptedException {
+        persistence = new WriteBehindPersistence(Duration.ofHours(1), 10);
+        persistence.attach(saves::incrementAndGet);
+
+        for (int i = 0; i < 10; i++) {
+            persistence.mutationRecorded();
+        }
+
+        awaitSaves(1);
+        assertEquals(1, saves.get());
+    }
+
+    @Test
+    void testExplicitFlush() throws IOException {
+        persistence = new WriteBehindPersistence(Duration.ofHours(1), 1000);
+        persistence.attach(saves::incrementAndGet);
+
+        persistence.flush();
+        assertEquals(0, saves.get(), "Rien à sauvegarder");
+
+        persistence.mutationRecorded();
+        persistence.flush();
+        assertEquals(1, saves.get());
+    }
+
+    @Test
+    void testCloseFlushesPendingMutations() throws IOException {
+        persistence = new WriteBehindPersistence(Duration.ofHours(1), 1000);
+        persistence.attach(saves::incrementAndGet);
+
+        persistence.mutationRecorded();
+        persistence.close();
+
+        assertEquals(1, saves.get());
+    }
+
+    @Test
+    void testFailedSaveKeepsMutationsPending() throws IOException {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        persistence = new WriteBehindPersistence(Duration.ofHours(1), 1000);
+        persistence.attach(() -> {
+            if (fail.get()) {
+                throw new IOException("Disque plein");
+            }
+            saves.incrementAndGet();
+        });
+
+        persistence.mutationRecorded();
+        assertThrows(IOException.class, persistence::flush);
+        assertEquals(1, persistence.pendingMutations());
+
+        fail.set(false);
+        persistence.flush();
+        assertEquals(1, saves.get());
+        assertEquals(0, persistence.pendingMutations());
+    }
+
+    @Test
+    void testUncheckedSaveFailureIsRetried() throws InterruptedException {
+        AtomicInteger failures = new AtomicInteger(2);
+        persistence = new WriteBehindPersistence(Duration.ofMillis(100), 1000);
+        persistence.attach(() -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new UncheckedIOException(new IOException("Partition illisible"));
+            }
+            saves.incrementAndGet();
+        });
+
+        persistence.mutationRecorded();
+        assertThrows(UncheckedIOException.class, persistence::flush);
+        assertEquals(1, persistence.pendingMutations());
+
+        // La sauvegarde programmée échoue encore une fois, puis la suivante réussit
+        awaitSaves(1);
+        assertEquals(1, saves.get());
+        assertEquals(0, persistence.pendingMutations());
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        persistence = new WriteBehindPersistence(Duration.ofSeconds(1), 1);
+        assertThrows(IllegalArgumentException.class, () -> new WriteBehindPersistence(Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class, () -> new WriteBehindPersistence(Duration.ofSeconds(1), 0));
+    }
+
+    private void awaitSaves(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (saves.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.mycalendar.reminder;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReminderSchedulerTest {
+    private BlockingQueue<Event> fired;
+    private CalendarManager calendarManager;
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        fired = new LinkedBlockingQueue<>();
+        calendarManager = new CalendarManager();
+        scheduler = new ReminderScheduler(fired::add, Duration.ZERO, 2, Clock.systemDefaultZone());
+        calendarManager.addListener(scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.close();
+    }
+
+    private static DateEvent inMillis(long millis) {
+        return new DateEvent(LocalDateTime.now().plus(Duration.ofMillis(millis)));
+    }
+
+    @Test
+    void testRemindersAndTasksFireInOrder() throws InterruptedException {
+        Event task = new TaskEvent("Rapport", "John", inMillis(300), "HAUTE");
+        Event reminder = new ReminderEvent("Rappel", "John", inMillis(150), "Dossier");
+        Event personal = new PersonalEvent("Sport", "John", inMillis(100), new DurationEvent(30));
+        calendarManager.ajouterEvent(task);
+        calendarManager.ajouterEvent(reminder);
+        calendarManager.ajouterEvent(personal);
+        assertEquals(2, scheduler.pendingCount());
+
+        assertEquals(reminder, fired.poll(5, TimeUnit.SECONDS));
+        assertEquals(task, fired.poll(5, TimeUnit.SECONDS));
+        assertFalse(task.getStartDate().getDateTime().isAfter(LocalDateTime.now()));
+        assertNull(fired.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void testRemovedAndReplacedRemindersAreResynced() throws InterruptedException {
+        Event removed = new ReminderEvent("Annulé", "John", inMillis(100), "Rien");
+        Event moved = new ReminderEvent("Déplacé", "John", inMillis(100), "Plus tard");
+        calendarManager.ajouterEvent(removed);
+        calendarManager.ajouterEvent(moved);
+        calendarManager.supprimerEvent(removed.getId());
+        Event movedLater = new ReminderEvent(moved.getId(), moved.getTitle(), moved.getOwner(),
+                inMillis(400), new MessageEvent("Plus tard"));
+        calendarManager.ajouterEvent(movedLater);
+        assertEquals(1, scheduler.pendingCount());
+
+        Event first = fired.poll(5, TimeUnit.SECONDS);
+        assertSame(movedLater, first);
+        assertNull(fired.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testPastAndExistingEvents() throws InterruptedException {
+        calendarManager.ajouterEvent(new ReminderEvent("Passé", "John", inMillis(-60_000), "Trop tard"));
+        Event upcoming = new ReminderEvent("À venir", "John", inMillis(200), "Bientôt");
+        calendarManager.ajouterEvent(upcoming);
+
+        // Un planificateur enregistré après coup reçoit les événements déjà présents
+        BlockingQueue<Event> lateFired = new LinkedBlockingQueue<>();
+        try (ReminderScheduler late = new ReminderScheduler(lateFired::add)) {
+            calendarManager.addListener(late);
+            assertEquals(1, late.pendingCount());
+            assertEquals(List.of(upcoming), List.of(lateFired.poll(5, TimeUnit.SECONDS)));
+        }
+        assertEquals(upcoming, fired.poll(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,81 @@
+package com.mycalendar.scheduling;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.events.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlotFinderTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 4, 15, 0, 0);
+
+    private CalendarManager calendarManager;
+    private SlotFinder slotFinder;
+
+    @BeforeEach
+    void setUp() {
+        calendarManager = new CalendarManager();
+        slotFinder = new SlotFinder(calendarManager);
+
+        // Alice : 9h-10h, puis réunion 10h30-11h30 avec Bob
+        calendarManager.ajouterEvent(new PersonalEvent("Sport", "Alice", at(9, 0), new DurationEvent(60)));
+        calendarManager.ajouterEvent(new MeetingEvent("Revue", "Alice", at(10, 30), new DurationEvent(60),
+                "Salle A", "Bob"));
+        // Bob : 9h30-10h15, chevauche le rendez-vous d'Alice
+        calendarManager.ajouterEvent(new PersonalEvent("Appel", "Bob", at(9, 30), new DurationEvent(45)));
+        // Les tâches, rappels et événements périodiques n'occupent aucun créneau
+        calendarManager.ajouterEvent(new TaskEvent("Rapport", "Bob", at(12, 0), "HAUTE"));
+        calendarManager.ajouterEvent(new ReminderEvent("Rappel", "Alice", at(12, 30), "Dossier"));
+        calendarManager.ajouterEvent(new PeriodicEvent("Hebdo", "Alice", at(13, 0), 7));
+    }
+
+    private static DateEvent at(int hour, int minute) {
+        return new DateEvent(DAY.withHour(hour).withMinute(minute));
+    }
+
+    @Test
+    void testFreeSlotsMergeBusyIntervalsOfAllUsers() {
+        List<TimeSlot> slots = slotFinder.freeSlots(List.of("Alice", "Bob"), DAY.withHour(8), DAY.withHour(14), 15);
+
+        assertEquals(List.of(
+                new TimeSlot(DAY.withHour(8), DAY.withHour(9)),
+                new TimeSlot(DAY.withHour(10).withMinute(15), DAY.withHour(10).withMinute(30)),
+                new TimeSlot(DAY.withHour(11).withMinute(30), DAY.withHour(14))), slots);
+    }
+
+    @Test
+    void testShortGapsAreSkipped() {
+        List<TimeSlot> slots = slotFinder.freeSlots(List.of("alice", "BOB"), DAY.withHour(9), DAY.withHour(12), 30);
+
+        assertEquals(List.of(new TimeSlot(DAY.withHour(11).withMinute(30), DAY.withHour(12))), slots);
+    }
+
+    @Test
+    void testEventStartedBeforeWindowBlocksItsStart() {
+        List<TimeSlot> slots = slotFinder.freeSlots(List.of("Bob"), DAY.withHour(10), DAY.withHour(11), 10);
+
+        assertEquals(List.of(new TimeSlot(DAY.withHour(10).withMinute(15), DAY.withHour(10).withMinute(30))), slots);
+    }
+
+    @Test
+    void testFirstFreeSlot() {
+        Optional<TimeSlot> slot = slotFinder.firstFreeSlot(List.of("Alice", "Bob", "Carla"),
+                DAY.withHour(9), DAY.withHour(18), 30);
+
+        assertEquals(Optional.of(new TimeSlot(DAY.withHour(11).withMinute(30), DAY.withHour(12))), slot);
+        assertTrue(slotFinder.firstFreeSlot(List.of("Alice"), DAY.withHour(9), DAY.withHour(10), 30).isEmpty());
+        assertEquals(Optional.of(new TimeSlot(DAY.withHour(9), DAY.withHour(10))),
+                slotFinder.firstFreeSlot(List.of("Carla"), DAY.withHour(9), DAY.withHour(18), 60));
+    }
+
+    @Test
+    void testInvalidDurationIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> slotFinder.freeSlots(List.of("Alice"), DAY, DAY.plusDays(1), 0));
+    }
+}
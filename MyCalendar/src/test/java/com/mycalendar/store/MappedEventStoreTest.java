@@ -0,0 +1,149 @@
+package com.mycalendar.store;
+
+import com.mycalendar.events.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedEventStoreTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 4, 15, 0, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private MappedEventStore store;
+    private Event personalEvent;
+    private Event meetingEvent;
+    private Event periodicEvent;
+    private Event taskEvent;
+    private Event reminderEvent;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new MappedEventStore(tempDir);
+        personalEvent = new PersonalEvent("Rendez-vous médecin", "John",
+                new DateEvent(DAY.withHour(10)), new DurationEvent(60));
+        meetingEvent = new MeetingEvent("Réunion projet", "John",
+                new DateEvent(DAY.withHour(10).withMinute(30)), new DurationEvent(120), "Salle A", "Alice, Bob");
+        periodicEvent = new PeriodicEvent("Hebdo", "John", new DateEvent(DAY.minusDays(14).withHour(9)), 7);
+        taskEvent = new TaskEvent("Rapport", "Jane", new DateEvent(DAY.withHour(18)), "Haute");
+        reminderEvent = new ReminderEvent("Appel", "Jane", new DateEvent(DAY.withHour(8)), "Rappeler Paul");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void testEventsDansPeriodeReturnsEveryTypeInOrder() {
+        addAll();
+
+        List<Event> events = store.eventsDansPeriode(DAY, DAY.withHour(23));
+
+        assertEquals(List.of(reminderEvent.getId(), personalEvent.getId(), meetingEvent.getId(),
+                        taskEvent.getId(), periodicEvent.getId()),
+                events.stream().map(Event::getId).collect(Collectors.toList()));
+        MeetingEvent meeting = (MeetingEvent) events.get(2);
+        assertEquals("Salle A", meeting.getPlace().getValue());
+        assertEquals(List.of("Alice", "Bob"), meeting.getParticipants().getParticipants());
+        assertEquals("HAUTE", ((TaskEvent) events.get(3)).getPriority().getValue());
+        assertEquals("Rappeler Paul", ((ReminderEvent) events.get(0)).getMessage().getValue());
+        assertEquals(7, ((PeriodicEvent) events.get(4)).getFrequency().getDays());
+        assertEquals(personalEvent.getStartDate(), events.get(1).getStartDate());
+        assertEquals(personalEvent.getDuration(), events.get(1).getDuration());
+        assertTrue(store.eventsDansPeriode(DAY.withHour(23), DAY).isEmpty());
+    }
+
+    @Test
+    void testEvenementsEnConflit() {
+        addAll();
+
+        List<Event> conflicts = store.evenementsEnConflit(personalEvent);
+
+        assertEquals(1, conflicts.size());
+        assertEquals(meetingEvent.getId(), conflicts.get(0).getId());
+        assertTrue(store.estEnConflit(meetingEvent));
+        assertFalse(store.estEnConflit(taskEvent));
+    }
+
+    @Test
+    void testSupprimerEventAndReplaceById() {
+        addAll();
+
+        assertTrue(store.supprimerEvent(personalEvent.getId()));
+        assertFalse(store.supprimerEvent(personalEvent.getId()));
+        assertTrue(store.supprimerEvent(periodicEvent.getId()));
+        assertEquals(3, store.size());
+        assertFalse(store.estEnConflit(meetingEvent));
+
+        Event moved = new MeetingEvent(meetingEvent.getId(), meetingEvent.getTitle(), meetingEvent.getOwner(),
+                new DateEvent(DAY.plusDays(1).withHour(10)), new DurationEvent(30),
+                new PlaceEvent("Salle B"), new ParticipantEvent("Alice"));
+        store.ajouterEvent(moved);
+
+        assertEquals(3, store.size());
+        assertEquals(2, store.eventsDansPeriode(DAY, DAY.withHour(23)).size());
+        assertEquals(1, store.eventsDansPeriode(DAY.plusDays(1), DAY.plusDays(1).withHour(23)).size());
+    }
+
+    @Test
+    void testNonUuidIdentifiers() {
+        Event event = new PersonalEvent(new EventId("rdv-42"), new TitleEvent("Dentiste"), new OwnerEvent("John"),
+                new DateEvent(DAY.withHour(11)), new DurationEvent(30));
+        store.ajouterEvent(event);
+
+        assertEquals(new EventId("rdv-42"), store.getAllEvents().get(0).getId());
+        assertFalse(store.supprimerEvent(new EventId("rdv-43")));
+        assertTrue(store.supprimerEvent(new EventId("rdv-42")));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testReopenRestoresEvents() throws IOException {
+        addAll();
+        store.supprimerEvent(taskEvent.getId());
+        store.close();
+
+        store = new MappedEventStore(tempDir);
+
+        assertEquals(4, store.size());
+        assertEquals(4, store.eventsDansPeriode(DAY, DAY.withHour(23)).size());
+        assertTrue(store.estEnConflit(personalEvent));
+        assertFalse(store.supprimerEvent(taskEvent.getId()));
+        assertTrue(store.supprimerEvent(reminderEvent.getId()));
+    }
+
+    @Test
+    void testManyEventsAcrossBlocks() {
+        int count = 20_000;
+        for (int i = 0; i < count; i++) {
+            store.ajouterEvent(new PersonalEvent("Créneau " + i, "User" + (i % 10),
+                    new DateEvent(DAY.plusMinutes(30L * i)), new DurationEvent(30)));
+        }
+
+        assertEquals(count, store.size());
+        // Un créneau par demi-heure : 48 débuts par jour, bornes incluses
+        assertEquals(49, store.eventsDansPeriode(DAY.plusDays(100), DAY.plusDays(101)).size());
+        Event overlapping = new PersonalEvent("Chevauchement", "John",
+                new DateEvent(DAY.plusDays(200).plusMinutes(15)), new DurationEvent(30));
+        assertEquals(2, store.evenementsEnConflit(overlapping).size());
+    }
+
+    private void addAll() {
+        store.ajouterEvent(personalEvent);
+        store.ajouterEvent(meetingEvent);
+        store.ajouterEvent(periodicEvent);
+        store.ajouterEvent(taskEvent);
+        store.ajouterEvent(reminderEvent);
+    }
+}